@@ -0,0 +1,75 @@
+package br.com.neurotech.challenge.configs;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Formatos binários negociados pelo cabeçalho {@code Accept}, além do JSON: Smile
+ * ({@code application/x-jackson-smile}), que substitui os nomes de campo repetidos por referências ao
+ * primeiro, e CBOR ({@code application/cbor}, RFC 8949), com bibliotecas disponíveis na maioria das linguagens.
+ * Indicados para as listagens de clientes, em que os nomes de campo são a maior parte do JSON. Nos dois
+ * formatos, os identificadores ({@link java.util.UUID}) são gravados como 16 bytes binários, e não como texto.
+ * <p>
+ * Os conversores usam o {@link Jackson2ObjectMapperBuilder} do Spring Boot, com a mesma configuração
+ * ({@code spring.jackson.*}) do JSON, e substituem os conversores padrão do Spring MVC para esses formatos.
+ * Eles só escrevem respostas: corpos de requisição em Smile ou CBOR são recusados com
+ * {@code 415 Unsupported Media Type}. As listagens de clientes declaram os três formatos em {@code produces},
+ * com o JSON primeiro, e respondem com {@code Vary: Accept}, pois a mesma URL (e o mesmo {@code ETag}) tem uma
+ * representação por formato. Como os conversores são globais, os demais endpoints também respondem em Smile ou
+ * CBOR quando o cliente pede apenas esses formatos. Sem {@code Accept} ou com {@code Accept: *}{@code /*}, a
+ * resposta continua em JSON.
+ */
+@Configuration(proxyBeanMethods = false)
+public class BinaryFormatsConfig implements WebMvcConfigurer {
+
+    /**
+     * Tipo de mídia do Smile, para o {@code produces} das listagens (o CBOR tem
+     * {@link MediaType#APPLICATION_CBOR_VALUE}).
+     */
+    public static final String SMILE_VALUE = "application/x-jackson-smile";
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> builders;
+
+    public BinaryFormatsConfig(ObjectProvider<Jackson2ObjectMapperBuilder> builders) {
+        this.builders = builders;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(converter -> converter instanceof MappingJackson2SmileHttpMessageConverter
+                || converter instanceof MappingJackson2CborHttpMessageConverter);
+        converters.add(new MappingJackson2SmileHttpMessageConverter(builders.getObject().factory(new SmileFactory()).build()) {
+            @Override
+            public boolean canRead(Class<?> clazz, MediaType mediaType) {
+                return false;
+            }
+
+            @Override
+            public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+                return false;
+            }
+        });
+        converters.add(new MappingJackson2CborHttpMessageConverter(builders.getObject().factory(new CBORFactory()).build()) {
+            @Override
+            public boolean canRead(Class<?> clazz, MediaType mediaType) {
+                return false;
+            }
+
+            @Override
+            public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+                return false;
+            }
+        });
+    }
+}
@@ -0,0 +1,18 @@
+package br.com.neurotech.challenge.configs;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Habilita o cache da aplicação. Os caches, seus tamanhos máximos e tempos de expiração são definidos em
+ * {@code spring.cache} no arquivo de configuração.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /**
+     * Cache de clientes por ID, utilizado por {@code ClientService.get}.
+     */
+    public static final String CLIENTS = "clients";
+}
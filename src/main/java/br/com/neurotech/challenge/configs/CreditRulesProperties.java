@@ -0,0 +1,122 @@
+package br.com.neurotech.challenge.configs;
+
+import br.com.neurotech.challenge.entity.Credit;
+import br.com.neurotech.challenge.entity.VehicleModel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Tabelas de regras de crédito, carregadas de {@code neurotech.credit-rules}.
+ * <p>
+ * Os valores padrão reproduzem as regras originais da aplicação, definidas pelas constantes de {@link Credit}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "neurotech.credit-rules")
+public class CreditRulesProperties {
+
+    /**
+     * Regras de concessão de cada tipo de crédito, avaliadas na ordem em que aparecem: o cliente recebe o
+     * primeiro tipo cujas faixas de idade e renda o contemplam.
+     */
+    private List<CreditTypeRule> creditTypes = new ArrayList<>(List.of(
+            new CreditTypeRule(Credit.CreditType.FIXED_INTEREST, Credit.FIXED_INTEREST_RATE,
+                    Interval.closed(18.0, 25.0), Interval.unbounded()),
+            new CreditTypeRule(Credit.CreditType.VARIABLE_INTEREST, Credit.VARIABLE_INTEREST_RATE,
+                    Interval.closed(21.0, 65.0), Interval.closed(5000.0, 15000.0)),
+            new CreditTypeRule(Credit.CreditType.PAYROLL, Credit.PAYROLL_RATE,
+                    Interval.above(65.0), Interval.unbounded())));
+
+    /**
+     * Regras de elegibilidade ao crédito automotivo de cada modelo de veículo.
+     */
+    private Map<VehicleModel, VehicleRule> vehicles = new EnumMap<>(Map.of(
+            VehicleModel.HATCH, new VehicleRule(Interval.unbounded(),
+                    Interval.closed(Credit.HATCH_INCOME_MIN, Credit.HATCH_INCOME_MAX)),
+            VehicleModel.SUV, new VehicleRule(Interval.above((double) Credit.SUV_AGE_MIN),
+                    Interval.above(Credit.SUV_INCOME_MIN))));
+
+    /**
+     * Cria uma cópia independente das tabelas, que não é afetada por alterações posteriores nesta instância.
+     */
+    public CreditRulesProperties copy() {
+        var copy = new CreditRulesProperties();
+        copy.setCreditTypes(creditTypes == null ? null : creditTypes.stream()
+                .map(rule -> rule == null ? null
+                        : new CreditTypeRule(rule.getType(), rule.getRate(), Interval.copy(rule.getAge()), Interval.copy(rule.getIncome())))
+                .collect(Collectors.toCollection(ArrayList::new)));
+        if (vehicles == null) {
+            copy.setVehicles(null);
+        } else {
+            var rules = new EnumMap<VehicleModel, VehicleRule>(VehicleModel.class);
+            vehicles.forEach((model, rule) -> rules.put(model, rule == null ? null
+                    : new VehicleRule(Interval.copy(rule.getAge()), Interval.copy(rule.getIncome()))));
+            copy.setVehicles(rules);
+        }
+        return copy;
+    }
+
+    /**
+     * Regra de um tipo de crédito: faixas de idade e renda atendidas e a taxa de juros aplicada.
+     */
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class CreditTypeRule {
+        private Credit.CreditType type;
+        private Double rate;
+        private Interval age = Interval.unbounded();
+        private Interval income = Interval.unbounded();
+    }
+
+    /**
+     * Regra de elegibilidade de um modelo de veículo: faixas de idade e renda exigidas.
+     */
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class VehicleRule {
+        private Interval age = Interval.unbounded();
+        private Interval income = Interval.unbounded();
+    }
+
+    /**
+     * Intervalo numérico. Limites ausentes ({@code null}) não restringem o valor; os limites presentes são
+     * inclusivos, a menos que marcados como exclusivos.
+     */
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Interval {
+        private Double min;
+        private Double max;
+        private boolean minExclusive;
+        private boolean maxExclusive;
+
+        public static Interval unbounded() {
+            return new Interval(null, null, false, false);
+        }
+
+        public static Interval closed(Double min, Double max) {
+            return new Interval(min, max, false, false);
+        }
+
+        public static Interval above(Double min) {
+            return new Interval(min, null, true, false);
+        }
+
+        static Interval copy(Interval interval) {
+            return interval == null ? null
+                    : new Interval(interval.getMin(), interval.getMax(), interval.isMinExclusive(), interval.isMaxExclusive());
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package br.com.neurotech.challenge.configs;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Ajustes do perfil {@code fast-startup} (ver {@code application-fast-startup.yaml}), que inicializa os beans
+ * sob demanda.
+ * <p>
+ * Alguns beans continuam sendo criados na partida: os que têm tarefas agendadas, que só são registradas
+ * quando o bean é criado e, sob demanda, poderiam nunca executar, e o {@link EntityManagerFactory}, cuja
+ * inicialização de outra forma recairia sobre a primeira requisição e que é a maior parte das classes
+ * carregadas no treino do arquivo CDS.
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile("fast-startup")
+public class FastStartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerBeansExcludeFilter() {
+        return (beanName, definition, type) -> EntityManagerFactory.class.isAssignableFrom(type)
+                || AbstractEntityManagerFactoryBean.class.isAssignableFrom(type)
+                || !MethodIntrospector.selectMethods(type, (MethodIntrospector.MetadataLookup<Scheduled>) method ->
+                AnnotatedElementUtils.findMergedAnnotation(method, Scheduled.class)).isEmpty();
+    }
+}
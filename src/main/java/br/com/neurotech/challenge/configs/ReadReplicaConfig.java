@@ -0,0 +1,54 @@
+package br.com.neurotech.challenge.configs;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.logging.Logger;
+
+/**
+ * Roteamento de leituras para uma réplica, ativado por {@code neurotech.db.replica.enabled}.
+ * <p>
+ * Substitui o data source do Spring Boot por um {@link ReadWriteRoutingDataSource} com dois pools: o primário,
+ * configurado por {@code spring.datasource}, e a réplica, configurada por {@code neurotech.db.replica} com as
+ * mesmas propriedades ({@code url}, {@code username}, {@code password}, {@code hikari.*}). As métricas dos dois
+ * pools são publicadas com os nomes {@code primary} e {@code replica}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "neurotech.db.replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    ReadWriteRoutingDataSource dataSource(DataSourceProperties properties, Environment environment,
+                                          ObjectProvider<MeterRegistry> meterRegistry) {
+        var binder = Binder.get(environment);
+        var replicaProperties = binder.bind("neurotech.db.replica", DataSourceProperties.class)
+                .orElseThrow(() -> new IllegalStateException("Informe neurotech.db.replica.url"));
+        boolean readYourWrites = binder.bind("neurotech.db.replica.read-your-writes", Boolean.class).orElse(true);
+
+        var primary = pool(binder, properties, "spring.datasource.hikari", "primary");
+        var replica = pool(binder, replicaProperties, "neurotech.db.replica.hikari", "replica");
+        meterRegistry.ifAvailable(registry -> {
+            primary.setMetricRegistry(registry);
+            replica.setMetricRegistry(registry);
+        });
+
+        Logger.getLogger(ReadReplicaConfig.class.getName()).info("Transações somente-leitura roteadas para "
+                + replica.getJdbcUrl() + (readYourWrites ? " (read-your-writes ativo)" : ""));
+        return new ReadWriteRoutingDataSource(primary, replica, readYourWrites);
+    }
+
+    private static HikariDataSource pool(Binder binder, DataSourceProperties properties, String hikariPrefix, String name) {
+        var pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind(hikariPrefix, Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        return pool;
+    }
+}
@@ -0,0 +1,122 @@
+package br.com.neurotech.challenge.configs;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Data source que envia as transações somente-leitura para uma réplica e as demais para o primário.
+ * <p>
+ * A conexão física só é obtida no primeiro comando SQL, quando a transação já marcou a conexão lógica como
+ * somente-leitura ({@code @Transactional(readOnly = true)}); conexões somente-leitura vêm da réplica e todas
+ * as outras, inclusive as usadas fora de transação, do primário.
+ * <p>
+ * Com read-your-writes, depois que uma requisição HTTP abre uma transação de escrita, as leituras seguintes
+ * da mesma requisição também vão para o primário, de modo que ela não leia da réplica um dado que acabou de
+ * gravar e que a réplica ainda não recebeu.
+ */
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    /**
+     * Atributo da requisição que indica que ela já abriu uma transação de escrita.
+     */
+    static final String WRITTEN = ReadWriteRoutingDataSource.class.getName() + ".WRITTEN";
+
+    private final HikariDataSource primary;
+    private final HikariDataSource replica;
+
+    /**
+     * @param primary        Pool de conexões do banco primário.
+     * @param replica        Pool de conexões da réplica de leitura.
+     * @param readYourWrites Se as leituras posteriores a uma escrita na mesma requisição devem ir para o primário.
+     */
+    public ReadWriteRoutingDataSource(HikariDataSource primary, HikariDataSource replica, boolean readYourWrites) {
+        super(readYourWrites ? new WriteTrackingDataSource(primary) : primary);
+        setReadOnlyDataSource(readYourWrites ? new StickyReadDataSource(replica, primary) : replica);
+        this.primary = primary;
+        this.replica = replica;
+    }
+
+    public HikariDataSource getPrimary() {
+        return primary;
+    }
+
+    public HikariDataSource getReplica() {
+        return replica;
+    }
+
+    @Override
+    public void close() {
+        replica.close();
+        primary.close();
+    }
+
+    /**
+     * Indica se a requisição HTTP em andamento já abriu uma transação de escrita.
+     */
+    static boolean writtenInCurrentRequest() {
+        var attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null && attributes.getAttribute(WRITTEN, RequestAttributes.SCOPE_REQUEST) != null;
+    }
+
+    /**
+     * Registra na requisição em andamento as conexões obtidas para transações de escrita.
+     */
+    private static final class WriteTrackingDataSource extends DelegatingDataSource {
+
+        WriteTrackingDataSource(DataSource primary) {
+            super(primary);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            markWritten();
+            return super.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            markWritten();
+            return super.getConnection(username, password);
+        }
+
+        private static void markWritten() {
+            var attributes = RequestContextHolder.getRequestAttributes();
+            if (attributes != null && TransactionSynchronizationManager.isActualTransactionActive()
+                    && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                attributes.setAttribute(WRITTEN, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+            }
+        }
+    }
+
+    /**
+     * Lê da réplica, exceto nas requisições que já escreveram no primário.
+     */
+    private static final class StickyReadDataSource extends DelegatingDataSource {
+
+        private final DataSource primary;
+
+        StickyReadDataSource(DataSource replica, DataSource primary) {
+            super(replica);
+            this.primary = primary;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return writtenInCurrentRequest() ? primary.getConnection() : super.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return writtenInCurrentRequest() ? primary.getConnection(username, password) : super.getConnection(username, password);
+        }
+    }
+}
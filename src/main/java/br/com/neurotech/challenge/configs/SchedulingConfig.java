@@ -0,0 +1,12 @@
+package br.com.neurotech.challenge.configs;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita as tarefas agendadas da aplicação, como a expurga das chaves de idempotência expiradas.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
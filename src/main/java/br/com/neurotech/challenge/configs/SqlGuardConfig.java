@@ -0,0 +1,65 @@
+package br.com.neurotech.challenge.configs;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.util.logging.Logger;
+
+/**
+ * Contagem de comandos SQL por requisição, ativada por {@code neurotech.sql-guard.enabled}.
+ * <p>
+ * O data source é envolvido por um {@link StatementCountingDataSource} e cada requisição HTTP tem seus
+ * comandos contados pelo {@link SqlStatementCounter}. Requisições que executam mais de
+ * {@code neurotech.sql-guard.warn-threshold} comandos geram um aviso no log com os comandos executados,
+ * o que evidencia N+1 e leituras repetidas durante o desenvolvimento. Os testes usam a mesma contagem para
+ * verificar a quantidade exata de comandos de cada endpoint.
+ */
+@Configuration
+@ConditionalOnProperty(name = "neurotech.sql-guard.enabled", havingValue = "true")
+public class SqlGuardConfig {
+
+    private static final Logger LOGGER = Logger.getLogger(SqlGuardConfig.class.getName());
+
+    @Bean
+    static BeanPostProcessor statementCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof StatementCountingDataSource)) {
+                    return new StatementCountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    OncePerRequestFilter sqlGuardFilter(@Value("${neurotech.sql-guard.warn-threshold:10}") int warnThreshold) {
+        return new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                    throws ServletException, IOException {
+                SqlStatementCounter.reset();
+                try {
+                    chain.doFilter(request, response);
+                } finally {
+                    int count = SqlStatementCounter.count();
+                    if (count > warnThreshold) {
+                        LOGGER.warning(request.getMethod() + " " + request.getRequestURI() + " executou " + count
+                                + " comandos SQL (limite " + warnThreshold + "): " + SqlStatementCounter.statements());
+                    }
+                }
+            }
+        };
+    }
+}
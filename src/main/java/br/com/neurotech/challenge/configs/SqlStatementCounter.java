@@ -0,0 +1,57 @@
+package br.com.neurotech.challenge.configs;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Contagem, por thread, dos comandos SQL enviados ao banco pelo {@link StatementCountingDataSource}.
+ * <p>
+ * Cada execução conta como um comando; um {@code executeBatch} conta uma única vez, pois é enviado ao banco
+ * de uma só vez. O texto dos comandos é guardado para diagnóstico, limitado aos primeiros
+ * {@value #MAX_RECORDED} desde a última chamada a {@link #reset()}.
+ */
+public final class SqlStatementCounter {
+
+    static final int MAX_RECORDED = 200;
+
+    private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
+
+    private SqlStatementCounter() {
+    }
+
+    /**
+     * Zera a contagem da thread atual.
+     */
+    public static void reset() {
+        var state = STATE.get();
+        state.count = 0;
+        state.statements.clear();
+    }
+
+    /**
+     * Quantidade de comandos executados pela thread atual desde a última chamada a {@link #reset()}.
+     */
+    public static int count() {
+        return STATE.get().count;
+    }
+
+    /**
+     * Comandos executados pela thread atual desde a última chamada a {@link #reset()}, na ordem de execução.
+     */
+    public static List<String> statements() {
+        return List.copyOf(STATE.get().statements);
+    }
+
+    static void record(String sql) {
+        var state = STATE.get();
+        state.count++;
+        if (state.statements.size() < MAX_RECORDED) {
+            state.statements.add(sql);
+        }
+    }
+
+    private static final class State {
+        private int count;
+        private final List<String> statements = new ArrayList<>();
+    }
+}
@@ -0,0 +1,78 @@
+package br.com.neurotech.challenge.configs;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.logging.Logger;
+
+/**
+ * Modo de execução em threads virtuais, ativado por {@code spring.threads.virtual.enabled}.
+ * <p>
+ * Com a propriedade ativa, o Spring Boot passa a atender as requisições do Tomcat e a executar o trabalho
+ * assíncrono (como as exportações em streaming) em threads virtuais. Como o número de requisições
+ * simultâneas deixa de ser limitado pelo pool de threads, esta configuração limita à parte o acesso ao banco:
+ * o pool Hikari é envolvido por um {@link ConcurrencyLimitingDataSource} com tantas permissões quanto o seu
+ * tamanho máximo, ou {@code neurotech.db.max-concurrency}, quando informado. Com a réplica de leitura, o limite
+ * é aplicado ao {@link ReadWriteRoutingDataSource}, com a soma dos tamanhos do primário e da réplica; outros
+ * data sources não são alterados.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadsConfig {
+
+    @Bean
+    static BeanPostProcessor concurrencyLimitingDataSourcePostProcessor(Environment environment) {
+        var binder = Binder.get(environment);
+        int maxConcurrency = binder.bind("neurotech.db.max-concurrency", Integer.class).orElse(0);
+        var acquireTimeout = binder.bind("neurotech.db.acquire-timeout", Duration.class).orElse(Duration.ofSeconds(30));
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                int poolSize = poolSize(dataSource);
+                if (poolSize == 0) {
+                    return bean;
+                }
+                int permits = maxConcurrency > 0 ? maxConcurrency : poolSize;
+                Logger.getLogger(VirtualThreadsConfig.class.getName()).info(
+                        "Threads virtuais ativas; acesso ao banco limitado a " + permits + " conexões simultâneas");
+                return new ConcurrencyLimitingDataSource(dataSource, permits, acquireTimeout);
+            }
+        };
+    }
+
+    /**
+     * Total de conexões dos pools por trás do data source: o do pool Hikari ou, com réplica, a soma do primário e
+     * da réplica. Devolve 0 para data sources que não são pools da aplicação ou que já têm o limite aplicado.
+     */
+    static int poolSize(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(ConcurrencyLimitingDataSource.class)) {
+                return 0;
+            }
+            // o roteador delega ao pool primário, então é verificado antes do Hikari
+            if (dataSource.isWrapperFor(ReadWriteRoutingDataSource.class)) {
+                var routing = dataSource.unwrap(ReadWriteRoutingDataSource.class);
+                return routing.getPrimary().getMaximumPoolSize() + routing.getReplica().getMaximumPoolSize();
+            }
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException e) {
+            Logger.getLogger(VirtualThreadsConfig.class.getName()).warning(
+                    "Não foi possível identificar o pool do data source: " + e.getMessage());
+        }
+        return 0;
+    }
+}
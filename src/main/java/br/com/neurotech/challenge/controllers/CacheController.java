@@ -0,0 +1,58 @@
+package br.com.neurotech.challenge.controllers;
+
+import br.com.neurotech.challenge.dto.CacheStatsDTO;
+import br.com.neurotech.challenge.dto.ErrorDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controlador REST para consultar o estado dos caches da aplicação.
+ */
+@RestController
+@RequestMapping("/api/cache")
+public class CacheController {
+
+    private final CacheManager cacheManager;
+
+    /**
+     * Construtor do controlador de caches.
+     *
+     * @param cacheManager Gerenciador dos caches da aplicação.
+     */
+    public CacheController(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Endpoint para obter as estatísticas de acerto, falha e remoção de um cache.
+     *
+     * @param name Nome do cache (exemplo: clients).
+     * @return Estatísticas do cache ou HTTP 404 (Not Found) se o cache não existir.
+     */
+    @Operation(summary = "Obtém as estatísticas de um cache")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estatísticas recuperadas com sucesso", content = @Content(schema = @Schema(implementation = CacheStatsDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Cache não encontrado", content = @Content(schema = @Schema(implementation = ErrorDTO.class)))
+    })
+    @GetMapping("/{name}/stats")
+    ResponseEntity<?> getStats(@PathVariable String name) {
+        var cache = cacheManager.getCache(name);
+        if (cache == null || !(cache.getNativeCache() instanceof Cache<?, ?> nativeCache)) {
+            return ResponseEntity.status(404).body(new ErrorDTO("Cache não encontrado: " + name));
+        }
+
+        var stats = nativeCache.stats();
+        return ResponseEntity.ok(new CacheStatsDTO(name, nativeCache.estimatedSize(), stats.hitCount(),
+                stats.missCount(), stats.hitRate(), stats.evictionCount()));
+    }
+}
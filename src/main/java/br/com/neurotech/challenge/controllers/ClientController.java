@@ -1,23 +1,43 @@
 package br.com.neurotech.challenge.controllers;
 
+import br.com.neurotech.challenge.configs.BinaryFormatsConfig;
+import br.com.neurotech.challenge.dto.BatchItemResultDTO;
 import br.com.neurotech.challenge.dto.ErrorDTO;
 import br.com.neurotech.challenge.dto.NeurotechClientDTO;
 import br.com.neurotech.challenge.entity.NeurotechClient;
 import br.com.neurotech.challenge.form.NeurotechClientForm;
-import br.com.neurotech.challenge.repository.CreditRepository;
 import br.com.neurotech.challenge.service.ClientService;
 import br.com.neurotech.challenge.service.CreditService;
+import br.com.neurotech.challenge.service.IdempotencyService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.UUID;
 
 /**
  * Controlador REST para gerenciar operações relacionadas à entidade Cliente.
@@ -27,27 +47,47 @@ import java.net.URI;
 @RequestMapping("/api/clients")
 public class ClientController {
 
+    /**
+     * Quantidade de linhas escritas entre cada envio forçado do buffer na exportação em streaming.
+     */
+    private static final int EXPORT_FLUSH_INTERVAL = 1000;
+
     private final ClientService clientService;
     private final CreditService creditService;
-    private final CreditRepository creditRepository;
+    private final IdempotencyService idempotencyService;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final int batchChunkSize;
 
     /**
      * Construtor do controlador de clientes.
      *
-     * @param clientService    Serviço de gerenciamento de clientes.
-     * @param creditService    Serviço de gerenciamento de crédito associado aos clientes.
-     * @param creditRepository Repositório de créditos.
+     * @param clientService      Serviço de gerenciamento de clientes.
+     * @param creditService      Serviço de gerenciamento de crédito associado aos clientes.
+     * @param idempotencyService Serviço que registra e repete as respostas das requisições com chave de idempotência.
+     * @param validator          Validador utilizado nos itens do cadastro em lote.
+     * @param objectMapper       Serializador JSON utilizado na exportação em streaming.
+     * @param batchChunkSize     Quantidade de clientes gravados por transação no cadastro em lote.
      */
-    public ClientController(ClientService clientService, CreditService creditService, CreditRepository creditRepository) {
+    public ClientController(ClientService clientService, CreditService creditService, IdempotencyService idempotencyService,
+                            Validator validator, ObjectMapper objectMapper,
+                            @Value("${neurotech.batch.chunk-size:1000}") int batchChunkSize) {
         this.clientService = clientService;
         this.creditService = creditService;
-        this.creditRepository = creditRepository;
+        this.idempotencyService = idempotencyService;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.batchChunkSize = batchChunkSize;
     }
 
     /**
-     * Endpoint para criar um novo cliente e associar um registro de crédito.
+     * Endpoint para criar um novo cliente e associar um registro de crédito. O cliente e o crédito são
+     * gravados em uma única transação; um cliente que não se qualifica para nenhum crédito não é gravado.
+     * Com o cabeçalho {@code Idempotency-Key}, repetições da requisição recebem a resposta original, sem
+     * cadastrar o cliente novamente.
      *
-     * @param form Dados do cliente fornecidos no corpo da requisição.
+     * @param idempotencyKey Chave de idempotência opcional.
+     * @param form           Dados do cliente fornecidos no corpo da requisição.
      * @return Resposta HTTP 201 (Created) se bem-sucedido ou HTTP 400 (Bad Request) em caso de erro.
      */
     @Operation(summary = "Cria um novo cliente e associa um registro de crédito")
@@ -56,80 +96,231 @@ public class ClientController {
             @ApiResponse(responseCode = "400", description = "Erro ao criar cliente", content = @Content(schema = @Schema(implementation = ErrorDTO.class)))
     })
     @PostMapping
-    ResponseEntity<?> createClient(@Valid @RequestBody NeurotechClientForm form) {
-        try {
-            var client = new NeurotechClient();
-            client.setName(form.getName());
-            client.setAge(form.getAge());
-            client.setIncome(form.getIncome());
+    ResponseEntity<?> createClient(
+            @RequestHeader(name = IdempotencyService.IDEMPOTENCY_KEY, required = false)
+            @Schema(description = "Chave que identifica a requisição; repetições com a mesma chave recebem a resposta original")
+            String idempotencyKey,
+            @Valid @RequestBody NeurotechClientForm form) {
+        return idempotencyService.execute(idempotencyKey, "POST /api/clients", form, () -> {
+            try {
+                var client = new NeurotechClient();
+                client.setName(form.getName());
+                client.setAge(form.getAge());
+                client.setIncome(form.getIncome());
+
+                this.creditService.createClientWithCredit(client);
+
+                URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                        .path("/{id}")
+                        .buildAndExpand(client.getId())
+                        .toUri();
+
+                return ResponseEntity.created(location).build();
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(new ErrorDTO(e.getMessage()));
+            }
+        });
+    }
+
+    /**
+     * Endpoint para cadastrar vários clientes de uma só vez, associando um registro de crédito a cada um.
+     * Os clientes são gravados em blocos, cada bloco em uma única transação com inserções agrupadas em lotes JDBC.
+     * Itens inválidos ou que não se qualificam para nenhum crédito são reportados individualmente, sem
+     * interromper o restante do lote.
+     *
+     * @param forms Lista com os dados dos clientes.
+     * @return Resposta HTTP 200 com o resultado de cada item, na mesma ordem da requisição.
+     */
+    @Operation(summary = "Cadastra clientes em lote e associa um registro de crédito a cada um")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lote processado; o resultado de cada item é informado individualmente",
+                    content = @Content(schema = @Schema(implementation = BatchItemResultDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Requisição inválida", content = @Content(schema = @Schema(implementation = ErrorDTO.class)))
+    })
+    @PostMapping("/batch")
+    ResponseEntity<?> createClients(@RequestBody List<NeurotechClientForm> forms) {
+        var results = new BatchItemResultDTO[forms.size()];
+        var chunk = new ArrayList<NeurotechClient>(Math.min(forms.size(), batchChunkSize));
+        var chunkIndexes = new ArrayList<Integer>(Math.min(forms.size(), batchChunkSize));
+
+        for (int i = 0; i < forms.size(); i++) {
+            var form = forms.get(i);
+            if (form == null) {
+                results[i] = BatchItemResultDTO.failure(i, "Item vazio");
+                continue;
+            }
+
+            var violations = validator.validate(form);
+            if (!violations.isEmpty()) {
+                results[i] = BatchItemResultDTO.failure(i, violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+                continue;
+            }
+
+            try {
+                var client = new NeurotechClient();
+                client.setName(form.getName());
+                client.setAge(form.getAge());
+                client.setIncome(form.getIncome());
+                client.getCredits().add(this.creditService.createCreditForClient(client));
+
+                chunk.add(client);
+                chunkIndexes.add(i);
+            } catch (IllegalArgumentException e) {
+                results[i] = BatchItemResultDTO.failure(i, e.getMessage());
+                continue;
+            }
+
+            if (chunk.size() == batchChunkSize) {
+                saveChunk(chunk, chunkIndexes, results);
+            }
+        }
+        saveChunk(chunk, chunkIndexes, results);
 
-            this.clientService.save(client);
-            var credit = this.creditService.createCreditForClient(client);
-            this.creditRepository.save(credit);
+        return ResponseEntity.ok(Arrays.asList(results));
+    }
 
-            URI location = ServletUriComponentsBuilder.fromCurrentRequest()
-                    .path("/{id}")
-                    .buildAndExpand(client.getId())
-                    .toUri();
+    /**
+     * Grava um bloco do cadastro em lote e registra o resultado de cada item. Uma falha na gravação
+     * invalida apenas os itens do próprio bloco.
+     */
+    private void saveChunk(List<NeurotechClient> chunk, List<Integer> chunkIndexes, BatchItemResultDTO[] results) {
+        if (chunk.isEmpty()) {
+            return;
+        }
 
-            return ResponseEntity.created(location).build();
+        try {
+            this.clientService.saveAll(chunk);
+            for (int j = 0; j < chunk.size(); j++) {
+                results[chunkIndexes.get(j)] = BatchItemResultDTO.success(chunkIndexes.get(j), chunk.get(j).getId());
+            }
         } catch (Exception e) {
-            return ResponseEntity.badRequest().body(new ErrorDTO(e.getMessage()));
+            for (int index : chunkIndexes) {
+                results[index] = BatchItemResultDTO.failure(index, e.getMessage());
+            }
         }
+
+        chunk.clear();
+        chunkIndexes.clear();
     }
 
     /**
      * Endpoint para recuperar um cliente específico pelo seu ID.
+     * <p>
+     * A resposta traz a versão do cliente como {@code ETag}. Se a requisição informar em {@code If-None-Match}
+     * a versão atual, apenas a versão é consultada e a resposta é {@code 304 Not Modified}, sem corpo.
      *
-     * @param id Identificador do cliente a ser recuperado.
-     * @return Dados do cliente ou mensagem de erro no formato HTTP 400 (Bad Request).
+     * @param id      Identificador do cliente a ser recuperado.
+     * @param request Requisição, com os cabeçalhos condicionais.
+     * @return Dados do cliente, {@code 304} se não houve alteração ou mensagem de erro no formato HTTP 400 (Bad Request).
      */
     @Operation(summary = "Obtém um cliente pelo ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Cliente recuperado com sucesso", content = @Content(schema = @Schema(implementation = NeurotechClientForm.class))),
+            @ApiResponse(responseCode = "304", description = "Cliente não alterado desde a versão informada em If-None-Match"),
             @ApiResponse(responseCode = "400", description = "Cliente não encontrado", content = @Content(schema = @Schema(implementation = ErrorDTO.class)))
     })
     @GetMapping("/{id}")
-    ResponseEntity<?> getClient(@PathVariable String id) {
+    ResponseEntity<?> getClient(@PathVariable UUID id, WebRequest request) {
         try {
+            if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+                var version = clientService.getVersion(id);
+                if (version != null && request.checkNotModified(version.toString())) {
+                    return null;
+                }
+            }
+
             var client = clientService.get(id);
 
             var dto = new NeurotechClientForm();
-            dto.setName(client.getName());
-            dto.setAge(client.getAge());
-            dto.setIncome(client.getIncome());
+            dto.setName(client.name());
+            dto.setAge(client.age());
+            dto.setIncome(client.income());
 
-            return ResponseEntity.ok(dto);
+            return ResponseEntity.ok()
+                    .eTag(client.version().toString())
+                    .cacheControl(CacheControl.noCache())
+                    .body(dto);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ErrorDTO(e.getMessage()));
         }
     }
 
     /**
-     * Endpoint para recuperar todos os clientes cadastrados.
+     * Endpoint para recuperar os clientes cadastrados. Quando {@code limit} ou {@code next} são informados,
+     * a resposta é paginada por keyset (ordenada pelo identificador, sem OFFSET) e traz o cursor da próxima
+     * página; caso contrário, todos os clientes são retornados. Além de JSON, a resposta pode ser pedida em
+     * Smile ou CBOR pelo cabeçalho {@code Accept} (ver {@link BinaryFormatsConfig}); por isso ela traz
+     * {@code Vary: Accept}.
      *
-     * @return Lista de clientes ou mensagem de erro se não for possível recuperar os dados.
+     * @param limit Quantidade máxima de clientes por página.
+     * @param next  Cursor opaco retornado na página anterior.
+     * @return Lista ou página de clientes, ou mensagem de erro se não for possível recuperar os dados.
      */
-    @Operation(summary = "Obtém todos os clientes")
+    @Operation(summary = "Obtém todos os clientes, opcionalmente paginados por cursor")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Clientes recuperados com sucesso", content = @Content(schema = @Schema(implementation = NeurotechClientDTO.class))),
             @ApiResponse(responseCode = "400", description = "Erro ao recuperar clientes", content = @Content(schema = @Schema(implementation = ErrorDTO.class)))
     })
-    @GetMapping
-    ResponseEntity<?> getAllClients() {
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, BinaryFormatsConfig.SMILE_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    ResponseEntity<?> getAllClients(
+            @RequestParam(required = false) @Schema(description = "Quantidade máxima de clientes por página", example = "100") Integer limit,
+            @RequestParam(required = false) @Schema(description = "Cursor da próxima página") String next) {
         try {
-            var clients = clientService.getAll();
+            if (Pagination.requested(limit, next)) {
+                int pageSize = Pagination.limit(limit);
+                var clients = clientService.getAll(Pagination.after(next), pageSize + 1);
 
-            var dto = clients.stream()
-                    .map(client -> new NeurotechClientDTO(client.getId(), client.getName(), client.getAge(), client.getIncome()))
-                    .toList();
+                return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT)
+                        .body(Pagination.page(clients, pageSize, NeurotechClientDTO::id, Function.identity()));
+            }
 
-            return ResponseEntity.ok(dto);
+            return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).body(clientService.getAll());
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ErrorDTO(e.getMessage()));
         }
     }
 
+    /**
+     * Endpoint para exportar todos os clientes cadastrados em NDJSON (um objeto JSON por linha).
+     * Cada cliente é escrito na resposta assim que é lido do banco, de modo que o primeiro byte é
+     * enviado imediatamente e o consumo de memória não depende da quantidade de clientes.
+     *
+     * @return Corpo da resposta escrito em streaming, no formato {@code application/x-ndjson}.
+     */
+    @Operation(summary = "Exporta todos os clientes em streaming (NDJSON)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Clientes exportados com sucesso",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = NeurotechClientDTO.class)))
+    })
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    ResponseEntity<StreamingResponseBody> exportClients() {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                var writer = objectMapper.writerFor(NeurotechClientDTO.class);
+                var written = new int[1];
+
+                clientService.exportAll(dto -> {
+                    try {
+                        writer.writeValue(generator, dto);
+                        generator.writeRaw('\n');
+                        if (++written[0] % EXPORT_FLUSH_INTERVAL == 1) {
+                            generator.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     /**
      * Endpoint para excluir um cliente pelo seu ID.
      *
@@ -142,7 +333,7 @@ public class ClientController {
             @ApiResponse(responseCode = "400", description = "Erro ao deletar cliente", content = @Content(schema = @Schema(implementation = ErrorDTO.class)))
     })
     @DeleteMapping("/{id}")
-    ResponseEntity<?> deleteClient(@PathVariable String id) {
+    ResponseEntity<?> deleteClient(@PathVariable UUID id) {
         try {
             clientService.delete(id);
             return ResponseEntity.ok("Cliente removido com sucesso");
@@ -152,28 +343,25 @@ public class ClientController {
     }
 
     /**
-     * Endpoint para atualizar informações de um cliente existente pelo seu ID.
+     * Endpoint para atualizar informações de um cliente existente pelo seu ID. O próprio cliente é alterado,
+     * preservando o identificador e os créditos.
      *
      * @param id   ID do cliente a ser atualizado.
      * @param form Dados atualizados do cliente fornecidos no corpo da requisição.
-     * @return Mensagem indicando o sucesso ou falha na atualização.
+     * @return Mensagem indicando o sucesso, HTTP 404 se o cliente não existe ou mensagem de erro em caso de falha.
      */
     @Operation(summary = "Atualiza um cliente pelo ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Cliente atualizado com sucesso"),
+            @ApiResponse(responseCode = "404", description = "Cliente não encontrado", content = @Content),
             @ApiResponse(responseCode = "400", description = "Erro ao atualizar cliente", content = @Content(schema = @Schema(implementation = ErrorDTO.class)))
     })
     @PutMapping("/{id}")
-    ResponseEntity<?> updateClient(@PathVariable String id, @Valid @RequestBody NeurotechClientForm form) {
+    ResponseEntity<?> updateClient(@PathVariable UUID id, @Valid @RequestBody NeurotechClientForm form) {
         try {
-            var client = clientService.get(id);
-
-            client = new NeurotechClient();
-            client.setName(form.getName());
-            client.setAge(form.getAge());
-            client.setIncome(form.getIncome());
-
-            clientService.save(client);
+            if (!clientService.update(id, form.getName(), form.getAge(), form.getIncome())) {
+                return ResponseEntity.notFound().build();
+            }
             return ResponseEntity.ok("Cliente atualizado com sucesso");
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ErrorDTO(e.getMessage()));
@@ -1,23 +1,34 @@
 package br.com.neurotech.challenge.controllers;
 
+import br.com.neurotech.challenge.configs.BinaryFormatsConfig;
+import br.com.neurotech.challenge.dto.ClientAnalyticsDTO;
 import br.com.neurotech.challenge.dto.EligibleClientDTO;
 import br.com.neurotech.challenge.dto.ErrorDTO;
+import br.com.neurotech.challenge.dto.NeurotechClientDTO;
 import br.com.neurotech.challenge.entity.Credit;
-import br.com.neurotech.challenge.entity.NeurotechClient;
 import br.com.neurotech.challenge.entity.VehicleModel;
+import br.com.neurotech.challenge.form.BulkCheckCreditForm;
 import br.com.neurotech.challenge.form.CheckCreditForm;
 import br.com.neurotech.challenge.service.ClientService;
 import br.com.neurotech.challenge.service.CreditService;
+import br.com.neurotech.challenge.service.IdempotencyService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.UUID;
 
 /**
  * Controlador responsável por gerenciar operações relacionadas a crédito para os clientes.
@@ -29,22 +40,26 @@ public class CreditController {
 
     private final ClientService clientService;
     private final CreditService creditService;
+    private final IdempotencyService idempotencyService;
 
     /**
      * Construtor da classe CreditController.
      *
-     * @param clientService Serviço responsável pelos clientes.
-     * @param creditService Serviço responsável pelas operações de crédito.
+     * @param clientService      Serviço responsável pelos clientes.
+     * @param creditService      Serviço responsável pelas operações de crédito.
+     * @param idempotencyService Serviço que registra e repete as respostas das requisições com chave de idempotência.
      */
-    public CreditController(ClientService clientService, CreditService creditService) {
+    public CreditController(ClientService clientService, CreditService creditService, IdempotencyService idempotencyService) {
         this.clientService = clientService;
         this.creditService = creditService;
+        this.idempotencyService = idempotencyService;
     }
 
     /**
      * Verifica se um cliente é elegível para crédito com base no modelo do veículo.
      *
      * @param clientId        ID do cliente a ser verificado.
+     * @param idempotencyKey  Chave de idempotência opcional; repetições com a mesma chave recebem a resposta original.
      * @param checkCreditForm Objeto contendo os dados do modelo do veículo.
      * @return Retorna um ResponseEntity contendo true se o cliente for elegível ou 404 caso o cliente não seja encontrado.
      */
@@ -59,67 +74,152 @@ public class CreditController {
     })
     @PostMapping("/check/{clientId}")
     public ResponseEntity<?> checkCredit(
-            @PathVariable String clientId,
+            @PathVariable UUID clientId,
+            @RequestHeader(name = IdempotencyService.IDEMPOTENCY_KEY, required = false)
+            @Schema(description = "Chave que identifica a requisição; repetições com a mesma chave recebem a resposta original")
+            String idempotencyKey,
             @Valid @RequestBody()
             CheckCreditForm checkCreditForm) {
 
-        try {
-            NeurotechClient client = clientService.get(clientId);
+        return idempotencyService.execute(idempotencyKey, "POST /api/clients/check/" + clientId, checkCreditForm, () -> {
+            try {
+                var client = clientService.get(clientId);
+
+                if (client == null) {
+                    return ResponseEntity.notFound().build();
+                }
 
-            if (client == null) {
-                return ResponseEntity.notFound().build();
+                boolean eligible = this.creditService.checkCredit(client.id(), checkCreditForm.getVehicleModel());
+                return ResponseEntity.ok(eligible);
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(new ErrorDTO(e.getMessage()));
             }
+        });
+    }
+
+    /**
+     * Verifica, de uma só vez, se vários clientes são elegíveis para crédito em cada modelo de veículo.
+     *
+     * @param form Objeto contendo os identificadores dos clientes e, opcionalmente, os modelos de veículo.
+     * @return Retorna um ResponseEntity contendo o mapa do identificador de cada cliente encontrado para
+     * o resultado de cada modelo. Clientes não encontrados são omitidos.
+     */
+    @Operation(summary = "Verifica a elegibilidade de crédito de vários clientes para vários modelos de veículo",
+            description = "Quando nenhum modelo é informado, todos os modelos são avaliados. Clientes não encontrados são omitidos.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Mapa do cliente para a elegibilidade em cada modelo",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "400", description = "Error ao análisar crédito", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorDTO.class)))
+    })
+    @PostMapping("/check")
+    public ResponseEntity<?> checkCredit(@Valid @RequestBody BulkCheckCreditForm form) {
+        try {
+            var models = form.getVehicleModels() == null || form.getVehicleModels().isEmpty()
+                    ? Arrays.asList(VehicleModel.values())
+                    : form.getVehicleModels();
 
-            boolean eligible = this.creditService.checkCredit(client.getId(), checkCreditForm.getVehicleModel());
-            return ResponseEntity.ok(eligible);
+            return ResponseEntity.ok(this.creditService.checkCredit(form.getClientIds(), models));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ErrorDTO(e.getMessage()));
         }
-
     }
 
     /**
      * Obtém uma lista de clientes elegíveis para crédito com base nos critérios fornecidos.
+     * <p>
+     * A resposta traz como {@code ETag} um identificador da versão da lista (ou página). A versão da lista é
+     * calculada pelo banco em uma única linha (quantidade de clientes, maior identificador e soma das versões),
+     * na mesma transação de leitura da lista, e por isso é um {@code ETag} fraco, que pode não mudar em
+     * alterações que se compensam no resumo; se a requisição informar em {@code If-None-Match} a versão atual,
+     * a resposta é {@code 304 Not Modified}, sem ler os clientes. A versão de uma página é calculada a partir do
+     * seu conteúdo, lido com uma única consulta. Além de JSON, a resposta pode ser pedida em Smile ou CBOR pelo
+     * cabeçalho {@code Accept} (ver {@link BinaryFormatsConfig}); por isso ela traz {@code Vary: Accept}.
      *
      * @param vehicleModel Modelo do veículo (exemplo: HATCH, SUV).
      * @param minAge       Idade mínima dos clientes.
      * @param maxAge       Idade máxima dos clientes.
      * @param creditType   Tipo de crédito solicitado.
-     * @return Retorna um ResponseEntity contendo uma lista de clientes elegíveis no formato DTO.
+     * @param limit        Quantidade máxima de clientes por página; quando informado, junto ou não com
+     *                     {@code next}, a resposta é paginada por keyset.
+     * @param next         Cursor opaco retornado na página anterior.
+     * @param request      Requisição, com os cabeçalhos condicionais.
+     * @return Retorna um ResponseEntity contendo uma lista (ou página) de clientes elegíveis no formato DTO.
      */
     @Operation(summary = "Obtém uma lista de clientes elegíveis para crédito com base em critérios",
             description = "Retorna todos os clientes que atendem aos critérios fornecidos, incluindo modelo de veículo, faixa etária e tipo de crédito.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Lista de clientes elegíveis",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = EligibleClientDTO.class))),
+            @ApiResponse(responseCode = "304", description = "Lista não alterada desde a versão informada em If-None-Match"),
             @ApiResponse(responseCode = "400", description = "Parâmetros inválidos",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorDTO.class))),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorDTO.class)))
     })
-    @GetMapping("/eligible/{vehicleModel}")
+    @GetMapping(path = "/eligible/{vehicleModel}", produces = {MediaType.APPLICATION_JSON_VALUE,
+            BinaryFormatsConfig.SMILE_VALUE, MediaType.APPLICATION_CBOR_VALUE})
     public ResponseEntity<?> getEligibleClients(
             @PathVariable @Schema(description = "Modelo de veículo", example = "HATCH") VehicleModel vehicleModel,
             @RequestParam() @Schema(description = "Idade mínima dos clientes", example = "18") Integer minAge,
             @RequestParam() @Schema(description = "Idade máxima dos clientes", example = "60") Integer maxAge,
-            @RequestParam() @Schema(description = "Tipo de crédito", example = "FIXED_INTEREST") Credit.CreditType creditType) {
+            @RequestParam() @Schema(description = "Tipo de crédito", example = "FIXED_INTEREST") Credit.CreditType creditType,
+            @RequestParam(required = false) @Schema(description = "Quantidade máxima de clientes por página", example = "100") Integer limit,
+            @RequestParam(required = false) @Schema(description = "Cursor da próxima página") String next,
+            WebRequest request) {
         try {
             if (minAge < 0 || maxAge < 0 || minAge > maxAge) {
                 return ResponseEntity.badRequest().body(null);
             }
 
-            var clients = clientService.getEligibleClients(
-                    vehicleModel, minAge, maxAge, creditType);
+            if (Pagination.requested(limit, next)) {
+                int pageSize = Pagination.limit(limit);
+                var page = clientService.getEligibleClientsPage(
+                        vehicleModel, minAge, maxAge, creditType, Pagination.after(next), pageSize + 1);
+                if (request.checkNotModified(page.version())) {
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).varyBy(HttpHeaders.ACCEPT).build();
+                }
 
-            var dto = clients.stream()
-                    .map(client -> new EligibleClientDTO(client.getName(), client.getIncome()))
-                    .toList();
+                return ResponseEntity.ok().eTag(page.version()).cacheControl(CacheControl.noCache()).varyBy(HttpHeaders.ACCEPT)
+                        .body(Pagination.page(page.body(), pageSize, NeurotechClientDTO::id,
+                                client -> new EligibleClientDTO(client.name(), client.income())));
+            }
 
-            return ResponseEntity.ok(dto);
+            var clients = clientService.getEligibleClientsIfModified(
+                    vehicleModel, minAge, maxAge, creditType, request::checkNotModified);
+            if (clients.body() == null) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).varyBy(HttpHeaders.ACCEPT).build();
+            }
+
+            return ResponseEntity.ok().eTag(clients.version()).cacheControl(CacheControl.noCache()).varyBy(HttpHeaders.ACCEPT)
+                    .body(clients.body());
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(List.of(new ErrorDTO("Parâmetros inválidos: " + e.getMessage())));
         } catch (Exception e) {
             return ResponseEntity.status(500).body(List.of(new ErrorDTO("Erro interno no servidor: " + e.getMessage())));
         }
     }
+
+    /**
+     * Obtém as estatísticas da carteira de clientes, agregadas pelo banco em uma única consulta, em vez da
+     * contagem das listas de clientes elegíveis de cada combinação de modelo de veículo e tipo de crédito.
+     *
+     * @return Retorna um ResponseEntity contendo a quantidade, a soma e a média das rendas dos clientes, no total
+     * e por faixa de idade, faixa de renda, tipo de crédito e elegibilidade a cada modelo de veículo.
+     */
+    @Operation(summary = "Obtém as estatísticas da carteira de clientes",
+            description = "Quantidade de clientes, soma e média das rendas no total e por faixa de idade, faixa de renda, tipo de crédito e elegibilidade a cada modelo de veículo.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estatísticas da carteira",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ClientAnalyticsDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Erro ao calcular as estatísticas",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorDTO.class)))
+    })
+    @GetMapping("/analytics")
+    public ResponseEntity<?> getAnalytics() {
+        try {
+            return ResponseEntity.ok(clientService.getAnalytics());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ErrorDTO(e.getMessage()));
+        }
+    }
 }
@@ -0,0 +1,141 @@
+package br.com.neurotech.challenge.controllers;
+
+import br.com.neurotech.challenge.dto.CreditJobDTO;
+import br.com.neurotech.challenge.dto.CreditJobResultDTO;
+import br.com.neurotech.challenge.dto.ErrorDTO;
+import br.com.neurotech.challenge.dto.PageDTO;
+import br.com.neurotech.challenge.form.CreditJobForm;
+import br.com.neurotech.challenge.service.CreditJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+/**
+ * Controlador responsável pelos jobs assíncronos de verificação de crédito.
+ * Permite submeter a avaliação de muitos clientes de uma vez e acompanhar o progresso e os resultados.
+ */
+@RestController()
+@RequestMapping("/api/credit-jobs")
+public class CreditJobController {
+
+    /**
+     * Segundos sugeridos no cabeçalho {@code Retry-After} quando a fila de jobs está cheia.
+     */
+    static final String RETRY_AFTER_SECONDS = "30";
+
+    private final CreditJobService creditJobService;
+
+    /**
+     * Construtor da classe CreditJobController.
+     *
+     * @param creditJobService Serviço responsável pelos jobs de verificação de crédito.
+     */
+    public CreditJobController(CreditJobService creditJobService) {
+        this.creditJobService = creditJobService;
+    }
+
+    /**
+     * Submete um job de verificação de crédito para vários clientes e um modelo de veículo.
+     *
+     * @param form Objeto contendo os identificadores dos clientes e o modelo de veículo.
+     * @return Retorna 202 com o job criado e o seu endereço no cabeçalho Location, ou 503 se a fila estiver cheia.
+     */
+    @Operation(summary = "Submete um job assíncrono de verificação de crédito",
+            description = "Os clientes são avaliados em segundo plano; o progresso e os resultados são consultados pelo endereço retornado.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Job aceito",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = CreditJobDTO.class))),
+            @ApiResponse(responseCode = "503", description = "Fila de jobs cheia; tente novamente após o tempo indicado em Retry-After",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Error ao submeter o job", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorDTO.class)))
+    })
+    @PostMapping
+    public ResponseEntity<?> submit(@Valid @RequestBody CreditJobForm form) {
+        try {
+            var job = creditJobService.submit(form.getClientIds(), form.getVehicleModel());
+
+            URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .path("/{id}")
+                    .buildAndExpand(job.getId())
+                    .toUri();
+
+            return ResponseEntity.accepted().location(location).body(CreditJobDTO.of(job));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                    .body(new ErrorDTO(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ErrorDTO(e.getMessage()));
+        }
+    }
+
+    /**
+     * Obtém a situação e o progresso de um job.
+     *
+     * @param id Identificador do job.
+     * @return Retorna o job ou 404 caso não seja encontrado.
+     */
+    @Operation(summary = "Obtém a situação e o progresso de um job de verificação de crédito")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Job encontrado",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = CreditJobDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Job não encontrado", content = @Content)
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<?> get(@PathVariable UUID id) {
+        var job = creditJobService.get(id);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(CreditJobDTO.of(job));
+    }
+
+    /**
+     * Obtém uma página dos resultados já avaliados de um job, na ordem em que os clientes foram submetidos.
+     *
+     * @param id    Identificador do job.
+     * @param limit Quantidade máxima de resultados por página.
+     * @param next  Cursor opaco retornado na página anterior.
+     * @return Retorna a página de resultados ou 404 caso o job não seja encontrado.
+     */
+    @Operation(summary = "Obtém os resultados de um job de verificação de crédito",
+            description = "Retorna apenas os clientes já avaliados; eligible é nulo para clientes não encontrados.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página de resultados",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "404", description = "Job não encontrado", content = @Content),
+            @ApiResponse(responseCode = "400", description = "Parâmetros inválidos",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorDTO.class)))
+    })
+    @GetMapping("/{id}/results")
+    public ResponseEntity<?> getResults(
+            @PathVariable UUID id,
+            @RequestParam(required = false) @Schema(description = "Quantidade máxima de resultados por página", example = "100") Integer limit,
+            @RequestParam(required = false) @Schema(description = "Cursor da próxima página") String next) {
+        try {
+            if (creditJobService.get(id) == null) {
+                return ResponseEntity.notFound().build();
+            }
+
+            int pageSize = Pagination.limit(limit);
+            var results = creditJobService.getResults(id, Pagination.afterPosition(next), pageSize + 1);
+            PageDTO<CreditJobResultDTO> page = Pagination.page(results, pageSize, CreditJobResultDTO::position, Function.identity());
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorDTO("Parâmetros inválidos: " + e.getMessage()));
+        }
+    }
+}
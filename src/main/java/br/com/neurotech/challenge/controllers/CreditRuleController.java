@@ -0,0 +1,80 @@
+package br.com.neurotech.challenge.controllers;
+
+import br.com.neurotech.challenge.configs.CreditRulesProperties;
+import br.com.neurotech.challenge.dto.ErrorDTO;
+import br.com.neurotech.challenge.service.ClientService;
+import br.com.neurotech.challenge.service.implementation.CreditRuleEngine;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.logging.Logger;
+
+/**
+ * Controlador REST para consultar e substituir, em tempo de execução, as tabelas de regras de crédito.
+ */
+@RestController
+@RequestMapping("/api/credit-rules")
+public class CreditRuleController {
+
+    private static final Logger LOGGER = Logger.getLogger(CreditRuleController.class.getName());
+
+    private final CreditRuleEngine ruleEngine;
+    private final ClientService clientService;
+
+    /**
+     * Construtor do controlador de regras de crédito.
+     *
+     * @param ruleEngine    Motor de regras de crédito.
+     * @param clientService Serviço de clientes, que recalcula a elegibilidade gravada quando as regras mudam.
+     */
+    public CreditRuleController(CreditRuleEngine ruleEngine, ClientService clientService) {
+        this.ruleEngine = ruleEngine;
+        this.clientService = clientService;
+    }
+
+    /**
+     * Endpoint para obter as tabelas de regras vigentes.
+     *
+     * @return Tabelas de regras de crédito e de elegibilidade por modelo de veículo.
+     */
+    @Operation(summary = "Obtém as regras de crédito vigentes")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Regras recuperadas com sucesso", content = @Content(schema = @Schema(implementation = CreditRulesProperties.class)))
+    })
+    @GetMapping
+    ResponseEntity<?> getRules() {
+        return ResponseEntity.ok(ruleEngine.rules().source());
+    }
+
+    /**
+     * Endpoint para substituir as tabelas de regras. As novas regras são compiladas e passam a valer
+     * atomicamente, sem interromper as requisições em andamento. A elegibilidade gravada dos clientes é
+     * recalculada em segundo plano, e as listagens de clientes elegíveis refletem as novas regras à medida que
+     * o recálculo avança. O tipo e a taxa dos créditos já concedidos não mudam; eles são reprocessados por um
+     * job de {@code /api/rescoring-jobs}.
+     *
+     * @param properties Novas tabelas de regras.
+     * @return Resposta HTTP 200 (OK) com as regras aplicadas ou HTTP 400 (Bad Request) se forem inválidas.
+     */
+    @Operation(summary = "Substitui as regras de crédito vigentes")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Regras aplicadas com sucesso", content = @Content(schema = @Schema(implementation = CreditRulesProperties.class))),
+            @ApiResponse(responseCode = "400", description = "Regras inválidas", content = @Content(schema = @Schema(implementation = ErrorDTO.class)))
+    })
+    @PutMapping
+    ResponseEntity<?> replaceRules(@RequestBody CreditRulesProperties properties) {
+        try {
+            ruleEngine.reload(properties);
+            clientService.recomputeEligibilityInBackground();
+            LOGGER.info("Regras de crédito substituídas; recálculo da elegibilidade agendado");
+            return ResponseEntity.ok(ruleEngine.rules().source());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorDTO(e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package br.com.neurotech.challenge.controllers;
+
+import br.com.neurotech.challenge.dto.PageDTO;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Utilitários de paginação baseada em cursor (keyset) compartilhados pelos controladores.
+ * O cursor é o identificador do último item da página, codificado em Base64 para que os
+ * clientes da API o tratem como um valor opaco.
+ */
+final class Pagination {
+
+    /**
+     * Tamanho de página utilizado quando apenas o cursor é informado.
+     */
+    static final int DEFAULT_LIMIT = 100;
+
+    /**
+     * Maior tamanho de página aceito.
+     */
+    static final int MAX_LIMIT = 1000;
+
+    /**
+     * Chave a partir da qual a primeira página é lida; é menor que qualquer identificador válido.
+     */
+    static final UUID FIRST_KEY = new UUID(0, 0);
+
+    private Pagination() {
+    }
+
+    /**
+     * Indica se a requisição solicitou paginação.
+     */
+    static boolean requested(Integer limit, String next) {
+        return limit != null || next != null;
+    }
+
+    /**
+     * Valida o tamanho de página solicitado, aplicando o valor padrão quando ausente.
+     *
+     * @throws IllegalArgumentException se o tamanho estiver fora do intervalo aceito.
+     */
+    static int limit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("O limite deve estar entre 1 e " + MAX_LIMIT);
+        }
+        return limit;
+    }
+
+    /**
+     * Decodifica o cursor recebido na requisição, retornando a chave a partir da qual a página deve ser lida.
+     *
+     * @throws IllegalArgumentException se o cursor for inválido.
+     */
+    static UUID after(String next) {
+        if (next == null || next.isEmpty()) {
+            return FIRST_KEY;
+        }
+        return UUID.fromString(decode(next));
+    }
+
+    /**
+     * Decodifica o cursor de uma listagem ordenada por posição, retornando a posição a partir da qual a página
+     * deve ser lida; a primeira página é lida a partir de {@code -1}.
+     *
+     * @throws IllegalArgumentException se o cursor for inválido.
+     */
+    static int afterPosition(String next) {
+        if (next == null || next.isEmpty()) {
+            return -1;
+        }
+        return Integer.parseInt(decode(next));
+    }
+
+    private static String decode(String next) {
+        return new String(Base64.getUrlDecoder().decode(next), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Monta a página de resposta a partir das linhas lidas do banco. A consulta deve ser feita com
+     * {@code limit + 1} linhas: a linha excedente apenas indica que existe uma próxima página.
+     */
+    static <T, R> PageDTO<R> page(List<T> rows, int limit, Function<T, ?> key, Function<T, R> mapper) {
+        var items = rows.size() > limit ? rows.subList(0, limit) : rows;
+        String next = null;
+        if (rows.size() > limit) {
+            next = Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(key.apply(items.get(limit - 1)).toString().getBytes(StandardCharsets.UTF_8));
+        }
+        return new PageDTO<>(items.stream().map(mapper).toList(), next);
+    }
+}
@@ -0,0 +1,91 @@
+package br.com.neurotech.challenge.controllers;
+
+import br.com.neurotech.challenge.dto.ErrorDTO;
+import br.com.neurotech.challenge.dto.RescoringJobDTO;
+import br.com.neurotech.challenge.service.RescoringJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.util.UUID;
+
+/**
+ * Controlador responsável pelos jobs de reprocessamento de créditos.
+ * Após uma mudança das regras de crédito ({@code PUT /api/credit-rules}), permite aplicar o novo tipo e a nova
+ * taxa de juros aos créditos já concedidos e acompanhar o progresso.
+ */
+@RestController()
+@RequestMapping("/api/rescoring-jobs")
+public class RescoringJobController {
+
+    private final RescoringJobService rescoringJobService;
+
+    /**
+     * Construtor da classe RescoringJobController.
+     *
+     * @param rescoringJobService Serviço responsável pelos jobs de reprocessamento de créditos.
+     */
+    public RescoringJobController(RescoringJobService rescoringJobService) {
+        this.rescoringJobService = rescoringJobService;
+    }
+
+    /**
+     * Submete um job de reprocessamento dos créditos de todos os clientes com as regras de crédito vigentes.
+     *
+     * @return Retorna 202 com o job criado e o seu endereço no cabeçalho Location, ou 409 se já houver um job em andamento.
+     */
+    @Operation(summary = "Submete um job de reprocessamento dos créditos de todos os clientes",
+            description = "O tipo e a taxa de juros de cada crédito são recalculados em segundo plano com as regras vigentes; o progresso é consultado pelo endereço retornado.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Job aceito",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = RescoringJobDTO.class))),
+            @ApiResponse(responseCode = "409", description = "Já existe um job de reprocessamento em andamento",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Error ao submeter o job", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorDTO.class)))
+    })
+    @PostMapping
+    public ResponseEntity<?> submit() {
+        try {
+            var job = rescoringJobService.submit();
+
+            URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .path("/{id}")
+                    .buildAndExpand(job.getId())
+                    .toUri();
+
+            return ResponseEntity.accepted().location(location).body(RescoringJobDTO.of(job));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorDTO(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ErrorDTO(e.getMessage()));
+        }
+    }
+
+    /**
+     * Obtém a situação e o progresso de um job.
+     *
+     * @param id Identificador do job.
+     * @return Retorna o job ou 404 caso não seja encontrado.
+     */
+    @Operation(summary = "Obtém a situação e o progresso de um job de reprocessamento de créditos")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Job encontrado",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = RescoringJobDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Job não encontrado", content = @Content)
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<?> get(@PathVariable UUID id) {
+        var job = rescoringJobService.get(id);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(RescoringJobDTO.of(job));
+    }
+}
@@ -0,0 +1,11 @@
+package br.com.neurotech.challenge.dto;
+
+/**
+ * Representa uma barra de um histograma das estatísticas da carteira.
+ *
+ * @param key           Identificação da barra (faixa, tipo de crédito ou modelo de veículo).
+ * @param count         Quantidade de clientes.
+ * @param incomeSum     Soma das rendas dos clientes.
+ * @param incomeAverage Renda média dos clientes, ou {@code null} se não há clientes.
+ */
+public record AnalyticsBucketDTO(String key, long count, double incomeSum, Double incomeAverage) {}
@@ -0,0 +1,18 @@
+package br.com.neurotech.challenge.dto;
+
+/**
+ * Representa um grupo da agregação de clientes usada nas estatísticas da carteira: a quantidade de clientes e a
+ * soma das rendas de cada combinação de idade, faixa de renda, tipos de crédito e elegibilidade a cada modelo de
+ * veículo. Cada cliente pertence a um único grupo.
+ *
+ * @param age           Idade dos clientes do grupo.
+ * @param incomeBand    Índice da faixa de renda.
+ * @param creditTypes   Tipos de crédito dos clientes do grupo, com o bit {@code 1 << ordinal()} ligado para cada
+ *                      {@link br.com.neurotech.challenge.entity.Credit.CreditType}; zero para clientes sem crédito.
+ * @param hatchEligible Elegibilidade para HATCH, ou {@code null} se ainda não calculada.
+ * @param suvEligible   Elegibilidade para SUV, ou {@code null} se ainda não calculada.
+ * @param count         Quantidade de clientes do grupo.
+ * @param incomeSum     Soma das rendas dos clientes do grupo.
+ */
+public record AnalyticsGroupDTO(Integer age, Integer incomeBand, Integer creditTypes,
+                                Boolean hatchEligible, Boolean suvEligible, Long count, Double incomeSum) {}
@@ -0,0 +1,22 @@
+package br.com.neurotech.challenge.dto;
+
+import java.util.UUID;
+
+/**
+ * Representa o resultado do processamento de um item em uma operação em lote.
+ *
+ * @param index   Posição do item na requisição original.
+ * @param id      Identificador do cliente criado, ou {@code null} em caso de falha.
+ * @param success Indica se o item foi processado com sucesso.
+ * @param message Mensagem de erro quando o item falha, ou {@code null} em caso de sucesso.
+ */
+public record BatchItemResultDTO(int index, UUID id, boolean success, String message) {
+
+    public static BatchItemResultDTO success(int index, UUID id) {
+        return new BatchItemResultDTO(index, id, true, null);
+    }
+
+    public static BatchItemResultDTO failure(int index, String message) {
+        return new BatchItemResultDTO(index, null, false, message);
+    }
+}
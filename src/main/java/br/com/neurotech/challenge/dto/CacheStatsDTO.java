@@ -0,0 +1,13 @@
+package br.com.neurotech.challenge.dto;
+
+/**
+ * Representa as estatísticas de uso de um cache.
+ *
+ * @param name      Nome do cache.
+ * @param size      Quantidade aproximada de entradas no cache.
+ * @param hits      Quantidade de leituras atendidas pelo cache.
+ * @param misses    Quantidade de leituras que precisaram buscar o valor na origem.
+ * @param hitRate   Proporção de leituras atendidas pelo cache, entre 0 e 1.
+ * @param evictions Quantidade de entradas removidas por tamanho ou expiração.
+ */
+public record CacheStatsDTO(String name, long size, long hits, long misses, double hitRate, long evictions) {}
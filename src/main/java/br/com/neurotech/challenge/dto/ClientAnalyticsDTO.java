@@ -0,0 +1,17 @@
+package br.com.neurotech.challenge.dto;
+
+import java.util.List;
+
+/**
+ * Representa as estatísticas da carteira de clientes: totais gerais e histogramas por faixa de idade, faixa de
+ * renda, tipo de crédito e elegibilidade a cada modelo de veículo.
+ *
+ * @param total       Totais de todos os clientes.
+ * @param ageBands    Histograma por faixa de idade, em ordem crescente.
+ * @param incomeBands Histograma por faixa de renda, em ordem crescente.
+ * @param creditTypes Histograma por tipo de crédito.
+ * @param vehicles    Clientes elegíveis a cada modelo de veículo.
+ */
+public record ClientAnalyticsDTO(AnalyticsBucketDTO total, List<AnalyticsBucketDTO> ageBands,
+                                 List<AnalyticsBucketDTO> incomeBands, List<AnalyticsBucketDTO> creditTypes,
+                                 List<VehicleEligibilityDTO> vehicles) {}
@@ -0,0 +1,33 @@
+package br.com.neurotech.challenge.dto;
+
+import br.com.neurotech.challenge.entity.VehicleModel;
+
+import java.util.UUID;
+
+/**
+ * Dados de um cliente mantidos no cache de clientes. Por ser imutável e não ter relação com o contexto de
+ * persistência, pode ser compartilhado entre threads e lido fora de uma transação.
+ *
+ * @param id            Identificador único do cliente.
+ * @param name          Nome do cliente.
+ * @param age           Idade do cliente.
+ * @param income        Renda mensal do cliente.
+ * @param hatchEligible Elegibilidade ao crédito automotivo para HATCH; {@code null} enquanto não calculada.
+ * @param suvEligible   Elegibilidade ao crédito automotivo para SUV; {@code null} enquanto não calculada.
+ * @param version       Versão do cliente.
+ */
+public record ClientDetailsDTO(UUID id, String name, Integer age, Double income,
+                               Boolean hatchEligible, Boolean suvEligible, Long version) {
+
+    /**
+     * Elegibilidade já calculada para um modelo de veículo.
+     *
+     * @return {@code null} se ainda não foi calculada.
+     */
+    public Boolean eligibleFor(VehicleModel model) {
+        return switch (model) {
+            case HATCH -> hatchEligible;
+            case SUV -> suvEligible;
+        };
+    }
+}
@@ -0,0 +1,27 @@
+package br.com.neurotech.challenge.dto;
+
+import br.com.neurotech.challenge.entity.CreditJob;
+import br.com.neurotech.challenge.entity.VehicleModel;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Representa a situação e o progresso de um job de verificação de crédito.
+ *
+ * @param id           Identificador do job.
+ * @param vehicleModel Modelo de veículo avaliado.
+ * @param status       Situação do job.
+ * @param total        Quantidade de clientes do job.
+ * @param processed    Quantidade de clientes já avaliados, cujos resultados já podem ser consultados.
+ * @param createdAt    Instante em que o job foi criado.
+ * @param finishedAt   Instante em que o job terminou, ou {@code null} se ainda não terminou.
+ */
+public record CreditJobDTO(UUID id, VehicleModel vehicleModel, CreditJob.Status status, int total, int processed,
+                           Instant createdAt, Instant finishedAt) {
+
+    public static CreditJobDTO of(CreditJob job) {
+        return new CreditJobDTO(job.getId(), job.getVehicleModel(), job.getStatus(), job.getTotal(), job.getProcessed(),
+                job.getCreatedAt(), job.getFinishedAt());
+    }
+}
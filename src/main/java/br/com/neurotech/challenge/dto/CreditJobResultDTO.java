@@ -0,0 +1,13 @@
+package br.com.neurotech.challenge.dto;
+
+import java.util.UUID;
+
+/**
+ * Representa o resultado da avaliação de um cliente em um job de verificação de crédito.
+ *
+ * @param position Posição do cliente na requisição do job.
+ * @param clientId Identificador do cliente.
+ * @param eligible Indica se o cliente é elegível para o modelo de veículo do job, ou {@code null} se o
+ *                 cliente não foi encontrado.
+ */
+public record CreditJobResultDTO(int position, UUID clientId, Boolean eligible) {}
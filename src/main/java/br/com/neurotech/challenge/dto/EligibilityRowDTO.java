@@ -0,0 +1,18 @@
+package br.com.neurotech.challenge.dto;
+
+import br.com.neurotech.challenge.entity.Credit;
+
+import java.util.UUID;
+
+/**
+ * Representa uma linha do índice de elegibilidade: um crédito junto com os dados do cliente
+ * necessários para avaliar e listar clientes elegíveis.
+ *
+ * @param creditId Identificador do crédito.
+ * @param type     Tipo do crédito.
+ * @param clientId Identificador do cliente.
+ * @param name     Nome do cliente.
+ * @param age      Idade do cliente.
+ * @param income   Renda do cliente.
+ */
+public record EligibilityRowDTO(UUID creditId, Credit.CreditType type, UUID clientId, String name, Integer age, Double income) {}
@@ -0,0 +1,11 @@
+package br.com.neurotech.challenge.dto;
+
+/**
+ * Resumo de uma listagem de clientes, calculado pelo banco em uma única linha, usado para identificar a versão
+ * da listagem sem ler os clientes.
+ *
+ * @param count      Quantidade de clientes.
+ * @param maxId      Maior identificador, em texto, ou {@code null} se a listagem está vazia.
+ * @param versionSum Soma das versões dos clientes.
+ */
+public record ListVersionDTO(Long count, String maxId, Long versionSum) {}
@@ -1,5 +1,6 @@
 package br.com.neurotech.challenge.dto;
 
+import java.util.UUID;
 
 /**
  * Representa um cliente Neurotech com suas informações principais.
@@ -9,4 +10,4 @@ package br.com.neurotech.challenge.dto;
  * @param age    Idade do cliente.
  * @param income Renda mensal do cliente.
  */
-public record NeurotechClientDTO(String id, String name, Integer age, Double income) {}
\ No newline at end of file
+public record NeurotechClientDTO(UUID id, String name, Integer age, Double income) {}
\ No newline at end of file
@@ -0,0 +1,12 @@
+package br.com.neurotech.challenge.dto;
+
+import java.util.List;
+
+/**
+ * Representa uma página de resultados obtida por paginação baseada em cursor (keyset).
+ *
+ * @param items Itens da página atual.
+ * @param next  Cursor opaco para obter a próxima página, ou {@code null} quando não há mais itens.
+ * @param <T>   Tipo dos itens da página.
+ */
+public record PageDTO<T>(List<T> items, String next) {}
@@ -0,0 +1,26 @@
+package br.com.neurotech.challenge.dto;
+
+import br.com.neurotech.challenge.entity.RescoringJob;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Representa a situação e o progresso de um job de reprocessamento de créditos.
+ *
+ * @param id          Identificador do job.
+ * @param status      Situação do job.
+ * @param processed   Quantidade de clientes reprocessados até o ponto de retomada.
+ * @param updated     Quantidade de créditos com tipo ou taxa alterados.
+ * @param unqualified Quantidade de créditos mantidos porque o cliente não se qualifica mais para nenhum crédito.
+ * @param createdAt   Instante em que o job foi criado.
+ * @param finishedAt  Instante em que o job terminou, ou {@code null} se ainda não terminou.
+ */
+public record RescoringJobDTO(UUID id, RescoringJob.Status status, int processed, int updated, int unqualified,
+                              Instant createdAt, Instant finishedAt) {
+
+    public static RescoringJobDTO of(RescoringJob job) {
+        return new RescoringJobDTO(job.getId(), job.getStatus(), job.getProcessed(), job.getUpdated(),
+                job.getUnqualified(), job.getCreatedAt(), job.getFinishedAt());
+    }
+}
@@ -0,0 +1,14 @@
+package br.com.neurotech.challenge.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Representa o resultado do reprocessamento dos créditos de um bloco de clientes.
+ *
+ * @param credits        Quantidade de créditos reprocessados.
+ * @param updatedClients Clientes que tiveram o tipo ou a taxa de algum crédito alterados.
+ * @param updated        Quantidade de créditos alterados.
+ * @param unqualified    Quantidade de créditos mantidos porque o cliente não se qualifica mais para nenhum crédito.
+ */
+public record RescoringResultDTO(int credits, List<UUID> updatedClients, int updated, int unqualified) {}
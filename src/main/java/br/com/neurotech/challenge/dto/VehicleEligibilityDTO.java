@@ -0,0 +1,15 @@
+package br.com.neurotech.challenge.dto;
+
+import br.com.neurotech.challenge.entity.VehicleModel;
+
+import java.util.List;
+
+/**
+ * Representa os clientes elegíveis ao crédito automotivo de um modelo de veículo nas estatísticas da carteira.
+ *
+ * @param vehicleModel Modelo de veículo.
+ * @param eligible     Totais dos clientes elegíveis ao modelo.
+ * @param creditTypes  Totais dos clientes elegíveis ao modelo por tipo de crédito.
+ */
+public record VehicleEligibilityDTO(VehicleModel vehicleModel, AnalyticsBucketDTO eligible,
+                                    List<AnalyticsBucketDTO> creditTypes) {}
@@ -0,0 +1,11 @@
+package br.com.neurotech.challenge.dto;
+
+/**
+ * Conteúdo de uma resposta acompanhado do identificador da sua versão, usado como {@code ETag}.
+ *
+ * @param version Identificador da versão, em hexadecimal; uma versão que não identifica o conteúdo byte a byte
+ *                vem como {@code ETag} fraco ({@code W/"..."}).
+ * @param body    Conteúdo, ou {@code null} quando não foi lido porque o cliente da API já conhece a versão.
+ * @param <T>     Tipo do conteúdo.
+ */
+public record VersionedDTO<T>(String version, T body) {}
@@ -2,6 +2,7 @@ package br.com.neurotech.challenge.entity;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.UUID;
 
@@ -10,9 +11,12 @@ import java.util.UUID;
  * Representa uma entidade de empréstimo no sistema. 
  * Esta classe utiliza o padrão de herança SINGLE_TABLE para gerenciar diferentes tipos de empréstimos em uma única tabela.
  * Inclui informações como cliente, valor do empréstimo, quantidade de parcelas, renda do cliente e status do empréstimo.
+ * <p>
+ * O índice {@code (type, client_id)} permite verificar se um cliente possui crédito de um tipo sem ler a tabela.
  */
 @Data
 @Entity
+@Table(indexes = @Index(name = "idx_credit_type_client", columnList = "type, client_id"))
 public class Credit {
 
     public static final double HATCH_INCOME_MIN = 5000.0;
@@ -28,7 +32,7 @@ public class Credit {
      * Identificador do empréstimo
      */
     @Id
-    private String id;
+    private UUID id;
     /**
      * Cliente que está solicitando o empréstimo
      */
@@ -45,9 +49,17 @@ public class Credit {
     @Enumerated(EnumType.STRING)
     private CreditType type;
 
+    /**
+     * Versão do crédito, incrementada a cada alteração (controle de concorrência otimista)
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @PrePersist
     public void generateId() {
-        this.id = UUID.randomUUID().toString();
+        this.id = TimeOrderedUuid.next();
     }
 
     public enum CreditType {
@@ -0,0 +1,80 @@
+package br.com.neurotech.challenge.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Representa um job assíncrono de verificação de crédito de vários clientes para um modelo de veículo.
+ * <p>
+ * Os clientes do job ficam em {@link CreditJobItem}, numerados a partir de zero. {@code processed} é o ponto
+ * de retomada: os itens com posição menor já foram avaliados, e o resultado de cada bloco é gravado na
+ * mesma transação que o atualiza, de modo que um job interrompido continua do último bloco concluído.
+ * <p>
+ * Cada job ativo pertence à instância da aplicação indicada em {@code owner}, que renova periodicamente o
+ * {@code leaseExpiresAt}. Outra instância só assume o job depois que esse prazo expira.
+ */
+@Data
+@Entity
+public class CreditJob {
+    /**
+     * Identificador do job
+     */
+    @Id
+    private UUID id;
+    /**
+     * Modelo de veículo avaliado
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private VehicleModel vehicleModel;
+    /**
+     * Situação do job
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status;
+    /**
+     * Quantidade de clientes do job
+     */
+    @Column(nullable = false)
+    private Integer total;
+    /**
+     * Quantidade de clientes já avaliados
+     */
+    @Column(nullable = false)
+    private Integer processed;
+    /**
+     * Instante em que o job foi criado
+     */
+    @Column(nullable = false)
+    private Instant createdAt;
+    /**
+     * Instante em que o job terminou, com sucesso ou falha
+     */
+    private Instant finishedAt;
+    /**
+     * Instância da aplicação responsável pelo job
+     */
+    @Column(length = 64)
+    private String owner;
+    /**
+     * Instante até o qual o job permanece com a instância responsável, se ela não renovar o prazo
+     */
+    private Instant leaseExpiresAt;
+
+    @PrePersist
+    public void generateId() {
+        this.id = TimeOrderedUuid.next();
+    }
+
+    public enum Status {
+        STAGING,    // Gravando os clientes do job
+        QUEUED,     // Aguardando um worker
+        RUNNING,    // Em execução
+        COMPLETED,  // Todos os clientes avaliados
+        FAILED      // Interrompido por erro
+    }
+}
@@ -0,0 +1,64 @@
+package br.com.neurotech.challenge.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * Representa um cliente de um {@link CreditJob} e o resultado da sua avaliação.
+ * <p>
+ * A chave primária {@code (job_id, item_position)} mantém os itens de um job contíguos e ordenados, e atende
+ * tanto a leitura de cada bloco pelo worker quanto a paginação dos resultados.
+ */
+@Data
+@Entity
+public class CreditJobItem implements Persistable<CreditJobItem.Key> {
+    /**
+     * Job e posição do cliente na requisição
+     */
+    @EmbeddedId
+    private Key id;
+    /**
+     * Cliente a ser avaliado
+     */
+    @Column(nullable = false)
+    private UUID clientId;
+    /**
+     * Resultado da avaliação; {@code null} enquanto o item não foi avaliado ou quando o cliente não existe
+     */
+    private Boolean eligible;
+
+    @Transient
+    private boolean persisted;
+
+    /**
+     * A chave é atribuída pela aplicação, portanto um item novo é reconhecido por ainda não ter sido gravado
+     * nem carregado, e a gravação é um único {@code INSERT}, sem consulta prévia.
+     */
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.persisted = true;
+    }
+
+    @Data
+    @Embeddable
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        @Column(name = "job_id")
+        private UUID jobId;
+        @Column(name = "item_position")
+        private Integer position;
+    }
+}
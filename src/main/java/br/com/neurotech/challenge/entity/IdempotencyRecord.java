@@ -0,0 +1,81 @@
+package br.com.neurotech.challenge.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+/**
+ * Resposta registrada para uma requisição enviada com o cabeçalho {@code Idempotency-Key}. Repetições da
+ * requisição com a mesma chave recebem esta resposta, sem que a operação seja executada novamente.
+ * <p>
+ * A chave é reservada com um registro {@link State#PENDING} antes da execução da operação e concluída depois
+ * dela. A reserva é um único {@code INSERT}, sem consulta prévia, por isso os registros são sempre tratados
+ * como novos; a conclusão e a liberação da reserva são feitas por consultas do repositório.
+ */
+@Data
+@Entity
+@Table(indexes = @Index(name = "idx_idempotency_record_created_at", columnList = "created_at"))
+public class IdempotencyRecord implements Persistable<String> {
+
+    /**
+     * Tamanho máximo do corpo de resposta registrado.
+     */
+    public static final int MAX_BODY_LENGTH = 8192;
+
+    /**
+     * Situação do registro.
+     */
+    public enum State {
+        /**
+         * Chave reservada; a operação está em execução nesta ou em outra instância.
+         */
+        PENDING,
+        /**
+         * Operação concluída; a resposta está registrada.
+         */
+        COMPLETED
+    }
+
+    /**
+     * Chave de idempotência informada pelo cliente da API
+     */
+    @Id
+    private String id;
+    /**
+     * Hash SHA-256 da operação e do corpo da requisição original
+     */
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+    /**
+     * Situação do registro
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private State state;
+    /**
+     * Status HTTP da resposta; ausente enquanto a chave está reservada
+     */
+    private Integer status;
+    /**
+     * Cabeçalho {@code Location} da resposta, quando presente
+     */
+    @Column(length = 2048)
+    private String location;
+    /**
+     * Corpo da resposta em JSON, quando presente
+     */
+    @Column(length = MAX_BODY_LENGTH)
+    private String body;
+    /**
+     * Instante em que a chave foi reservada
+     */
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
@@ -1,9 +1,9 @@
 package br.com.neurotech.challenge.entity;
 
-import ch.qos.logback.core.net.server.Client;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -11,15 +11,29 @@ import java.util.UUID;
 
 /**
  * Representa um cliente da Neurotech
+ * <p>
+ * O índice {@code (income, age)} atende às consultas por faixa de renda e idade. A elegibilidade a cada modelo
+ * de veículo depende apenas da idade e da renda, portanto é calculada na gravação e mantida em uma coluna por
+ * modelo pelo {@code ClientEligibilityListener}, registrado em {@code META-INF/orm.xml} para que a entidade não
+ * dependa do motor de regras; as listagens de clientes elegíveis filtram por essa coluna e pela idade, com um
+ * índice por modelo.
+ * <p>
+ * A versão é incrementada a cada alteração do cliente e identifica a sua representação nas respostas
+ * condicionais ({@code ETag}).
  */
 @Data
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_neurotech_client_income_age", columnList = "income, age"),
+        @Index(name = "idx_neurotech_client_hatch_eligible_age", columnList = "hatch_eligible, age"),
+        @Index(name = "idx_neurotech_client_suv_eligible_age", columnList = "suv_eligible, age")
+})
 public class NeurotechClient {
     /**
      * Identificação unica de um cliente
      */
     @Id
-    private String id;
+    private UUID id;
     /**
      * Nome do cliente
      */
@@ -35,12 +49,39 @@ public class NeurotechClient {
      */
     @Column(nullable = false)
     private Double income;
+    /**
+     * Elegibilidade ao crédito automotivo para HATCH; {@code null} enquanto não calculada
+     */
+    private Boolean hatchEligible;
+    /**
+     * Elegibilidade ao crédito automotivo para SUV; {@code null} enquanto não calculada
+     */
+    private Boolean suvEligible;
+    /**
+     * Versão do cliente, incrementada a cada alteração (controle de concorrência otimista)
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 
     @OneToMany(mappedBy = "client", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Credit> credits = new ArrayList<>();
 
+    /**
+     * Elegibilidade já calculada para um modelo de veículo.
+     *
+     * @return {@code null} se ainda não foi calculada.
+     */
+    public Boolean eligibleFor(VehicleModel model) {
+        return switch (model) {
+            case HATCH -> hatchEligible;
+            case SUV -> suvEligible;
+        };
+    }
+
     @PrePersist
     public void generateId() {
-        this.id = UUID.randomUUID().toString();
+        this.id = TimeOrderedUuid.next();
     }
 }
\ No newline at end of file
@@ -0,0 +1,90 @@
+package br.com.neurotech.challenge.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Representa um job de reprocessamento dos créditos de todos os clientes: o tipo e a taxa de juros de cada
+ * crédito são recalculados com as regras de crédito vigentes.
+ * <p>
+ * Os clientes são percorridos em blocos, em ordem de identificador. {@code checkpoint} é o ponto de retomada:
+ * os créditos de todos os clientes com identificador até ele já foram reprocessados. Os blocos seguintes podem
+ * já ter sido gravados quando o job é interrompido; reprocessá-los novamente não altera nada, mas as alterações
+ * feitas por eles antes da interrupção não entram em {@code updated}.
+ * <p>
+ * Como em {@link CreditJob}, o job pertence à instância indicada em {@code owner} enquanto ela renovar o
+ * {@code leaseExpiresAt}. {@code active} é {@code true} até o job terminar e {@code null} depois; a restrição de
+ * unicidade sobre ele garante, no banco, um único job em andamento entre todas as instâncias.
+ */
+@Data
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_rescoring_job_active", columnNames = "active"))
+public class RescoringJob {
+    /**
+     * Identificador do job
+     */
+    @Id
+    private UUID id;
+    /**
+     * Situação do job
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status;
+    /**
+     * Identificador do último cliente reprocessado, sem lacunas; {@code null} antes do primeiro bloco
+     */
+    private UUID checkpoint;
+    /**
+     * Quantidade de clientes reprocessados até o {@code checkpoint}
+     */
+    @Column(nullable = false)
+    private Integer processed;
+    /**
+     * Quantidade de créditos com tipo ou taxa alterados
+     */
+    @Column(nullable = false)
+    private Integer updated;
+    /**
+     * Quantidade de créditos mantidos porque o cliente não se qualifica mais para nenhum crédito
+     */
+    @Column(nullable = false)
+    private Integer unqualified;
+    /**
+     * Instante em que o job foi criado
+     */
+    @Column(nullable = false)
+    private Instant createdAt;
+    /**
+     * Instante em que o job terminou, com sucesso ou falha
+     */
+    private Instant finishedAt;
+    /**
+     * {@code true} enquanto o job não termina; {@code null} depois
+     */
+    private Boolean active;
+    /**
+     * Instância da aplicação responsável pelo job
+     */
+    @Column(length = 64)
+    private String owner;
+    /**
+     * Instante até o qual o job permanece com a instância responsável, se ela não renovar o prazo
+     */
+    private Instant leaseExpiresAt;
+
+    @PrePersist
+    public void generateId() {
+        this.id = TimeOrderedUuid.next();
+    }
+
+    public enum Status {
+        QUEUED,     // Aguardando o início
+        RUNNING,    // Em execução
+        COMPLETED,  // Todos os clientes reprocessados
+        FAILED      // Interrompido por erro
+    }
+}
@@ -0,0 +1,38 @@
+package br.com.neurotech.challenge.entity;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gera identificadores UUID versão 7 (RFC 9562): os 48 bits mais significativos são o instante em
+ * milissegundos, seguidos de um contador de 12 bits e de 62 bits aleatórios.
+ * <p>
+ * Identificadores gerados depois são sempre maiores, inclusive dentro do mesmo milissegundo, de modo que as
+ * inserções ocorrem no final dos índices de chave primária e estrangeira, em vez de espalhadas por toda a
+ * árvore como acontece com {@link UUID#randomUUID()}. A ordem é a mesma na comparação de bytes feita pelo
+ * banco, no texto e em {@link UUID#compareTo(UUID)}.
+ */
+public final class TimeOrderedUuid {
+
+    /**
+     * Último instante utilizado, em milissegundos, deslocado 12 bits e somado ao contador.
+     */
+    private static final AtomicLong LAST = new AtomicLong();
+
+    private TimeOrderedUuid() {
+    }
+
+    /**
+     * Gera um novo identificador, maior que todos os gerados anteriormente nesta JVM. Se mais de 4096
+     * identificadores forem gerados no mesmo milissegundo, o contador avança para o milissegundo seguinte.
+     */
+    public static UUID next() {
+        long now = System.currentTimeMillis() << 12;
+        long stamp = LAST.updateAndGet(last -> Math.max(last + 1, now));
+
+        long mostSignificant = (stamp >>> 12) << 16 | 0x7000L | (stamp & 0xFFFL);
+        long leastSignificant = ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(mostSignificant, leastSignificant);
+    }
+}
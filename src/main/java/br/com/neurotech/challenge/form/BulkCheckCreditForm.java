@@ -0,0 +1,32 @@
+package br.com.neurotech.challenge.form;
+
+import br.com.neurotech.challenge.entity.VehicleModel;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Classe de formulário utilizada na verificação de crédito de veículo para vários clientes de uma só vez.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkCheckCreditForm {
+    /**
+     * Identificadores dos clientes que serão avaliados.
+     * É obrigatório informar ao menos um e no máximo 10.000 identificadores.
+     */
+    @NotEmpty(message = "Informe ao menos um cliente")
+    @Size(max = 10000, message = "Informe no máximo 10000 clientes por requisição")
+    private List<UUID> clientIds;
+    /**
+     * Modelos de veículo que serão avaliados.
+     * Quando não informado, todos os modelos são avaliados.
+     */
+    private List<VehicleModel> vehicleModels;
+}
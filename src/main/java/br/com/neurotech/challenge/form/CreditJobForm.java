@@ -0,0 +1,33 @@
+package br.com.neurotech.challenge.form;
+
+import br.com.neurotech.challenge.entity.VehicleModel;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Classe de formulário utilizada na criação de um job assíncrono de verificação de crédito.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CreditJobForm {
+    /**
+     * Identificadores dos clientes que serão avaliados.
+     * É obrigatório informar ao menos um e no máximo 100.000 identificadores.
+     */
+    @NotEmpty(message = "Informe ao menos um cliente")
+    @Size(max = 100000, message = "Informe no máximo 100000 clientes por job")
+    private List<UUID> clientIds;
+    /**
+     * Modelo de veículo que será avaliado.
+     */
+    @NotNull(message = "O modelo do veículo é obrigatório")
+    private VehicleModel vehicleModel;
+}
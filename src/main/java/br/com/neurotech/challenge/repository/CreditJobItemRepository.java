@@ -0,0 +1,46 @@
+package br.com.neurotech.challenge.repository;
+
+import br.com.neurotech.challenge.dto.CreditJobResultDTO;
+import br.com.neurotech.challenge.entity.CreditJobItem;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repositório dos clientes de cada job assíncrono de verificação de crédito.
+ */
+public interface CreditJobItemRepository extends JpaRepository<CreditJobItem, CreditJobItem.Key> {
+
+    /**
+     * Busca, pela chave primária, os itens de um job com posição no intervalo {@code [from, to)}.
+     *
+     * @param jobId Identificador do job.
+     * @param from  Primeira posição, inclusiva.
+     * @param to    Última posição, exclusiva.
+     * @return Itens do intervalo, ordenados pela posição.
+     */
+    @Query("SELECT i FROM CreditJobItem i " +
+            "WHERE i.id.jobId = :jobId AND i.id.position >= :from AND i.id.position < :to " +
+            "ORDER BY i.id.position")
+    List<CreditJobItem> findRange(@Param("jobId") UUID jobId, @Param("from") int from, @Param("to") int to);
+
+    /**
+     * Busca uma página de resultados já avaliados de um job usando paginação por keyset: retorna os itens
+     * com posição maior que {@code after}, ordenados pela posição, projetados diretamente em DTO.
+     *
+     * @param jobId Identificador do job.
+     * @param after Posição do último item da página anterior.
+     * @param limit Quantidade máxima de itens retornados.
+     * @return Página de resultados.
+     */
+    @Query("SELECT new br.com.neurotech.challenge.dto.CreditJobResultDTO(i.id.position, i.clientId, i.eligible) " +
+            "FROM CreditJobItem i " +
+            "WHERE i.id.jobId = :jobId AND i.id.position > :after " +
+            "AND i.id.position < (SELECT job.processed FROM CreditJob job WHERE job.id = :jobId) " +
+            "ORDER BY i.id.position")
+    List<CreditJobResultDTO> findResults(@Param("jobId") UUID jobId, @Param("after") int after, Limit limit);
+}
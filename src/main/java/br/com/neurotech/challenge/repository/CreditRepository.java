@@ -1,7 +1,18 @@
 package br.com.neurotech.challenge.repository;
 
+import br.com.neurotech.challenge.dto.EligibilityRowDTO;
 import br.com.neurotech.challenge.entity.Credit;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.UUID;
 
 /**
  * Interface de repositório para a entidade Credit.
@@ -10,5 +21,27 @@ import org.springframework.data.jpa.repository.JpaRepository;
  * Estende JpaRepository para herdar métodos prontos como salvar, deletar e buscar dados.
  *
  */
-public interface CreditRepository extends JpaRepository<Credit, String> {
+public interface CreditRepository extends JpaRepository<Credit, UUID> {
+
+    /**
+     * Percorre todos os créditos junto com os dados dos respectivos clientes, já projetados como DTO,
+     * com um cursor somente-avanço. Utilizado para construir o índice de elegibilidade em memória.
+     * <p>
+     * Deve ser consumido dentro de uma transação e o {@link Stream} retornado precisa ser fechado.
+     *
+     * @return Stream com uma linha por crédito.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new br.com.neurotech.challenge.dto.EligibilityRowDTO(credit.id, credit.type, c.id, c.name, c.age, c.income) " +
+            "FROM Credit credit JOIN credit.client c")
+    Stream<EligibilityRowDTO> streamEligibilityRows();
+
+    /**
+     * Busca os créditos de um grupo de clientes, com os clientes carregados na mesma consulta.
+     *
+     * @param clientIds Identificadores dos clientes.
+     * @return Créditos dos clientes.
+     */
+    @Query("SELECT credit FROM Credit credit JOIN FETCH credit.client c WHERE c.id IN :clientIds")
+    List<Credit> findByClientIds(@Param("clientIds") Collection<UUID> clientIds);
 }
@@ -0,0 +1,70 @@
+package br.com.neurotech.challenge.repository;
+
+import br.com.neurotech.challenge.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * Repositório das respostas registradas para as chaves de idempotência.
+ */
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    /**
+     * Remove, com um único {@code DELETE}, os registros anteriores ao instante informado.
+     *
+     * @param before Instante limite; registros criados antes dele são removidos.
+     * @return Quantidade de registros removidos.
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.createdAt < :before")
+    int deleteCreatedBefore(@Param("before") Instant before);
+
+    /**
+     * Reserva a chave sobre o seu registro expirado, ainda não expurgado, em um único {@code UPDATE}.
+     *
+     * @param id          Chave de idempotência.
+     * @param fingerprint Hash da nova requisição.
+     * @param createdAt   Instante da nova reserva.
+     * @param before      Instante limite de validade; apenas um registro criado antes dele é substituído.
+     * @return Quantidade de registros atualizados: 0 se a chave não existe ou ainda é válida.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.fingerprint = :fingerprint, r.state = 'PENDING', r.status = NULL, "
+            + "r.location = NULL, r.body = NULL, r.createdAt = :createdAt WHERE r.id = :id AND r.createdAt < :before")
+    int claimExpired(@Param("id") String id, @Param("fingerprint") String fingerprint,
+                     @Param("createdAt") Instant createdAt, @Param("before") Instant before);
+
+    /**
+     * Conclui a reserva da chave com a resposta da operação.
+     *
+     * @param id       Chave de idempotência.
+     * @param status   Status HTTP da resposta.
+     * @param location Cabeçalho {@code Location} da resposta, ou {@code null}.
+     * @param body     Corpo da resposta em JSON, ou vazio.
+     * @return Quantidade de registros atualizados: 0 se a chave não estava reservada.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.state = 'COMPLETED', r.status = :status, r.location = :location, "
+            + "r.body = :body WHERE r.id = :id AND r.state = 'PENDING'")
+    int complete(@Param("id") String id, @Param("status") int status,
+                 @Param("location") String location, @Param("body") String body);
+
+    /**
+     * Libera a reserva da chave, para que a requisição possa ser repetida.
+     *
+     * @param id Chave de idempotência.
+     * @return Quantidade de registros removidos.
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.id = :id AND r.state = 'PENDING'")
+    int release(@Param("id") String id);
+}
@@ -0,0 +1,22 @@
+package br.com.neurotech.challenge.repository;
+
+import br.com.neurotech.challenge.dto.AnalyticsGroupDTO;
+
+import java.util.List;
+
+/**
+ * Consultas de {@link NeurotechClientRepository} montadas a partir das regras de crédito vigentes.
+ */
+public interface NeurotechClientAnalyticsRepository {
+
+    /**
+     * Agrega todos os clientes, em uma única varredura, por idade, faixa de renda, tipos de crédito e
+     * elegibilidade a cada modelo de veículo, com a quantidade e a soma das rendas de cada combinação. Cada
+     * cliente é contado uma única vez, mesmo com mais de um crédito. O resultado tem no máximo alguns milhares de
+     * linhas, independentemente da quantidade de clientes.
+     *
+     * @param incomeLimits Rendas em que começam as faixas de renda, exceto a primeira, em ordem crescente.
+     * @return Grupos de clientes com quantidade e soma das rendas.
+     */
+    List<AnalyticsGroupDTO> aggregateAnalytics(double[] incomeLimits);
+}
@@ -0,0 +1,59 @@
+package br.com.neurotech.challenge.repository;
+
+import br.com.neurotech.challenge.dto.AnalyticsGroupDTO;
+import br.com.neurotech.challenge.entity.Credit;
+import jakarta.persistence.EntityManager;
+
+import java.util.List;
+
+/**
+ * Implementação de {@link NeurotechClientAnalyticsRepository}, incorporada por Spring Data a
+ * {@link NeurotechClientRepository}.
+ * <p>
+ * A quantidade de faixas de renda depende das regras, por isso a consulta é montada a cada chamada. A faixa é
+ * calculada com parâmetros em uma subconsulta no {@code FROM}, e a consulta externa agrupa pelas colunas da
+ * subconsulta: os parâmetros aparecem uma única vez, pois parâmetros repetidos no {@code SELECT} e no
+ * {@code GROUP BY} seriam expressões diferentes para o PostgreSQL.
+ */
+public class NeurotechClientAnalyticsRepositoryImpl implements NeurotechClientAnalyticsRepository {
+
+    private final EntityManager entityManager;
+
+    public NeurotechClientAnalyticsRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<AnalyticsGroupDTO> aggregateAnalytics(double[] incomeLimits) {
+        // índice da faixa de renda: a quantidade de limites atingidos
+        var incomeBand = new StringBuilder();
+        for (int i = incomeLimits.length - 1; i >= 0; i--) {
+            incomeBand.append(" WHEN c.income >= :income").append(i).append(" THEN ").append(i + 1);
+        }
+        var incomeBandExpression = incomeLimits.length == 0 ? "0" : "CASE" + incomeBand + " ELSE 0 END";
+
+        // um bit por tipo de crédito do cliente
+        var creditTypes = new StringBuilder();
+        for (var type : Credit.CreditType.values()) {
+            creditTypes.append(creditTypes.isEmpty() ? "" : " + ")
+                    .append("CASE WHEN EXISTS (SELECT 1 FROM Credit credit WHERE credit.client = c AND credit.type = :")
+                    .append(type.name()).append(") THEN ").append(1 << type.ordinal()).append(" ELSE 0 END");
+        }
+
+        var query = entityManager.createQuery(
+                "SELECT new br.com.neurotech.challenge.dto.AnalyticsGroupDTO(g.age, g.incomeBand, g.creditTypes, " +
+                        "g.hatchEligible, g.suvEligible, COUNT(*), SUM(g.income)) " +
+                        "FROM (SELECT c.age AS age, " + incomeBandExpression + " AS incomeBand, " +
+                        creditTypes + " AS creditTypes, c.hatchEligible AS hatchEligible, " +
+                        "c.suvEligible AS suvEligible, c.income AS income FROM NeurotechClient c) g " +
+                        "GROUP BY g.age, g.incomeBand, g.creditTypes, g.hatchEligible, g.suvEligible",
+                AnalyticsGroupDTO.class);
+        for (int i = 0; i < incomeLimits.length; i++) {
+            query.setParameter("income" + i, incomeLimits[i]);
+        }
+        for (var type : Credit.CreditType.values()) {
+            query.setParameter(type.name(), type);
+        }
+        return query.getResultList();
+    }
+}
@@ -1,24 +1,43 @@
 package br.com.neurotech.challenge.repository;
 
+import br.com.neurotech.challenge.dto.ClientDetailsDTO;
+import br.com.neurotech.challenge.dto.EligibleClientDTO;
+import br.com.neurotech.challenge.dto.ListVersionDTO;
+import br.com.neurotech.challenge.dto.NeurotechClientDTO;
 import br.com.neurotech.challenge.entity.Credit;
 import br.com.neurotech.challenge.entity.NeurotechClient;
+import br.com.neurotech.challenge.entity.VehicleModel;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.UUID;
 
 
 @Repository
 /**
  * Repositório responsável por gerenciar interações com a entidade NeurotechClient no banco de dados.
  */
-public interface NeurotechClientRepository extends JpaRepository<NeurotechClient, String> {
-
+public interface NeurotechClientRepository extends JpaRepository<NeurotechClient, UUID>,
+        NeurotechClientAnalyticsRepository {
 
     /**
      * Busca clientes elegíveis com base em intervalos de renda, idade e tipo de crédito.
+     * <p>
+     * Apenas o nome e a renda são lidos, projetados diretamente em DTO; nenhuma entidade é carregada no
+     * contexto de persistência. A existência do crédito é verificada com {@code EXISTS}, de modo que um
+     * cliente com vários créditos do mesmo tipo aparece uma única vez.
      *
      * @param minIncome Renda mínima para a busca.
      * @param maxIncome Renda máxima para a busca.
@@ -27,15 +46,274 @@ public interface NeurotechClientRepository extends JpaRepository<NeurotechClient
      * @param creditType Tipo de crédito associado.
      * @return Lista de clientes elegíveis que atendem aos critérios especificados.
      */
-    @Query("SELECT c FROM NeurotechClient c " +
-            "JOIN c.credits credit " +
+    @Query("SELECT new br.com.neurotech.challenge.dto.EligibleClientDTO(c.name, c.income) " +
+            "FROM NeurotechClient c " +
             "WHERE c.income BETWEEN :minIncome AND :maxIncome " +
             "AND c.age BETWEEN :minAge AND :maxAge " +
-            "AND credit.type = :creditType")
-    List<NeurotechClient> findEligibleClients(@Param("minIncome") Double minIncome,
-                                     @Param("maxIncome") Double maxIncome,
-                                     @Param("minAge") Integer minAge,
-                                     @Param("maxAge") Integer maxAge,
-                                     @Param("creditType") Credit.CreditType creditType);
+            "AND EXISTS (SELECT 1 FROM Credit credit WHERE credit.client = c AND credit.type = :creditType)")
+    List<EligibleClientDTO> findEligibleClients(@Param("minIncome") Double minIncome,
+                                                @Param("maxIncome") Double maxIncome,
+                                                @Param("minAge") Integer minAge,
+                                                @Param("maxAge") Integer maxAge,
+                                                @Param("creditType") Credit.CreditType creditType);
+
+    /**
+     * Busca uma página de clientes elegíveis usando paginação por keyset: retorna os clientes com
+     * identificador maior que {@code after}, ordenados pelo identificador, sem uso de OFFSET.
+     * Os clientes são projetados diretamente em DTO, com o identificador necessário para o cursor.
+     *
+     * @param minIncome Renda mínima para a busca.
+     * @param maxIncome Renda máxima para a busca.
+     * @param minAge Idade mínima para a busca.
+     * @param maxAge Idade máxima para a busca.
+     * @param creditType Tipo de crédito associado.
+     * @param after Identificador do último cliente da página anterior.
+     * @param limit Quantidade máxima de clientes retornados.
+     * @return Página de clientes elegíveis ordenada pelo identificador.
+     */
+    @Query("SELECT new br.com.neurotech.challenge.dto.NeurotechClientDTO(c.id, c.name, c.age, c.income) " +
+            "FROM NeurotechClient c " +
+            "WHERE c.income BETWEEN :minIncome AND :maxIncome " +
+            "AND c.age BETWEEN :minAge AND :maxAge " +
+            "AND EXISTS (SELECT 1 FROM Credit credit WHERE credit.client = c AND credit.type = :creditType) " +
+            "AND c.id > :after " +
+            "ORDER BY c.id")
+    List<NeurotechClientDTO> findEligibleClientsAfter(@Param("minIncome") Double minIncome,
+                                                      @Param("maxIncome") Double maxIncome,
+                                                      @Param("minAge") Integer minAge,
+                                                      @Param("maxAge") Integer maxAge,
+                                                      @Param("creditType") Credit.CreditType creditType,
+                                                      @Param("after") UUID after,
+                                                      Limit limit);
+
+    /**
+     * Busca os clientes elegíveis a um modelo de veículo pela coluna de elegibilidade pré-calculada, na
+     * faixa de idade informada e com um crédito do tipo informado. As faixas de renda e idade do modelo já
+     * estão refletidas na coluna, portanto a consulta é uma varredura do índice {@code (<modelo>_eligible, age)}.
+     *
+     * @param model Modelo de veículo.
+     * @param minAge Idade mínima para a busca.
+     * @param maxAge Idade máxima para a busca.
+     * @param creditType Tipo de crédito associado.
+     * @return Lista de clientes elegíveis que atendem aos critérios especificados.
+     */
+    default List<EligibleClientDTO> findEligibleClients(VehicleModel model, Integer minAge, Integer maxAge,
+                                                        Credit.CreditType creditType) {
+        return switch (model) {
+            case HATCH -> findEligibleHatchClients(minAge, maxAge, creditType);
+            case SUV -> findEligibleSuvClients(minAge, maxAge, creditType);
+        };
+    }
+
+    /**
+     * Busca uma página de clientes elegíveis a um modelo de veículo pela coluna de elegibilidade
+     * pré-calculada, usando paginação por keyset sobre o identificador.
+     *
+     * @param model Modelo de veículo.
+     * @param minAge Idade mínima para a busca.
+     * @param maxAge Idade máxima para a busca.
+     * @param creditType Tipo de crédito associado.
+     * @param after Identificador do último cliente da página anterior.
+     * @param limit Quantidade máxima de clientes retornados.
+     * @return Página de clientes elegíveis ordenada pelo identificador.
+     */
+    default List<NeurotechClientDTO> findEligibleClientsAfter(VehicleModel model, Integer minAge, Integer maxAge,
+                                                              Credit.CreditType creditType, UUID after, Limit limit) {
+        return switch (model) {
+            case HATCH -> findEligibleHatchClientsAfter(minAge, maxAge, creditType, after, limit);
+            case SUV -> findEligibleSuvClientsAfter(minAge, maxAge, creditType, after, limit);
+        };
+    }
+
+    @Query("SELECT new br.com.neurotech.challenge.dto.EligibleClientDTO(c.name, c.income) " +
+            "FROM NeurotechClient c " +
+            "WHERE c.hatchEligible = true " +
+            "AND c.age BETWEEN :minAge AND :maxAge " +
+            "AND EXISTS (SELECT 1 FROM Credit credit WHERE credit.client = c AND credit.type = :creditType)")
+    List<EligibleClientDTO> findEligibleHatchClients(@Param("minAge") Integer minAge,
+                                                     @Param("maxAge") Integer maxAge,
+                                                     @Param("creditType") Credit.CreditType creditType);
+
+    @Query("SELECT new br.com.neurotech.challenge.dto.EligibleClientDTO(c.name, c.income) " +
+            "FROM NeurotechClient c " +
+            "WHERE c.suvEligible = true " +
+            "AND c.age BETWEEN :minAge AND :maxAge " +
+            "AND EXISTS (SELECT 1 FROM Credit credit WHERE credit.client = c AND credit.type = :creditType)")
+    List<EligibleClientDTO> findEligibleSuvClients(@Param("minAge") Integer minAge,
+                                                   @Param("maxAge") Integer maxAge,
+                                                   @Param("creditType") Credit.CreditType creditType);
+
+    @Query("SELECT new br.com.neurotech.challenge.dto.NeurotechClientDTO(c.id, c.name, c.age, c.income) " +
+            "FROM NeurotechClient c " +
+            "WHERE c.hatchEligible = true " +
+            "AND c.age BETWEEN :minAge AND :maxAge " +
+            "AND EXISTS (SELECT 1 FROM Credit credit WHERE credit.client = c AND credit.type = :creditType) " +
+            "AND c.id > :after " +
+            "ORDER BY c.id")
+    List<NeurotechClientDTO> findEligibleHatchClientsAfter(@Param("minAge") Integer minAge,
+                                                           @Param("maxAge") Integer maxAge,
+                                                           @Param("creditType") Credit.CreditType creditType,
+                                                           @Param("after") UUID after,
+                                                           Limit limit);
+
+    @Query("SELECT new br.com.neurotech.challenge.dto.NeurotechClientDTO(c.id, c.name, c.age, c.income) " +
+            "FROM NeurotechClient c " +
+            "WHERE c.suvEligible = true " +
+            "AND c.age BETWEEN :minAge AND :maxAge " +
+            "AND EXISTS (SELECT 1 FROM Credit credit WHERE credit.client = c AND credit.type = :creditType) " +
+            "AND c.id > :after " +
+            "ORDER BY c.id")
+    List<NeurotechClientDTO> findEligibleSuvClientsAfter(@Param("minAge") Integer minAge,
+                                                         @Param("maxAge") Integer maxAge,
+                                                         @Param("creditType") Credit.CreditType creditType,
+                                                         @Param("after") UUID after,
+                                                         Limit limit);
+
+    /**
+     * Resume, em uma única linha, a lista retornada por
+     * {@link #findEligibleClients(VehicleModel, Integer, Integer, Credit.CreditType)}: a quantidade de
+     * clientes, o maior identificador e a soma das versões. Como cada alteração de um cliente incrementa a sua
+     * versão, o resumo muda, em regra, quando um cliente entra, sai ou é alterado na lista, sem que os clientes
+     * sejam lidos; alterações que se compensam (um cliente sai e outro, com a mesma versão e identificador
+     * menor, entra) podem não alterá-lo.
+     *
+     * @param model Modelo de veículo.
+     * @param minAge Idade mínima para a busca.
+     * @param maxAge Idade máxima para a busca.
+     * @param creditType Tipo de crédito associado.
+     * @return Resumo da lista de clientes elegíveis.
+     */
+    default ListVersionDTO findEligibleListVersion(VehicleModel model, Integer minAge, Integer maxAge,
+                                                   Credit.CreditType creditType) {
+        return switch (model) {
+            case HATCH -> findEligibleHatchListVersion(minAge, maxAge, creditType);
+            case SUV -> findEligibleSuvListVersion(minAge, maxAge, creditType);
+        };
+    }
+
+    @Query("SELECT new br.com.neurotech.challenge.dto.ListVersionDTO(COUNT(c), MAX(CAST(c.id AS String)), " +
+            "COALESCE(SUM(c.version), 0)) " +
+            "FROM NeurotechClient c " +
+            "WHERE c.hatchEligible = true " +
+            "AND c.age BETWEEN :minAge AND :maxAge " +
+            "AND EXISTS (SELECT 1 FROM Credit credit WHERE credit.client = c AND credit.type = :creditType)")
+    ListVersionDTO findEligibleHatchListVersion(@Param("minAge") Integer minAge,
+                                                @Param("maxAge") Integer maxAge,
+                                                @Param("creditType") Credit.CreditType creditType);
+
+    @Query("SELECT new br.com.neurotech.challenge.dto.ListVersionDTO(COUNT(c), MAX(CAST(c.id AS String)), " +
+            "COALESCE(SUM(c.version), 0)) " +
+            "FROM NeurotechClient c " +
+            "WHERE c.suvEligible = true " +
+            "AND c.age BETWEEN :minAge AND :maxAge " +
+            "AND EXISTS (SELECT 1 FROM Credit credit WHERE credit.client = c AND credit.type = :creditType)")
+    ListVersionDTO findEligibleSuvListVersion(@Param("minAge") Integer minAge,
+                                              @Param("maxAge") Integer maxAge,
+                                              @Param("creditType") Credit.CreditType creditType);
+
+    /**
+     * Busca os dados de um cliente já projetados em DTO, sem carregar a entidade nem os seus créditos.
+     *
+     * @param id Identificador do cliente.
+     * @return Os dados do cliente, ou vazio se o cliente não existe.
+     */
+    @Query("SELECT new br.com.neurotech.challenge.dto.ClientDetailsDTO(c.id, c.name, c.age, c.income, " +
+            "c.hatchEligible, c.suvEligible, c.version) FROM NeurotechClient c WHERE c.id = :id")
+    Optional<ClientDetailsDTO> findDetailsById(@Param("id") UUID id);
+
+    /**
+     * Busca uma página de clientes, com a elegibilidade gravada, usando paginação por keyset sobre a chave
+     * primária. Utilizado no recálculo da elegibilidade.
+     *
+     * @param after Identificador do último cliente da página anterior.
+     * @param limit Quantidade máxima de clientes.
+     * @return Página de clientes ordenada pelo identificador.
+     */
+    @Query("SELECT new br.com.neurotech.challenge.dto.ClientDetailsDTO(c.id, c.name, c.age, c.income, " +
+            "c.hatchEligible, c.suvEligible, c.version) FROM NeurotechClient c WHERE c.id > :after ORDER BY c.id")
+    List<ClientDetailsDTO> findDetailsAfter(@Param("after") UUID after, Limit limit);
+
+    /**
+     * Busca apenas a versão de um cliente, sem carregar a entidade.
+     *
+     * @param id Identificador do cliente.
+     * @return A versão, ou vazio se o cliente não existe.
+     */
+    @Query("SELECT c.version FROM NeurotechClient c WHERE c.id = :id")
+    Optional<Long> findVersionById(@Param("id") UUID id);
+
+    /**
+     * Indica se há clientes cuja elegibilidade ainda não foi calculada, como os cadastrados antes das
+     * colunas de elegibilidade existirem.
+     */
+    boolean existsByHatchEligibleIsNullOrSuvEligibleIsNull();
+
+    /**
+     * Grava a elegibilidade de um grupo de clientes com o mesmo resultado em cada modelo de veículo e
+     * incrementa as suas versões, já que as listagens de elegíveis mudam com ela. Apenas os clientes cuja
+     * elegibilidade gravada é diferente são alterados, de modo que as versões dos demais não mudam.
+     *
+     * @param hatchEligible Elegibilidade para HATCH.
+     * @param suvEligible Elegibilidade para SUV.
+     * @param ids Identificadores dos clientes.
+     * @return Quantidade de clientes atualizados.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE NeurotechClient c SET c.hatchEligible = :hatchEligible, c.suvEligible = :suvEligible, " +
+            "c.version = c.version + 1 WHERE c.id IN :ids AND (c.hatchEligible IS NULL OR c.suvEligible IS NULL " +
+            "OR c.hatchEligible <> :hatchEligible OR c.suvEligible <> :suvEligible)")
+    int updateEligibility(@Param("hatchEligible") boolean hatchEligible,
+                          @Param("suvEligible") boolean suvEligible,
+                          @Param("ids") Collection<UUID> ids);
+
+    /**
+     * Lista todos os clientes, já projetados como DTO, sem carregar entidades no contexto de persistência.
+     *
+     * @return Dados de todos os clientes.
+     */
+    @Query("SELECT new br.com.neurotech.challenge.dto.NeurotechClientDTO(c.id, c.name, c.age, c.income) " +
+            "FROM NeurotechClient c")
+    List<NeurotechClientDTO> listAll();
+
+    /**
+     * Busca uma página de clientes usando paginação por keyset: retorna os clientes com identificador
+     * maior que {@code after}, ordenados pelo identificador (chave primária), sem uso de OFFSET.
+     * Os clientes são projetados diretamente em DTO.
+     *
+     * @param after Identificador do último cliente da página anterior.
+     * @param limit Quantidade máxima de clientes retornados.
+     * @return Página de clientes ordenada pelo identificador.
+     */
+    @Query("SELECT new br.com.neurotech.challenge.dto.NeurotechClientDTO(c.id, c.name, c.age, c.income) " +
+            "FROM NeurotechClient c " +
+            "WHERE c.id > :after " +
+            "ORDER BY c.id")
+    List<NeurotechClientDTO> listAfter(@Param("after") UUID after, Limit limit);
+
+    /**
+     * Busca apenas os identificadores de uma página de clientes, usando paginação por keyset sobre a chave
+     * primária. Utilizado para dividir os clientes em blocos sem carregar os seus dados.
+     *
+     * @param after Identificador do último cliente da página anterior.
+     * @param limit Quantidade máxima de identificadores retornados.
+     * @return Identificadores em ordem crescente.
+     */
+    @Query("SELECT c.id FROM NeurotechClient c WHERE c.id > :after ORDER BY c.id")
+    List<UUID> findIdsAfter(@Param("after") UUID after, Limit limit);
+
+    /**
+     * Percorre todos os clientes com um cursor somente-avanço, já projetados como DTO.
+     * As linhas são lidas do banco em blocos de {@code fetchSize} e nenhuma entidade é carregada no
+     * contexto de persistência, de modo que o consumo de memória independe da quantidade de clientes.
+     * <p>
+     * Deve ser consumido dentro de uma transação e o {@link Stream} retornado precisa ser fechado.
+     *
+     * @return Stream com os dados de todos os clientes.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new br.com.neurotech.challenge.dto.NeurotechClientDTO(c.id, c.name, c.age, c.income) " +
+            "FROM NeurotechClient c")
+    Stream<NeurotechClientDTO> streamAll();
 
 }
@@ -0,0 +1,118 @@
+package br.com.neurotech.challenge.repository;
+
+import br.com.neurotech.challenge.entity.RescoringJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repositório dos jobs de reprocessamento de créditos.
+ */
+public interface RescoringJobRepository extends JpaRepository<RescoringJob, UUID> {
+
+    /**
+     * Busca o job em andamento, se houver.
+     *
+     * @return Job com {@code active} ligado.
+     */
+    Optional<RescoringJob> findByActiveTrue();
+
+    /**
+     * Busca os jobs em alguma das situações informadas que não têm instância responsável ou cujo prazo expirou.
+     *
+     * @param statuses Situações procuradas.
+     * @param now      Instante atual.
+     * @return Identificadores dos jobs encontrados.
+     */
+    @Query("SELECT j.id FROM RescoringJob j WHERE j.status IN :statuses AND (j.owner IS NULL OR j.leaseExpiresAt < :now)")
+    List<UUID> findOrphanedIds(@Param("statuses") Collection<RescoringJob.Status> statuses, @Param("now") Instant now);
+
+    /**
+     * Assume o job, desde que ele não tenha instância responsável ou que o prazo dela tenha expirado.
+     *
+     * @param id    Identificador do job.
+     * @param owner Instância que assume o job.
+     * @param now   Instante atual.
+     * @param until Novo prazo da instância responsável.
+     * @return 1 se o job foi assumido; 0 se outra instância o assumiu antes.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE RescoringJob j SET j.owner = :owner, j.leaseExpiresAt = :until "
+            + "WHERE j.id = :id AND (j.owner IS NULL OR j.leaseExpiresAt < :now)")
+    int claim(@Param("id") UUID id, @Param("owner") String owner, @Param("now") Instant now, @Param("until") Instant until);
+
+    /**
+     * Renova, com um único {@code UPDATE}, o prazo dos jobs da instância que estão em alguma das situações
+     * informadas.
+     *
+     * @param owner    Instância responsável.
+     * @param statuses Situações dos jobs renovados.
+     * @param until    Novo prazo.
+     * @return Quantidade de jobs renovados.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE RescoringJob j SET j.leaseExpiresAt = :until WHERE j.owner = :owner AND j.status IN :statuses")
+    int renewLeases(@Param("owner") String owner, @Param("statuses") Collection<RescoringJob.Status> statuses,
+                    @Param("until") Instant until);
+
+    /**
+     * Altera a situação do job, desde que ele ainda seja da instância informada.
+     *
+     * @param id     Identificador do job.
+     * @param owner  Instância que executa o job.
+     * @param status Nova situação.
+     * @return 1 se a situação foi alterada; 0 se o job foi assumido por outra instância.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE RescoringJob j SET j.status = :status WHERE j.id = :id AND j.owner = :owner")
+    int updateStatus(@Param("id") UUID id, @Param("owner") String owner, @Param("status") RescoringJob.Status status);
+
+    /**
+     * Avança o ponto de retomada e soma os contadores dos blocos concluídos, desde que o job ainda seja da
+     * instância informada. A soma é feita pelo banco, sem sobrescrever o restante do registro.
+     *
+     * @param id          Identificador do job.
+     * @param owner       Instância que executa o job.
+     * @param checkpoint  Novo ponto de retomada.
+     * @param processed   Clientes reprocessados nos blocos.
+     * @param updated     Créditos alterados nos blocos.
+     * @param unqualified Créditos mantidos nos blocos.
+     * @return 1 se o progresso foi registrado; 0 se o job foi assumido por outra instância.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE RescoringJob j SET j.checkpoint = :checkpoint, j.processed = j.processed + :processed, "
+            + "j.updated = j.updated + :updated, j.unqualified = j.unqualified + :unqualified "
+            + "WHERE j.id = :id AND j.owner = :owner")
+    int addProgress(@Param("id") UUID id, @Param("owner") String owner, @Param("checkpoint") UUID checkpoint,
+                    @Param("processed") int processed, @Param("updated") int updated,
+                    @Param("unqualified") int unqualified);
+
+    /**
+     * Encerra o job com a situação informada e libera a vaga de job em andamento, desde que ele ainda seja da
+     * instância informada.
+     *
+     * @param id         Identificador do job.
+     * @param owner      Instância que executa o job.
+     * @param status     Situação final.
+     * @param finishedAt Instante do encerramento.
+     * @return 1 se o job foi encerrado; 0 se ele foi assumido por outra instância.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE RescoringJob j SET j.status = :status, j.finishedAt = :finishedAt, j.active = NULL "
+            + "WHERE j.id = :id AND j.owner = :owner")
+    int finish(@Param("id") UUID id, @Param("owner") String owner, @Param("status") RescoringJob.Status status,
+               @Param("finishedAt") Instant finishedAt);
+}
@@ -1,10 +1,18 @@
 package br.com.neurotech.challenge.service;
 
+import br.com.neurotech.challenge.dto.ClientAnalyticsDTO;
+import br.com.neurotech.challenge.dto.ClientDetailsDTO;
+import br.com.neurotech.challenge.dto.EligibleClientDTO;
+import br.com.neurotech.challenge.dto.NeurotechClientDTO;
+import br.com.neurotech.challenge.dto.VersionedDTO;
 import br.com.neurotech.challenge.entity.Credit;
 import br.com.neurotech.challenge.entity.NeurotechClient;
 import br.com.neurotech.challenge.entity.VehicleModel;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.UUID;
 
 
 /**
@@ -20,29 +28,82 @@ public interface ClientService {
 	 * @param client Instância de {@link NeurotechClient} que representa o cliente a ser salvo.
 	 * @return ID do cliente recém-salvo.
 	 */
-	String save(NeurotechClient client);
+	UUID save(NeurotechClient client);
 
 	/**
-	 * Recupera um cliente baseado no seu ID.
+	 * Salva um lote de clientes, juntamente com os créditos já associados a eles, em uma única transação.
+	 * As inserções são agrupadas em lotes JDBC, de acordo com {@code hibernate.jdbc.batch_size}. Ao final, o
+	 * contexto de persistência é gravado e esvaziado, e os clientes ficam desanexados, de modo que lotes
+	 * sucessivos na mesma requisição não acumulam entidades gerenciadas.
+	 *
+	 * @param clients Clientes a serem salvos. Os créditos presentes em {@link NeurotechClient#getCredits()}
+	 *                são persistidos em cascata.
+	 */
+	void saveAll(List<NeurotechClient> clients);
+
+	/**
+	 * Altera o nome, a idade e a renda de um cliente existente. O cliente é lido e alterado na mesma
+	 * transação, e a alteração é gravada com verificação da versão; a elegibilidade a cada modelo de veículo é
+	 * recalculada na gravação. O cliente é removido do cache de clientes.
+	 *
+	 * @param id     Identificador único do cliente.
+	 * @param name   Novo nome do cliente.
+	 * @param age    Nova idade do cliente.
+	 * @param income Nova renda do cliente.
+	 * @return {@code true} se o cliente foi alterado, ou {@code false} se ele não existe.
+	 */
+	boolean update(UUID id, String name, Integer age, Double income);
+
+	/**
+	 * Recupera um cliente baseado no seu ID. O resultado é mantido no cache de clientes, que é invalidado
+	 * quando o cliente é salvo ou excluído.
+	 *
+	 * @param id Identificador único do cliente.
+	 * @return Os dados do cliente correspondente ao ID fornecido, representados por {@link ClientDetailsDTO},
+	 * ou {@code null} se o cliente não existe.
+	 */
+	ClientDetailsDTO get(UUID id);
+
+	/**
+	 * Recupera apenas a versão de um cliente, sem carregar a entidade do banco; usa o cliente do cache de
+	 * clientes, se presente.
 	 *
 	 * @param id Identificador único do cliente.
-	 * @return O cliente correspondente ao ID fornecido, representado por {@link NeurotechClient}.
+	 * @return A versão do cliente, ou {@code null} se o cliente não existe.
 	 */
-	NeurotechClient get(String id);
+	Long getVersion(UUID id);
 
 	/**
 	 * Retorna uma lista com todos os clientes previamente salvos.
 	 *
-	 * @return Lista contendo instâncias de {@link NeurotechClient}.
+	 * @return Lista com os dados de cada cliente, representados por {@link NeurotechClientDTO}.
+	 */
+	List<NeurotechClientDTO> getAll();
+
+	/**
+	 * Retorna uma página de clientes ordenada pelo identificador, usando paginação por keyset.
+	 *
+	 * @param after Identificador do último cliente da página anterior; os clientes retornados possuem
+	 *              identificador estritamente maior.
+	 * @param limit Quantidade máxima de clientes retornados.
+	 * @return Lista com até {@code limit} clientes, representados por {@link NeurotechClientDTO}.
+	 */
+	List<NeurotechClientDTO> getAll(UUID after, int limit);
+
+	/**
+	 * Percorre todos os clientes salvos, entregando cada um ao consumidor assim que é lido do banco,
+	 * sem acumular o resultado em memória.
+	 *
+	 * @param consumer Consumidor chamado uma vez para cada cliente, na ordem de leitura.
 	 */
-	List<NeurotechClient> getAll();
+	void exportAll(Consumer<NeurotechClientDTO> consumer);
 
 	/**
 	 * Exclui um cliente baseado no seu ID.
 	 *
 	 * @param id O identificador único do cliente a ser excluído.
 	 */
-	void delete(String id);
+	void delete(UUID id);
 
 	/**
 	 * Obtém uma lista de clientes elegíveis com base nos critérios fornecidos.
@@ -51,7 +112,70 @@ public interface ClientService {
 	 * @param minAge Idade mínima do cliente.
 	 * @param maxAge Idade máxima do cliente.
 	 * @param creditType Tipo de crédito a ser considerado para a elegibilidade.
-	 * @return Lista de clientes que atendem aos critérios, representados por instâncias de {@link NeurotechClient}.
+	 * @return Lista de clientes que atendem aos critérios, representados por {@link EligibleClientDTO}.
+	 */
+	List<EligibleClientDTO> getEligibleClients(VehicleModel vehicleModel, Integer minAge, Integer maxAge, Credit.CreditType creditType);
+
+	/**
+	 * Obtém uma página de clientes elegíveis, ordenada pelo identificador, usando paginação por keyset.
+	 *
+	 * @param vehicleModel Modelo de veículo desejado para a elegibilidade.
+	 * @param minAge Idade mínima do cliente.
+	 * @param maxAge Idade máxima do cliente.
+	 * @param creditType Tipo de crédito a ser considerado para a elegibilidade.
+	 * @param after Identificador do último cliente da página anterior.
+	 * @param limit Quantidade máxima de clientes retornados.
+	 * @return Lista com até {@code limit} clientes que atendem aos critérios, representados por {@link NeurotechClientDTO}.
+	 */
+	List<NeurotechClientDTO> getEligibleClients(VehicleModel vehicleModel, Integer minAge, Integer maxAge, Credit.CreditType creditType,
+												UUID after, int limit);
+
+	/**
+	 * Obtém, em uma única transação de leitura, um identificador da versão da lista retornada por
+	 * {@link #getEligibleClients(VehicleModel, Integer, Integer, Credit.CreditType)} e, se o cliente da API
+	 * ainda não a conhece, a própria lista. Quando calculada pelo banco em uma única linha, sem ler os clientes,
+	 * a versão é um {@code ETag} fraco ({@code W/"..."}): ela muda quando um cliente entra, sai ou é alterado
+	 * na lista, exceto em alterações que se compensam no resumo, e não identifica o conteúdo byte a byte.
+	 *
+	 * @param notModified Recebe a versão atual e indica se o cliente da API já a conhece; nesse caso a lista não
+	 *                    é lida.
+	 * @return Versão e lista de clientes; a lista é {@code null} quando {@code notModified} retorna {@code true}.
+	 */
+	VersionedDTO<List<EligibleClientDTO>> getEligibleClientsIfModified(VehicleModel vehicleModel, Integer minAge, Integer maxAge,
+																	   Credit.CreditType creditType, Predicate<String> notModified);
+
+	/**
+	 * Obtém a página retornada por
+	 * {@link #getEligibleClients(VehicleModel, Integer, Integer, Credit.CreditType, UUID, int)} e um
+	 * identificador da sua versão, calculado a partir do conteúdo da página, com uma única consulta.
+	 *
+	 * @return Versão e página de clientes.
+	 */
+	VersionedDTO<List<NeurotechClientDTO>> getEligibleClientsPage(VehicleModel vehicleModel, Integer minAge, Integer maxAge,
+																  Credit.CreditType creditType, UUID after, int limit);
+
+	/**
+	 * Calcula as estatísticas da carteira de clientes: quantidade, soma e média das rendas no total e por faixa
+	 * de idade, faixa de renda, tipo de crédito e elegibilidade a cada modelo de veículo. A agregação é feita
+	 * pelo banco, em uma única consulta, e cada cliente é contado uma única vez em cada histograma. As faixas de
+	 * idade e de renda são delimitadas pelos limites das regras de crédito vigentes.
+	 *
+	 * @return Estatísticas da carteira, representadas por {@link ClientAnalyticsDTO}.
+	 */
+	ClientAnalyticsDTO getAnalytics();
+
+	/**
+	 * Recalcula, com as regras de crédito vigentes, a elegibilidade de todos os clientes a cada modelo de
+	 * veículo. Os clientes são percorridos em blocos; apenas aqueles cuja elegibilidade mudou são gravados e
+	 * removidos do cache.
+	 *
+	 * @return Quantidade de clientes atualizados.
+	 */
+	int recomputeEligibility();
+
+	/**
+	 * Agenda {@link #recomputeEligibility()} em segundo plano, após uma alteração das regras. Pedidos feitos
+	 * antes de o recálculo começar são atendidos por um único recálculo.
 	 */
-	List<NeurotechClient> getEligibleClients(VehicleModel vehicleModel, Integer minAge, Integer maxAge, Credit.CreditType creditType);
+	void recomputeEligibilityInBackground();
 }
@@ -0,0 +1,46 @@
+package br.com.neurotech.challenge.service;
+
+import br.com.neurotech.challenge.dto.CreditJobResultDTO;
+import br.com.neurotech.challenge.entity.CreditJob;
+import br.com.neurotech.challenge.entity.VehicleModel;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Interface responsável pelos jobs assíncronos de verificação de crédito, utilizados quando a quantidade de
+ * clientes é grande demais para uma requisição síncrona.
+ */
+public interface CreditJobService {
+
+	/**
+	 * Registra um job de verificação de crédito e o coloca na fila de execução. Os clientes são gravados
+	 * junto com o job, de modo que ele pode ser retomado caso a aplicação seja reiniciada.
+	 *
+	 * @param clientIds Identificadores dos clientes que serão avaliados.
+	 * @param model Modelo de veículo para o qual o crédito será analisado.
+	 * @return Job registrado.
+	 * @throws RejectedExecutionException se a fila de jobs estiver cheia; nesse caso nada é gravado.
+	 */
+	CreditJob submit(List<UUID> clientIds, VehicleModel model);
+
+	/**
+	 * Busca um job pelo identificador.
+	 *
+	 * @param id Identificador do job.
+	 * @return Job encontrado, ou {@code null} se não existir.
+	 */
+	CreditJob get(UUID id);
+
+	/**
+	 * Busca uma página de resultados já avaliados de um job, ordenados pela posição do cliente na requisição.
+	 *
+	 * @param jobId Identificador do job.
+	 * @param after Posição do último resultado da página anterior, ou {@code -1} para a primeira página.
+	 * @param limit Quantidade máxima de resultados.
+	 * @return Página de resultados.
+	 */
+	List<CreditJobResultDTO> getResults(UUID jobId, int after, int limit);
+
+}
@@ -1,9 +1,14 @@
 package br.com.neurotech.challenge.service;
 
+import br.com.neurotech.challenge.dto.RescoringResultDTO;
 import br.com.neurotech.challenge.entity.Credit;
 import br.com.neurotech.challenge.entity.NeurotechClient;
 import br.com.neurotech.challenge.entity.VehicleModel;
 
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+
 
 /**
  * Interface responsável por definir as operações relacionadas à análise e criação de créditos
@@ -18,7 +23,18 @@ public interface CreditService {
 	 * @param model O modelo de veículo para o qual o crédito será analisado.
 	 * @return true se o cliente estiver apto a receber crédito, false caso contrário.
 	 */
-	boolean checkCredit(String clientId, VehicleModel model);
+	boolean checkCredit(UUID clientId, VehicleModel model);
+
+	/**
+	 * Verifica, de uma só vez, se vários clientes estão aptos a receber crédito para cada um dos modelos
+	 * de veículo informados. Os clientes são carregados com poucas consultas {@code IN}, em blocos.
+	 *
+	 * @param clientIds Identificadores dos clientes que serão avaliados.
+	 * @param models Modelos de veículo para os quais o crédito será analisado.
+	 * @return Mapa do identificador de cada cliente encontrado para o resultado de cada modelo, na ordem
+	 * em que os clientes foram informados. Clientes não encontrados não fazem parte do resultado.
+	 */
+	Map<UUID, Map<VehicleModel, Boolean>> checkCredit(Collection<UUID> clientIds, Collection<VehicleModel> models);
 
 	/**
 	 * Cria um novo crédito para um cliente com base na categoria de crédito mais adequada ao perfil do cliente.
@@ -27,5 +43,26 @@ public interface CreditService {
 	 * @return Uma instância de {@link Credit} representando o crédito gerado para o cliente.
 	 */
 	Credit createCreditForClient(NeurotechClient client);
+
+	/**
+	 * Cadastra um novo cliente junto com o crédito mais adequado ao seu perfil, em uma única transação.
+	 * O tipo de crédito é decidido antes de qualquer acesso ao banco, e o cliente e o crédito são gravados
+	 * em cascata no mesmo flush.
+	 *
+	 * @param client Cliente a ser cadastrado, ainda sem identificador.
+	 * @return Identificador do cliente cadastrado.
+	 * @throws IllegalArgumentException se o cliente não se qualificar para nenhum crédito; nesse caso nada é gravado.
+	 */
+	UUID createClientWithCredit(NeurotechClient client);
+
+	/**
+	 * Recalcula, com as regras de crédito vigentes, o tipo e a taxa de juros dos créditos de um grupo de
+	 * clientes, em uma única transação. Apenas os créditos alterados são gravados, em lotes JDBC. Os créditos
+	 * de clientes que não se qualificam mais para nenhum crédito são mantidos como estão.
+	 *
+	 * @param clientIds Identificadores dos clientes.
+	 * @return Quantidade de créditos reprocessados, alterados e mantidos.
+	 */
+	RescoringResultDTO rescore(Collection<UUID> clientIds);
 	
 }
@@ -0,0 +1,44 @@
+package br.com.neurotech.challenge.service;
+
+import org.springframework.http.ResponseEntity;
+
+import java.util.function.Supplier;
+
+/**
+ * Serviço que torna idempotentes as requisições enviadas com o cabeçalho {@value #IDEMPOTENCY_KEY}.
+ * <p>
+ * A primeira requisição com uma chave é executada e sua resposta (status, {@code Location} e corpo) é
+ * registrada; as repetições dentro do prazo de validade recebem a resposta registrada, com o cabeçalho
+ * {@value #REPLAYED}, sem executar a operação novamente.
+ */
+public interface IdempotencyService {
+
+	/**
+	 * Cabeçalho com a chave de idempotência da requisição.
+	 */
+	String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+	/**
+	 * Cabeçalho presente nas respostas devolvidas a partir do registro.
+	 */
+	String REPLAYED = "Idempotent-Replayed";
+
+	/**
+	 * Executa a operação uma única vez por chave. Requisições simultâneas com a mesma chave aguardam a
+	 * primeira e recebem a mesma resposta; enquanto a chave está reservada por outra instância, a resposta é
+	 * 409.
+	 *
+	 * @param key       Chave de idempotência; quando {@code null}, a operação é executada normalmente.
+	 * @param operation Identificação da operação, por exemplo {@code POST /api/clients}.
+	 * @param request   Corpo da requisição; uma chave repetida com outra operação ou outro corpo é rejeitada.
+	 * @param action    Operação a ser executada.
+	 * @return Resposta da operação, ou a resposta registrada em uma repetição. Respostas com status 5xx e
+	 * exceções da operação não são registradas, para que a requisição possa ser repetida.
+	 */
+	ResponseEntity<?> execute(String key, String operation, Object request, Supplier<ResponseEntity<?>> action);
+
+	/**
+	 * Remove os registros cujo prazo de validade expirou.
+	 */
+	void purgeExpired();
+}
@@ -0,0 +1,29 @@
+package br.com.neurotech.challenge.service;
+
+import br.com.neurotech.challenge.entity.RescoringJob;
+
+import java.util.UUID;
+
+/**
+ * Interface responsável pelos jobs de reprocessamento de créditos, que aplicam aos créditos já concedidos as
+ * regras de crédito vigentes (tipo e taxa de juros) após uma mudança de política.
+ */
+public interface RescoringJobService {
+
+	/**
+	 * Registra um job de reprocessamento dos créditos de todos os clientes e inicia a sua execução.
+	 *
+	 * @return Job registrado.
+	 * @throws IllegalStateException se já houver um job de reprocessamento em andamento; nesse caso nada é gravado.
+	 */
+	RescoringJob submit();
+
+	/**
+	 * Busca um job pelo identificador.
+	 *
+	 * @param id Identificador do job.
+	 * @return Job encontrado, ou {@code null} se não existir.
+	 */
+	RescoringJob get(UUID id);
+
+}
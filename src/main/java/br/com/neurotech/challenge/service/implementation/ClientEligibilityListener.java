@@ -0,0 +1,29 @@
+package br.com.neurotech.challenge.service.implementation;
+
+import br.com.neurotech.challenge.entity.NeurotechClient;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mantém a elegibilidade gravada de {@link NeurotechClient} coerente com a idade e a renda.
+ * <p>
+ * Executado pelo Hibernate antes de cada inclusão e de cada alteração do cliente, qualquer que seja o caminho
+ * (cadastro individual, em lote ou atualização); a instância é obtida do contexto do Spring. É registrado em
+ * {@code META-INF/orm.xml}, e não na entidade, para que o pacote {@code entity} não dependa deste.
+ */
+@Component
+public class ClientEligibilityListener {
+
+    private final CreditRuleEngine ruleEngine;
+
+    public ClientEligibilityListener(CreditRuleEngine ruleEngine) {
+        this.ruleEngine = ruleEngine;
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void applyEligibility(NeurotechClient client) {
+        ruleEngine.applyEligibility(client);
+    }
+}
@@ -1,50 +1,504 @@
 package br.com.neurotech.challenge.service.implementation;
 
+import br.com.neurotech.challenge.configs.CacheConfig;
+import br.com.neurotech.challenge.dto.AnalyticsBucketDTO;
+import br.com.neurotech.challenge.dto.AnalyticsGroupDTO;
+import br.com.neurotech.challenge.dto.ClientAnalyticsDTO;
+import br.com.neurotech.challenge.dto.ClientDetailsDTO;
+import br.com.neurotech.challenge.dto.EligibleClientDTO;
+import br.com.neurotech.challenge.dto.NeurotechClientDTO;
+import br.com.neurotech.challenge.dto.VehicleEligibilityDTO;
+import br.com.neurotech.challenge.dto.VersionedDTO;
 import br.com.neurotech.challenge.entity.Credit;
 import br.com.neurotech.challenge.entity.NeurotechClient;
 import br.com.neurotech.challenge.entity.VehicleModel;
 import br.com.neurotech.challenge.repository.NeurotechClientRepository;
 import br.com.neurotech.challenge.service.ClientService;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.UUID;
 
 @Service
 public class ClientServiceImpl implements ClientService {
 
+    private static final Logger LOGGER = Logger.getLogger(ClientServiceImpl.class.getName());
+
+    /**
+     * Quantidade de clientes lidos e atualizados por vez no recálculo da elegibilidade.
+     */
+    static final int RECOMPUTE_CHUNK_SIZE = 1000;
+
     private final NeurotechClientRepository repository;
+    private final CreditRuleEngine ruleEngine;
+    private final EligibilityIndex eligibilityIndex;
+    private final CacheManager cacheManager;
+    private final EntityManager entityManager;
+    private final ExecutorService recomputeExecutor = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("eligibility-recompute").daemon().factory());
+    private final AtomicBoolean recomputeRequested = new AtomicBoolean();
 
-    public ClientServiceImpl(NeurotechClientRepository repository) {
+    /**
+     * @param repository       Repositório de clientes.
+     * @param ruleEngine       Motor de regras de crédito, que define as faixas de renda de cada modelo de veículo.
+     * @param eligibilityIndex Índice de elegibilidade em memória, presente apenas quando
+     *                         {@code neurotech.eligibility-index.enabled} está ativo.
+     * @param cacheManager     Gerenciador do cache de clientes, consultado por {@link #getVersion(UUID)} e do qual
+     *                         o recálculo da elegibilidade remove os clientes alterados.
+     * @param entityManager    Utilizado para liberar da memória cada bloco gravado por {@link #saveAll(List)}.
+     */
+    public ClientServiceImpl(NeurotechClientRepository repository, CreditRuleEngine ruleEngine,
+                             ObjectProvider<EligibilityIndex> eligibilityIndex, CacheManager cacheManager,
+                             EntityManager entityManager) {
         this.repository = repository;
+        this.ruleEngine = ruleEngine;
+        this.eligibilityIndex = eligibilityIndex.getIfAvailable();
+        this.cacheManager = cacheManager;
+        this.entityManager = entityManager;
     }
 
     @Override
-    public String save(NeurotechClient client) {
+    @CacheEvict(cacheNames = CacheConfig.CLIENTS, key = "#client.id")
+    public UUID save(NeurotechClient client) {
         repository.save(client);
         return client.getId();
     }
 
     @Override
-    public NeurotechClient get(String id) {
-        return this.repository.findById(id).orElse(null);
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.CLIENTS, allEntries = true, beforeInvocation = true,
+            condition = "!#clients.?[id != null].isEmpty()")
+    public void saveAll(List<NeurotechClient> clients) {
+        repository.saveAll(clients);
+        // com o open-session-in-view, o contexto de persistência é o da requisição e acumularia todos os blocos
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.CLIENTS, key = "#id")
+    public boolean update(UUID id, String name, Integer age, Double income) {
+        var client = this.repository.findById(id).orElse(null);
+        if (client == null) {
+            return false;
+        }
+
+        // gravado no commit pela verificação de alterações do Hibernate
+        client.setName(name);
+        client.setAge(age);
+        client.setIncome(income);
+        return true;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CLIENTS, unless = "#result == null")
+    public ClientDetailsDTO get(UUID id) {
+        return this.repository.findDetailsById(id).orElse(null);
     }
 
-    public List<NeurotechClient> getAll() {
-        return this.repository.findAll();
+    @Override
+    @Transactional(readOnly = true)
+    public Long getVersion(UUID id) {
+        var cache = cacheManager.getCache(CacheConfig.CLIENTS);
+        var cached = cache == null ? null : cache.get(id, ClientDetailsDTO.class);
+        if (cached != null) {
+            return cached.version();
+        }
+        return this.repository.findVersionById(id).orElse(null);
     }
 
     @Override
-    public void delete(String id) {
+    @Transactional(readOnly = true)
+    public List<NeurotechClientDTO> getAll() {
+        return this.repository.listAll();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<NeurotechClientDTO> getAll(UUID after, int limit) {
+        return this.repository.listAfter(after, Limit.of(limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportAll(Consumer<NeurotechClientDTO> consumer) {
+        try (var clients = this.repository.streamAll()) {
+            clients.forEach(consumer);
+        }
+    }
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.CLIENTS)
+    public void delete(UUID id) {
         this.repository.deleteById(id);
     }
 
     @Override
-    public List<NeurotechClient> getEligibleClients(VehicleModel vehicleModel, Integer minAge, Integer maxAge, Credit.CreditType creditType) {
+    @Transactional(readOnly = true)
+    public List<EligibleClientDTO> getEligibleClients(VehicleModel vehicleModel, Integer minAge, Integer maxAge, Credit.CreditType creditType) {
+        var bounds = bounds(vehicleModel, minAge, maxAge);
+        if (bounds.isEmpty()) {
+            return List.of();
+        }
+
+        if (eligibilityIndex != null && eligibilityIndex.isReady()) {
+            return eligibilityIndex.find(creditType, bounds.minIncome(), bounds.maxIncome(), bounds.minAge(), bounds.maxAge())
+                    .stream()
+                    .map(client -> new EligibleClientDTO(client.name(), client.income()))
+                    .toList();
+        }
+        return this.repository.findEligibleClients(vehicleModel, minAge, maxAge, creditType);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<NeurotechClientDTO> getEligibleClients(VehicleModel vehicleModel, Integer minAge, Integer maxAge, Credit.CreditType creditType,
+                                                       UUID after, int limit) {
+        var bounds = bounds(vehicleModel, minAge, maxAge);
+        if (bounds.isEmpty()) {
+            return List.of();
+        }
+
+        return this.repository.findEligibleClientsAfter(vehicleModel, minAge, maxAge, creditType, after, Limit.of(limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public VersionedDTO<List<EligibleClientDTO>> getEligibleClientsIfModified(VehicleModel vehicleModel, Integer minAge, Integer maxAge,
+                                                                             Credit.CreditType creditType, Predicate<String> notModified) {
+        var bounds = bounds(vehicleModel, minAge, maxAge);
+        if (bounds.isEmpty()) {
+            var version = digest(List.of(), (element, buffer) -> {});
+            return new VersionedDTO<>(version, notModified.test(version) ? null : List.of());
+        }
 
-        if (VehicleModel.HATCH.equals(vehicleModel)) {
-            return this.repository.findEligibleClients(Credit.HATCH_INCOME_MIN, Credit.HATCH_INCOME_MAX, minAge, maxAge, creditType);
+        if (eligibilityIndex != null && eligibilityIndex.isReady()) {
+            // a lista vem do índice em memória, sem acesso ao banco; a versão é calculada sobre o seu conteúdo
+            var clients = eligibilityIndex.find(creditType, bounds.minIncome(), bounds.maxIncome(), bounds.minAge(), bounds.maxAge());
+            var version = digest(clients, (client, buffer) -> buffer
+                    .putLong(client.id().getMostSignificantBits())
+                    .putLong(client.id().getLeastSignificantBits())
+                    .putLong(Double.doubleToLongBits(client.income()))
+                    .putLong(client.name().hashCode()));
+            if (notModified.test(version)) {
+                return new VersionedDTO<>(version, null);
+            }
+            return new VersionedDTO<>(version, clients.stream()
+                    .map(client -> new EligibleClientDTO(client.name(), client.income()))
+                    .toList());
         }
 
-        return List.of();
+        // o resumo pode coincidir entre listas diferentes, então a versão é um ETag fraco
+        var summary = this.repository.findEligibleListVersion(vehicleModel, minAge, maxAge, creditType);
+        var version = "W/\"" + digest(List.of(summary), (element, buffer) -> buffer
+                .putLong(element.count())
+                .putLong(element.versionSum())
+                .putLong(element.maxId() == null ? 0 : UUID.fromString(element.maxId()).getMostSignificantBits())
+                .putLong(element.maxId() == null ? 0 : UUID.fromString(element.maxId()).getLeastSignificantBits())) + "\"";
+        if (notModified.test(version)) {
+            return new VersionedDTO<>(version, null);
+        }
+        return new VersionedDTO<>(version, this.repository.findEligibleClients(vehicleModel, minAge, maxAge, creditType));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public VersionedDTO<List<NeurotechClientDTO>> getEligibleClientsPage(VehicleModel vehicleModel, Integer minAge, Integer maxAge,
+                                                                        Credit.CreditType creditType, UUID after, int limit) {
+        var clients = getEligibleClients(vehicleModel, minAge, maxAge, creditType, after, limit);
+        var version = digest(clients, (client, buffer) -> buffer
+                .putLong(client.id().getMostSignificantBits())
+                .putLong(client.id().getLeastSignificantBits())
+                .putLong(Double.doubleToLongBits(client.income()))
+                .putInt(client.age())
+                .putInt(client.name().hashCode()));
+        return new VersionedDTO<>(version, clients);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ClientAnalyticsDTO getAnalytics() {
+        var rules = ruleEngine.rules();
+        var ageLimits = rules.ageLimits();
+        var incomeLimits = rules.incomeLimits();
+        var total = new Totals();
+        var ageBands = Totals.array(ageLimits.length + 1);
+        var incomeBands = Totals.array(incomeLimits.length + 1);
+        var creditTypes = Totals.byCreditType();
+        var vehicles = new EnumMap<VehicleModel, Totals>(VehicleModel.class);
+        var vehicleCreditTypes = new EnumMap<VehicleModel, EnumMap<Credit.CreditType, Totals>>(VehicleModel.class);
+        for (var model : VehicleModel.values()) {
+            vehicles.put(model, new Totals());
+            vehicleCreditTypes.put(model, Totals.byCreditType());
+        }
+
+        // cada grupo da agregação é somado a cada histograma a que pertence
+        for (var group : repository.aggregateAnalytics(incomeLimits)) {
+            total.add(group);
+            ageBands[ageBand(ageLimits, group.age())].add(group);
+            incomeBands[group.incomeBand()].add(group);
+            for (var type : Credit.CreditType.values()) {
+                if ((group.creditTypes() & 1 << type.ordinal()) != 0) {
+                    creditTypes.get(type).add(group);
+                }
+            }
+            for (var model : VehicleModel.values()) {
+                var eligible = switch (model) {
+                    case HATCH -> group.hatchEligible();
+                    case SUV -> group.suvEligible();
+                };
+                if (Boolean.TRUE.equals(eligible)) {
+                    vehicles.get(model).add(group);
+                    for (var type : Credit.CreditType.values()) {
+                        if ((group.creditTypes() & 1 << type.ordinal()) != 0) {
+                            vehicleCreditTypes.get(model).get(type).add(group);
+                        }
+                    }
+                }
+            }
+        }
+
+        return new ClientAnalyticsDTO(
+                total.bucket("total"),
+                Totals.buckets(ageBandKeys(ageLimits), ageBands),
+                Totals.buckets(incomeBandKeys(incomeLimits), incomeBands),
+                Totals.buckets(creditTypes),
+                Arrays.stream(VehicleModel.values())
+                        .map(model -> new VehicleEligibilityDTO(model, vehicles.get(model).bucket(model.name()),
+                                Totals.buckets(vehicleCreditTypes.get(model))))
+                        .toList());
+    }
+
+    @Override
+    public int recomputeEligibility() {
+        var rules = ruleEngine.rules();
+        var cache = cacheManager.getCache(CacheConfig.CLIENTS);
+        int updated = 0;
+        var after = new UUID(0, 0);
+        List<ClientDetailsDTO> clients;
+        do {
+            clients = repository.findDetailsAfter(after, Limit.of(RECOMPUTE_CHUNK_SIZE));
+
+            // um UPDATE ... IN por combinação de resultados, apenas com os clientes cuja elegibilidade mudou
+            var groups = new HashMap<List<Boolean>, List<UUID>>();
+            for (var client : clients) {
+                var flags = List.of(rules.eligible(VehicleModel.HATCH, client.age(), client.income()),
+                        rules.eligible(VehicleModel.SUV, client.age(), client.income()));
+                if (!flags.equals(Arrays.asList(client.hatchEligible(), client.suvEligible()))) {
+                    groups.computeIfAbsent(flags, key -> new ArrayList<>()).add(client.id());
+                }
+            }
+            for (var group : groups.entrySet()) {
+                updated += repository.updateEligibility(group.getKey().get(0), group.getKey().get(1), group.getValue());
+                if (cache != null) {
+                    group.getValue().forEach(cache::evict);
+                }
+            }
+
+            if (!clients.isEmpty()) {
+                after = clients.get(clients.size() - 1).id();
+            }
+        } while (clients.size() == RECOMPUTE_CHUNK_SIZE);
+        return updated;
+    }
+
+    @Override
+    public void recomputeEligibilityInBackground() {
+        if (!recomputeRequested.compareAndSet(false, true)) {
+            // um recálculo ainda não iniciado já usará as regras vigentes
+            return;
+        }
+        recomputeExecutor.execute(() -> {
+            recomputeRequested.set(false);
+            try {
+                long start = System.nanoTime();
+                int updated = recomputeEligibility();
+                LOGGER.info("Elegibilidade recalculada para " + updated + " clientes em "
+                        + (System.nanoTime() - start) / 1_000_000 + " ms");
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.SEVERE, "Falha no recálculo da elegibilidade", e);
+            }
+        });
+    }
+
+    /**
+     * Interrompe o recálculo da elegibilidade em andamento.
+     */
+    @PreDestroy
+    public void shutdown() {
+        recomputeExecutor.shutdownNow();
+    }
+
+    /**
+     * Calcula a elegibilidade dos clientes gravados antes de ela existir (ou fora da aplicação), antes que as
+     * listagens de clientes elegíveis passem a depender dela.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillEligibility() {
+        if (repository.existsByHatchEligibleIsNullOrSuvEligibleIsNull()) {
+            long start = System.nanoTime();
+            int updated = recomputeEligibility();
+            LOGGER.info("Elegibilidade calculada para " + updated + " clientes em "
+                    + (System.nanoTime() - start) / 1_000_000 + " ms");
+        }
+    }
+
+    /**
+     * Índice da faixa de idade: a quantidade de limites até a idade, inclusive.
+     */
+    private static int ageBand(int[] ageLimits, Integer age) {
+        if (age == null) {
+            return 0;
+        }
+        int index = Arrays.binarySearch(ageLimits, age);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    /**
+     * Identificação das faixas de idade, como {@code 18-20}; a última é aberta, como {@code 66+}.
+     */
+    private static List<String> ageBandKeys(int[] ageLimits) {
+        var keys = new ArrayList<String>(ageLimits.length + 1);
+        int start = 0;
+        for (int limit : ageLimits) {
+            keys.add(start + "-" + (limit - 1));
+            start = limit;
+        }
+        keys.add(start + "+");
+        return keys;
+    }
+
+    /**
+     * Identificação das faixas de renda, como {@code 5000-8000}; a última é aberta, como {@code 15000+}. Os
+     * limites são exibidos com até duas casas decimais, de modo que o início de uma faixa logo acima de um limite
+     * inclusivo das regras é exibido como o próprio limite.
+     */
+    private static List<String> incomeBandKeys(double[] incomeLimits) {
+        var keys = new ArrayList<String>(incomeLimits.length + 1);
+        var start = "0";
+        for (double limit : incomeLimits) {
+            var value = BigDecimal.valueOf(limit).setScale(2, RoundingMode.HALF_UP).stripTrailingZeros().toPlainString();
+            keys.add(start + "-" + value);
+            start = value;
+        }
+        keys.add(start + "+");
+        return keys;
+    }
+
+    /**
+     * Quantidade de clientes e soma das rendas de uma barra de histograma das estatísticas da carteira.
+     */
+    private static final class Totals {
+        private long count;
+        private double incomeSum;
+
+        void add(AnalyticsGroupDTO group) {
+            count += group.count();
+            incomeSum += group.incomeSum();
+        }
+
+        AnalyticsBucketDTO bucket(String key) {
+            return new AnalyticsBucketDTO(key, count, incomeSum, count == 0 ? null : incomeSum / count);
+        }
+
+        static Totals[] array(int size) {
+            var totals = new Totals[size];
+            Arrays.setAll(totals, i -> new Totals());
+            return totals;
+        }
+
+        static EnumMap<Credit.CreditType, Totals> byCreditType() {
+            var totals = new EnumMap<Credit.CreditType, Totals>(Credit.CreditType.class);
+            for (var type : Credit.CreditType.values()) {
+                totals.put(type, new Totals());
+            }
+            return totals;
+        }
+
+        static List<AnalyticsBucketDTO> buckets(List<String> keys, Totals[] totals) {
+            var buckets = new ArrayList<AnalyticsBucketDTO>(keys.size());
+            for (int i = 0; i < keys.size(); i++) {
+                buckets.add(totals[i].bucket(keys.get(i)));
+            }
+            return buckets;
+        }
+
+        static List<AnalyticsBucketDTO> buckets(EnumMap<Credit.CreditType, Totals> totals) {
+            return totals.entrySet().stream().map(entry -> entry.getValue().bucket(entry.getKey().name())).toList();
+        }
+    }
+
+    /**
+     * Calcula o SHA-256, truncado em 128 bits, dos campos que {@code writer} grava de cada elemento (até 32 bytes).
+     */
+    private static <T> String digest(List<T> elements, BiConsumer<T, ByteBuffer> writer) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            var buffer = ByteBuffer.allocate(32);
+            for (var element : elements) {
+                buffer.clear();
+                writer.accept(element, buffer);
+                digest.update(buffer.array(), 0, buffer.position());
+            }
+            return HexFormat.of().formatHex(digest.digest(), 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Combina a faixa de idade solicitada com as exigências de idade e renda do modelo de veículo. Utilizado
+     * pelo índice em memória; as consultas ao banco já têm essas exigências refletidas na coluna de
+     * elegibilidade, e os limites servem apenas para descartar de antemão uma faixa de idade vazia.
+     * Os limites do motor de regras já são inclusivos (um limite exclusivo, como o do SUV, vira o próximo
+     * valor representável), e a idade é arredondada para o inteiro aceito mais próximo.
+     */
+    private EligibilityBounds bounds(VehicleModel vehicleModel, Integer minAge, Integer maxAge) {
+        var rules = ruleEngine.rules();
+        return new EligibilityBounds(
+                Math.max(rules.minIncome(vehicleModel), -Double.MAX_VALUE),
+                Math.min(rules.maxIncome(vehicleModel), Double.MAX_VALUE),
+                Math.max(minAge, (int) Math.ceil(rules.minAge(vehicleModel))),
+                Math.min(maxAge, (int) Math.floor(rules.maxAge(vehicleModel))));
+    }
+
+    /**
+     * Faixas inclusivas de renda e idade de uma listagem de clientes elegíveis.
+     */
+    private record EligibilityBounds(double minIncome, double maxIncome, int minAge, int maxAge) {
+
+        boolean isEmpty() {
+            return minAge > maxAge || minIncome > maxIncome;
+        }
     }
 }
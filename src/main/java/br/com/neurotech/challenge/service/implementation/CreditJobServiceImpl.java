@@ -0,0 +1,308 @@
+package br.com.neurotech.challenge.service.implementation;
+
+import br.com.neurotech.challenge.dto.CreditJobResultDTO;
+import br.com.neurotech.challenge.entity.CreditJob;
+import br.com.neurotech.challenge.entity.CreditJobItem;
+import br.com.neurotech.challenge.entity.VehicleModel;
+import br.com.neurotech.challenge.repository.CreditJobItemRepository;
+import br.com.neurotech.challenge.repository.CreditJobRepository;
+import br.com.neurotech.challenge.service.CreditJobService;
+import br.com.neurotech.challenge.service.CreditService;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Implementação do {@link CreditJobService}.
+ * <p>
+ * A submissão grava apenas o registro do job; os clientes são gravados em segundo plano, em uma única
+ * transação que também coloca o job na fila. Um job interrompido durante essa gravação é marcado como falho,
+ * pois os identificadores estavam apenas na memória da instância.
+ * <p>
+ * Os jobs são executados por um grupo fixo de workers. Cada worker avalia os clientes do job em blocos: lê um
+ * bloco de itens, carrega os clientes com as consultas {@code IN} do {@link CreditService} e grava os
+ * resultados e o novo {@code processed} do job na mesma transação.
+ * <p>
+ * Cada instância renova periodicamente o prazo dos seus jobs e assume os jobs sem instância responsável ou com
+ * o prazo expirado, retomando-os do último bloco gravado; os jobs de instâncias ativas não são executados de
+ * novo. Todas as gravações do registro do job são {@code UPDATE}s condicionados à instância responsável: se uma
+ * instância perde um job, por exemplo após uma pausa maior que o prazo, a gravação do bloco seguinte não altera
+ * nenhuma linha, a instância para sem gravar os resultados desse bloco, e nada do que a nova responsável gravou
+ * é sobrescrito.
+ * <p>
+ * A quantidade de jobs aceitos e ainda não concluídos é limitada a {@code workers + queue-capacity}; acima
+ * disso, novos jobs são recusados antes de qualquer gravação.
+ */
+@Service
+public class CreditJobServiceImpl implements CreditJobService {
+
+    private static final Logger LOGGER = Logger.getLogger(CreditJobServiceImpl.class.getName());
+
+    /**
+     * Situações dos jobs que ainda não terminaram.
+     */
+    private static final List<CreditJob.Status> ACTIVE =
+            List.of(CreditJob.Status.STAGING, CreditJob.Status.QUEUED, CreditJob.Status.RUNNING);
+
+    private final CreditJobRepository jobRepository;
+    private final CreditJobItemRepository itemRepository;
+    private final CreditService creditService;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int capacity;
+    private final String owner;
+    private final Duration lease;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final ExecutorService staging;
+    private final ExecutorService workers;
+
+    /**
+     * @param jobRepository      Repositório dos jobs.
+     * @param itemRepository     Repositório dos clientes de cada job.
+     * @param creditService      Serviço que avalia o crédito dos clientes.
+     * @param entityManager      Utilizado para liberar da memória cada bloco de itens gravado no registro do job.
+     * @param transactionManager Gerenciador das transações de registro do job e de cada bloco.
+     * @param workers            Quantidade de jobs executados em paralelo.
+     * @param queueCapacity      Quantidade de jobs que podem aguardar por um worker.
+     * @param chunkSize          Quantidade de clientes avaliados por transação.
+     * @param instanceId         Identificador desta instância nos jobs; quando vazio, é gerado na partida.
+     * @param lease              Prazo após o qual os jobs de uma instância que não o renovou podem ser assumidos
+     *                           por outra.
+     */
+    public CreditJobServiceImpl(CreditJobRepository jobRepository, CreditJobItemRepository itemRepository,
+                                CreditService creditService, EntityManager entityManager,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${neurotech.credit-jobs.workers:2}") int workers,
+                                @Value("${neurotech.credit-jobs.queue-capacity:50}") int queueCapacity,
+                                @Value("${neurotech.credit-jobs.chunk-size:1000}") int chunkSize,
+                                @Value("${neurotech.credit-jobs.instance-id:}") String instanceId,
+                                @Value("${neurotech.credit-jobs.lease:PT1M}") Duration lease) {
+        this.jobRepository = jobRepository;
+        this.itemRepository = itemRepository;
+        this.creditService = creditService;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.capacity = workers + queueCapacity;
+        this.owner = instanceId.isBlank() ? UUID.randomUUID().toString() : instanceId;
+        this.lease = lease;
+        this.staging = Executors.newSingleThreadExecutor(
+                Thread.ofPlatform().name("credit-job-staging").daemon().factory());
+        this.workers = Executors.newFixedThreadPool(workers,
+                Thread.ofPlatform().name("credit-job-", 1).daemon().factory());
+    }
+
+    @Override
+    public CreditJob submit(List<UUID> clientIds, VehicleModel model) {
+        if (pending.incrementAndGet() > capacity) {
+            pending.decrementAndGet();
+            throw new RejectedExecutionException("A fila de jobs de crédito está cheia, tente novamente mais tarde");
+        }
+
+        try {
+            var job = transactionTemplate.execute(status -> create(clientIds.size(), model));
+            staging.execute(() -> stage(job.getId(), clientIds));
+            return job;
+        } catch (RuntimeException e) {
+            pending.decrementAndGet();
+            throw e;
+        }
+    }
+
+    @Override
+    public CreditJob get(UUID id) {
+        return jobRepository.findById(id).orElse(null);
+    }
+
+    @Override
+    public List<CreditJobResultDTO> getResults(UUID jobId, int after, int limit) {
+        return itemRepository.findResults(jobId, after, Limit.of(limit));
+    }
+
+    /**
+     * Renova o prazo dos jobs desta instância e assume os jobs sem instância responsável ou com o prazo
+     * expirado: os que já tinham os clientes gravados voltam para a fila, a partir do último bloco gravado; os
+     * que estavam sendo gravados são marcados como falhos. Eles já haviam sido aceitos, portanto não passam pelo
+     * limite de jobs pendentes.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${neurotech.credit-jobs.heartbeat:PT15S}",
+            fixedDelayString = "${neurotech.credit-jobs.heartbeat:PT15S}")
+    public void resumeUnfinished() {
+        var now = Instant.now();
+        jobRepository.renewLeases(owner, ACTIVE, now.plus(lease));
+        for (var jobId : jobRepository.findOrphanedIds(ACTIVE, now)) {
+            if (jobRepository.claim(jobId, owner, now, now.plus(lease)) == 0) {
+                // assumido por outra instância
+                continue;
+            }
+            var job = jobRepository.findById(jobId).orElseThrow();
+            if (job.getStatus() == CreditJob.Status.STAGING) {
+                LOGGER.warning("Job de crédito " + jobId + " interrompido durante a gravação dos clientes");
+                fail(jobId);
+                continue;
+            }
+            LOGGER.info("Retomando o job de crédito " + jobId + " a partir do cliente " + job.getProcessed());
+            pending.incrementAndGet();
+            workers.execute(() -> run(jobId));
+        }
+    }
+
+    /**
+     * Interrompe a gravação dos clientes e os workers; os jobs em execução mantêm o último bloco gravado e são
+     * retomados por esta ou outra instância após o prazo.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        staging.shutdownNow();
+        workers.shutdownNow();
+        staging.awaitTermination(10, TimeUnit.SECONDS);
+        workers.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Grava o registro do job, sob a responsabilidade desta instância.
+     */
+    private CreditJob create(int total, VehicleModel model) {
+        var job = new CreditJob();
+        job.setVehicleModel(model);
+        job.setStatus(CreditJob.Status.STAGING);
+        job.setTotal(total);
+        job.setProcessed(0);
+        job.setCreatedAt(Instant.now());
+        job.setOwner(owner);
+        job.setLeaseExpiresAt(job.getCreatedAt().plus(lease));
+        return jobRepository.save(job);
+    }
+
+    /**
+     * Grava os clientes do job e o coloca na fila dos workers. Os itens são gravados em blocos, liberando cada
+     * bloco do contexto de persistência após o flush para que jobs grandes não mantenham todos os itens em
+     * memória.
+     */
+    private void stage(UUID jobId, List<UUID> clientIds) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                var items = new ArrayList<CreditJobItem>(Math.min(clientIds.size(), chunkSize));
+                for (int position = 0; position < clientIds.size(); position++) {
+                    var item = new CreditJobItem();
+                    item.setId(new CreditJobItem.Key(jobId, position));
+                    item.setClientId(clientIds.get(position));
+                    items.add(item);
+                    if (items.size() == chunkSize || position == clientIds.size() - 1) {
+                        itemRepository.saveAll(items);
+                        entityManager.flush();
+                        entityManager.clear();
+                        items.clear();
+                    }
+                }
+            });
+            if (jobRepository.updateStatus(jobId, owner, CreditJob.Status.QUEUED) == 0) {
+                lost(jobId);
+                pending.decrementAndGet();
+                return;
+            }
+            workers.execute(() -> run(jobId));
+        } catch (RuntimeException e) {
+            pending.decrementAndGet();
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            LOGGER.log(Level.SEVERE, "Falha na gravação dos clientes do job de crédito " + jobId, e);
+            fail(jobId);
+        }
+    }
+
+    private void run(UUID jobId) {
+        try {
+            if (jobRepository.updateStatus(jobId, owner, CreditJob.Status.RUNNING) == 0) {
+                lost(jobId);
+                return;
+            }
+
+            boolean done = false;
+            while (!done && !Thread.currentThread().isInterrupted()) {
+                done = Boolean.TRUE.equals(transactionTemplate.execute(status -> processChunk(jobId)));
+            }
+        } catch (RuntimeException e) {
+            if (Thread.currentThread().isInterrupted()) {
+                // encerramento da aplicação: o job é retomado do último bloco gravado
+                return;
+            }
+            LOGGER.log(Level.SEVERE, "Falha no job de crédito " + jobId, e);
+            fail(jobId);
+        } finally {
+            pending.decrementAndGet();
+        }
+    }
+
+    /**
+     * Avalia o próximo bloco de clientes do job. Os resultados só são atribuídos aos itens depois que o novo
+     * progresso é gravado, condicionado a esta instância; o {@code UPDATE} mantém a linha do job bloqueada até o
+     * commit, e outra instância só consegue assumi-lo depois disso.
+     *
+     * @return {@code true} se o job foi concluído ou assumido por outra instância.
+     */
+    private boolean processChunk(UUID jobId) {
+        var job = jobRepository.findById(jobId).orElseThrow();
+        int from = job.getProcessed();
+        int to = Math.min(from + chunkSize, job.getTotal());
+
+        if (from < to) {
+            var items = itemRepository.findRange(jobId, from, to);
+            var model = job.getVehicleModel();
+            var results = creditService.checkCredit(items.stream().map(CreditJobItem::getClientId).toList(), List.of(model));
+            if (jobRepository.updateProgress(jobId, owner, to) == 0) {
+                lost(jobId);
+                return true;
+            }
+            for (var item : items) {
+                var eligibility = results.get(item.getClientId());
+                item.setEligible(eligibility == null ? null : eligibility.get(model));
+            }
+        }
+
+        if (to == job.getTotal()) {
+            if (jobRepository.finish(jobId, owner, CreditJob.Status.COMPLETED, Instant.now()) == 0) {
+                lost(jobId);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private void lost(UUID jobId) {
+        LOGGER.warning("Job de crédito " + jobId + " assumido por outra instância");
+    }
+
+    private void fail(UUID jobId) {
+        try {
+            if (jobRepository.finish(jobId, owner, CreditJob.Status.FAILED, Instant.now()) == 0) {
+                lost(jobId);
+            }
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.SEVERE, "Não foi possível registrar a falha do job de crédito " + jobId, e);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package br.com.neurotech.challenge.service.implementation;
+
+import br.com.neurotech.challenge.entity.Credit;
+import br.com.neurotech.challenge.entity.VehicleModel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Contadores das decisões de crédito.
+ * <p>
+ * Todas as combinações de tags são registradas na construção e guardadas em arrays indexados pelo
+ * {@code ordinal} dos enums; registrar um evento é apenas um incremento, sem busca no registro nem
+ * alocação de tags.
+ */
+@Component
+public class CreditMetrics {
+
+    private static final VehicleModel[] MODELS = VehicleModel.values();
+    private static final Credit.CreditType[] TYPES = Credit.CreditType.values();
+
+    private final Counter[] eligibility;
+    private final Counter[] granted;
+    private final Counter rejected;
+
+    public CreditMetrics(MeterRegistry registry) {
+        this.eligibility = new Counter[MODELS.length * 2];
+        for (var model : MODELS) {
+            for (boolean eligible : new boolean[]{false, true}) {
+                eligibility[index(model, eligible)] = Counter.builder("neurotech.credit.eligibility")
+                        .description("Verificações de elegibilidade ao crédito automotivo")
+                        .tag("model", model.name())
+                        .tag("eligible", Boolean.toString(eligible))
+                        .register(registry);
+            }
+        }
+
+        this.granted = new Counter[TYPES.length];
+        for (var type : TYPES) {
+            granted[type.ordinal()] = Counter.builder("neurotech.credit.granted")
+                    .description("Créditos concedidos por tipo")
+                    .tag("type", type.name())
+                    .register(registry);
+        }
+
+        this.rejected = Counter.builder("neurotech.credit.rejected")
+                .description("Clientes que não se qualificam para nenhum crédito")
+                .register(registry);
+    }
+
+    /**
+     * Registra o resultado de uma verificação de elegibilidade.
+     */
+    public void eligibility(VehicleModel model, boolean eligible) {
+        eligibility[index(model, eligible)].increment();
+    }
+
+    /**
+     * Registra a concessão de um crédito do tipo informado.
+     */
+    public void granted(Credit.CreditType type) {
+        granted[type.ordinal()].increment();
+    }
+
+    /**
+     * Registra um cliente que não se qualifica para nenhum crédito.
+     */
+    public void rejected() {
+        rejected.increment();
+    }
+
+    private static int index(VehicleModel model, boolean eligible) {
+        return model.ordinal() * 2 + (eligible ? 1 : 0);
+    }
+}
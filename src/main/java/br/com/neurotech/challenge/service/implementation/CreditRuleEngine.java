@@ -0,0 +1,277 @@
+package br.com.neurotech.challenge.service.implementation;
+
+import br.com.neurotech.challenge.configs.CreditRulesProperties;
+import br.com.neurotech.challenge.entity.Credit;
+import br.com.neurotech.challenge.entity.NeurotechClient;
+import br.com.neurotech.challenge.entity.VehicleModel;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.TreeSet;
+
+/**
+ * Motor de regras de crédito.
+ * <p>
+ * As tabelas de {@link CreditRulesProperties} são compiladas em uma estrutura imutável de arrays primitivos,
+ * na qual cada faixa é reduzida a um par de limites inclusivos; avaliar uma regra é apenas uma sequência de
+ * comparações, sem alocação. Uma recarga compila as novas tabelas à parte e as publica com uma única escrita
+ * volátil: requisições em andamento continuam usando as regras que já haviam obtido e nunca aguardam a recarga.
+ */
+@Component
+public class CreditRuleEngine {
+
+    private volatile Rules rules;
+
+    public CreditRuleEngine(CreditRulesProperties properties) {
+        this.rules = compile(properties);
+    }
+
+    /**
+     * Retorna as regras vigentes. O objeto retornado é imutável e pode ser usado durante toda uma avaliação.
+     */
+    public Rules rules() {
+        return rules;
+    }
+
+    /**
+     * Compila e publica novas tabelas de regras.
+     *
+     * @param properties Novas tabelas de regras.
+     * @throws IllegalArgumentException se as tabelas forem inválidas; nesse caso as regras vigentes são mantidas.
+     */
+    public void reload(CreditRulesProperties properties) {
+        this.rules = compile(properties);
+    }
+
+    /**
+     * Calcula, com as regras vigentes, a elegibilidade do cliente a cada modelo de veículo e a grava nas
+     * colunas correspondentes da entidade. Deve ser chamado sempre que a idade ou a renda forem gravadas.
+     * Sem idade ou renda, a elegibilidade fica sem cálculo.
+     */
+    public void applyEligibility(NeurotechClient client) {
+        if (client.getAge() == null || client.getIncome() == null) {
+            client.setHatchEligible(null);
+            client.setSuvEligible(null);
+            return;
+        }
+        var rules = this.rules;
+        client.setHatchEligible(rules.eligible(VehicleModel.HATCH, client.getAge(), client.getIncome()));
+        client.setSuvEligible(rules.eligible(VehicleModel.SUV, client.getAge(), client.getIncome()));
+    }
+
+    static Rules compile(CreditRulesProperties tables) {
+        // as tabelas recebidas (como o bean de configuração) podem ser alteradas depois; a compilação usa uma cópia
+        var properties = tables.copy();
+        var creditTypes = properties.getCreditTypes();
+        if (creditTypes == null || creditTypes.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos uma regra de tipo de crédito");
+        }
+
+        int size = creditTypes.size();
+        var types = new Credit.CreditType[size];
+        var rates = new double[Credit.CreditType.values().length];
+        Arrays.fill(rates, Double.NaN);
+        var ageMin = new double[size];
+        var ageMax = new double[size];
+        var incomeMin = new double[size];
+        var incomeMax = new double[size];
+        var ageLimits = new TreeSet<Integer>();
+        var incomeLimits = new TreeSet<Double>();
+
+        for (int i = 0; i < size; i++) {
+            var rule = creditTypes.get(i);
+            if (rule == null || rule.getType() == null || rule.getRate() == null) {
+                throw new IllegalArgumentException("Regra de crédito " + i + " deve informar o tipo e a taxa");
+            }
+            if (!Double.isNaN(rates[rule.getType().ordinal()])) {
+                throw new IllegalArgumentException("Tipo de crédito duplicado: " + rule.getType());
+            }
+            types[i] = rule.getType();
+            rates[rule.getType().ordinal()] = rule.getRate();
+            ageMin[i] = lower(rule.getAge());
+            ageMax[i] = upper(rule.getAge());
+            incomeMin[i] = lower(rule.getIncome());
+            incomeMax[i] = upper(rule.getIncome());
+            addLimits(ageLimits, incomeLimits, ageMin[i], ageMax[i], incomeMin[i], incomeMax[i]);
+        }
+
+        int models = VehicleModel.values().length;
+        var vehicleAgeMin = new double[models];
+        var vehicleAgeMax = new double[models];
+        var vehicleIncomeMin = new double[models];
+        var vehicleIncomeMax = new double[models];
+
+        for (var model : VehicleModel.values()) {
+            var rule = properties.getVehicles() == null ? null : properties.getVehicles().get(model);
+            if (rule == null) {
+                throw new IllegalArgumentException("Regra de elegibilidade ausente para o modelo " + model);
+            }
+            vehicleAgeMin[model.ordinal()] = lower(rule.getAge());
+            vehicleAgeMax[model.ordinal()] = upper(rule.getAge());
+            vehicleIncomeMin[model.ordinal()] = lower(rule.getIncome());
+            vehicleIncomeMax[model.ordinal()] = upper(rule.getIncome());
+            addLimits(ageLimits, incomeLimits, vehicleAgeMin[model.ordinal()], vehicleAgeMax[model.ordinal()],
+                    vehicleIncomeMin[model.ordinal()], vehicleIncomeMax[model.ordinal()]);
+        }
+
+        return new Rules(properties, types, rates, ageMin, ageMax, incomeMin, incomeMax,
+                vehicleAgeMin, vehicleAgeMax, vehicleIncomeMin, vehicleIncomeMax,
+                ageLimits.tailSet(1).stream().mapToInt(Integer::intValue).toArray(),
+                incomeLimits.tailSet(0.0, false).stream().mapToDouble(Double::doubleValue).toArray());
+    }
+
+    /**
+     * Acrescenta os pontos em que uma faixa de idade e uma faixa de renda de uma regra começam ou deixam de valer:
+     * a menor idade inteira aceita e a primeira acima da maior; a menor renda aceita e a primeira acima da maior.
+     */
+    private static void addLimits(TreeSet<Integer> ageLimits, TreeSet<Double> incomeLimits,
+                                  double ageMin, double ageMax, double incomeMin, double incomeMax) {
+        if (Double.isFinite(ageMin)) {
+            ageLimits.add((int) Math.ceil(ageMin));
+        }
+        if (Double.isFinite(ageMax)) {
+            ageLimits.add((int) Math.floor(ageMax) + 1);
+        }
+        if (Double.isFinite(incomeMin)) {
+            incomeLimits.add(incomeMin);
+        }
+        if (Double.isFinite(incomeMax)) {
+            incomeLimits.add(Math.nextUp(incomeMax));
+        }
+    }
+
+    /**
+     * Menor valor aceito pelo intervalo; um limite exclusivo é convertido no próximo double representável.
+     */
+    private static double lower(CreditRulesProperties.Interval interval) {
+        if (interval == null || interval.getMin() == null) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        return interval.isMinExclusive() ? Math.nextUp(interval.getMin()) : interval.getMin();
+    }
+
+    /**
+     * Maior valor aceito pelo intervalo; um limite exclusivo é convertido no double representável anterior.
+     */
+    private static double upper(CreditRulesProperties.Interval interval) {
+        if (interval == null || interval.getMax() == null) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return interval.isMaxExclusive() ? Math.nextDown(interval.getMax()) : interval.getMax();
+    }
+
+    /**
+     * Regras compiladas. Todas as faixas são inclusivas em ambos os limites.
+     */
+    public static final class Rules {
+
+        private final CreditRulesProperties source;
+        private final Credit.CreditType[] types;
+        private final double[] rates;
+        private final double[] ageMin;
+        private final double[] ageMax;
+        private final double[] incomeMin;
+        private final double[] incomeMax;
+        private final double[] vehicleAgeMin;
+        private final double[] vehicleAgeMax;
+        private final double[] vehicleIncomeMin;
+        private final double[] vehicleIncomeMax;
+        private final int[] ageLimits;
+        private final double[] incomeLimits;
+
+        private Rules(CreditRulesProperties source, Credit.CreditType[] types, double[] rates,
+                      double[] ageMin, double[] ageMax, double[] incomeMin, double[] incomeMax,
+                      double[] vehicleAgeMin, double[] vehicleAgeMax, double[] vehicleIncomeMin, double[] vehicleIncomeMax,
+                      int[] ageLimits, double[] incomeLimits) {
+            this.source = source;
+            this.types = types;
+            this.rates = rates;
+            this.ageMin = ageMin;
+            this.ageMax = ageMax;
+            this.incomeMin = incomeMin;
+            this.incomeMax = incomeMax;
+            this.vehicleAgeMin = vehicleAgeMin;
+            this.vehicleAgeMax = vehicleAgeMax;
+            this.vehicleIncomeMin = vehicleIncomeMin;
+            this.vehicleIncomeMax = vehicleIncomeMax;
+            this.ageLimits = ageLimits;
+            this.incomeLimits = incomeLimits;
+        }
+
+        /**
+         * Cópia das tabelas a partir das quais estas regras foram compiladas; alterá-la não afeta as regras.
+         */
+        public CreditRulesProperties source() {
+            return source.copy();
+        }
+
+        /**
+         * Determina o tipo de crédito de um cliente: o primeiro cujas faixas contemplam a idade e a renda.
+         *
+         * @return O tipo de crédito, ou {@code null} se o cliente não se qualifica para nenhum.
+         */
+        public Credit.CreditType creditType(int age, double income) {
+            for (int i = 0; i < types.length; i++) {
+                if (age >= ageMin[i] && age <= ageMax[i] && income >= incomeMin[i] && income <= incomeMax[i]) {
+                    return types[i];
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Taxa de juros de um tipo de crédito.
+         */
+        public double rate(Credit.CreditType type) {
+            return rates[type.ordinal()];
+        }
+
+        /**
+         * Verifica se a idade e a renda atendem às exigências de um modelo de veículo.
+         */
+        public boolean eligible(VehicleModel model, int age, double income) {
+            int m = model.ordinal();
+            return age >= vehicleAgeMin[m] && age <= vehicleAgeMax[m]
+                    && income >= vehicleIncomeMin[m] && income <= vehicleIncomeMax[m];
+        }
+
+        /**
+         * Menor e maior idade (inclusivas) exigidas por um modelo de veículo.
+         */
+        public double minAge(VehicleModel model) {
+            return vehicleAgeMin[model.ordinal()];
+        }
+
+        public double maxAge(VehicleModel model) {
+            return vehicleAgeMax[model.ordinal()];
+        }
+
+        /**
+         * Menor e maior renda (inclusivas) exigidas por um modelo de veículo.
+         */
+        public double minIncome(VehicleModel model) {
+            return vehicleIncomeMin[model.ordinal()];
+        }
+
+        public double maxIncome(VehicleModel model) {
+            return vehicleIncomeMax[model.ordinal()];
+        }
+
+        /**
+         * Idades em que começam as faixas de idade das estatísticas da carteira, em ordem crescente, exceto a
+         * primeira faixa, que começa em zero: todos os limites de idade das regras de crédito e de veículos. Os
+         * clientes de uma mesma faixa recebem a mesma resposta de cada regra de idade.
+         */
+        public int[] ageLimits() {
+            return ageLimits.clone();
+        }
+
+        /**
+         * Rendas em que começam as faixas de renda das estatísticas da carteira, em ordem crescente e pertencendo
+         * à faixa que começam, exceto a primeira faixa, que começa em zero: todos os limites de renda das regras.
+         */
+        public double[] incomeLimits() {
+            return incomeLimits.clone();
+        }
+    }
+}
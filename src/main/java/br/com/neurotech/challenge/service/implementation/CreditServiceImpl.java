@@ -1,40 +1,61 @@
 package br.com.neurotech.challenge.service.implementation;
 
+import br.com.neurotech.challenge.dto.RescoringResultDTO;
 import br.com.neurotech.challenge.entity.Credit;
 import br.com.neurotech.challenge.entity.NeurotechClient;
 import br.com.neurotech.challenge.entity.VehicleModel;
+import br.com.neurotech.challenge.repository.CreditRepository;
 import br.com.neurotech.challenge.repository.NeurotechClientRepository;
+import br.com.neurotech.challenge.service.ClientService;
 import br.com.neurotech.challenge.service.CreditService;
 import org.springframework.stereotype.Service;
-
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.logging.Logger;
+import java.util.UUID;
 
 @Service
 public class CreditServiceImpl implements CreditService {
 
+    /**
+     * Quantidade máxima de identificadores em cada consulta {@code IN} da verificação em lote.
+     */
+    static final int IN_QUERY_CHUNK_SIZE = 1000;
+
     private final NeurotechClientRepository neurotechClientRepository;
+    private final CreditRepository creditRepository;
+    private final ClientService clientService;
+    private final CreditRuleEngine ruleEngine;
+    private final CreditMetrics metrics;
 
-    public CreditServiceImpl(NeurotechClientRepository repository) {
+    public CreditServiceImpl(NeurotechClientRepository repository, CreditRepository creditRepository,
+                             ClientService clientService, CreditRuleEngine ruleEngine, CreditMetrics metrics) {
         this.neurotechClientRepository = repository;
+        this.creditRepository = creditRepository;
+        this.clientService = clientService;
+        this.ruleEngine = ruleEngine;
+        this.metrics = metrics;
     }
 
 
     @Override
-    public boolean checkCredit(String clientId, VehicleModel model) {
+    @Transactional(readOnly = true)
+    public boolean checkCredit(UUID clientId, VehicleModel model) {
 
-        return neurotechClientRepository.findById(clientId)
+        return Optional.ofNullable(clientService.get(clientId))
                 .map(client -> {
-                    var isEligible = false;
-
-                    switch (model) {
-                        case HATCH -> {
-                            isEligible = isEligibleForHatch(client, model);
-                        }
-                        case SUV -> {
-                            isEligible = isEligibleForSUV(client, model);
-                        }
-                    }
-                    return isEligible;
+                    boolean eligible = eligible(ruleEngine.rules(), client.eligibleFor(model), client.age(), client.income(), model);
+                    metrics.eligibility(model, eligible);
+                    return eligible;
                 })
                 .orElseGet(() -> {
                     Logger.getLogger(getClass().getName()).warning("Cliente não encontrado");
@@ -43,48 +64,101 @@ public class CreditServiceImpl implements CreditService {
     }
 
     @Override
-    public Credit createCreditForClient(NeurotechClient client) {
-        Credit.CreditType creditType = determineCreditType(client);
-        Credit credit = new Credit();
-        credit.setType(creditType);
+    @Transactional(readOnly = true)
+    public Map<UUID, Map<VehicleModel, Boolean>> checkCredit(Collection<UUID> clientIds, Collection<VehicleModel> models) {
+        var ids = new ArrayList<>(new LinkedHashSet<>(clientIds));
+        var clients = new HashMap<UUID, NeurotechClient>(ids.size() * 2);
+
+        for (int from = 0; from < ids.size(); from += IN_QUERY_CHUNK_SIZE) {
+            var chunk = ids.subList(from, Math.min(from + IN_QUERY_CHUNK_SIZE, ids.size()));
+            for (var client : neurotechClientRepository.findAllById(chunk)) {
+                clients.put(client.getId(), client);
+            }
+        }
 
-        switch (creditType) {
-            case FIXED_INTEREST:
-                credit.setInterestRate(Credit.FIXED_INTEREST_RATE);
-                break;
-            case VARIABLE_INTEREST:
-                credit.setInterestRate(Credit.VARIABLE_INTEREST_RATE);
-                break;
-            case PAYROLL:
-                credit.setInterestRate(Credit.PAYROLL_RATE);
-                break;
+        var rules = ruleEngine.rules();
+        var result = new LinkedHashMap<UUID, Map<VehicleModel, Boolean>>(clients.size() * 2);
+        for (var id : ids) {
+            var client = clients.get(id);
+            if (client == null) {
+                continue;
+            }
+
+            var eligibility = new EnumMap<VehicleModel, Boolean>(VehicleModel.class);
+            for (var model : models) {
+                boolean eligible = eligible(rules, client.eligibleFor(model), client.getAge(), client.getIncome(), model);
+                metrics.eligibility(model, eligible);
+                eligibility.put(model, eligible);
+            }
+            result.put(id, eligibility);
         }
+        return result;
+    }
 
+    @Override
+    public Credit createCreditForClient(NeurotechClient client) {
+        var rules = ruleEngine.rules();
+        Credit.CreditType creditType = determineCreditType(rules, client);
+        Credit credit = new Credit();
+        credit.setType(creditType);
+        credit.setInterestRate(rules.rate(creditType));
         credit.setClient(client);
+        metrics.granted(creditType);
         return credit;
     }
 
-    private Credit.CreditType determineCreditType(NeurotechClient client) {
-        if (client.getAge() >= 18 && client.getAge() <= 25) {
-            return Credit.CreditType.FIXED_INTEREST;
-        } else if (client.getAge() >= 21 && client.getAge() <= 65 && client.getIncome() >= 5000 && client.getIncome() <= 15000) {
-            return Credit.CreditType.VARIABLE_INTEREST;
-        } else if (client.getAge() > 65) {
-            return Credit.CreditType.PAYROLL;
-        }
-        throw new IllegalArgumentException("Cliente não se qualifica para nenhum crédito.");
+    @Override
+    @Transactional
+    public UUID createClientWithCredit(NeurotechClient client) {
+        client.getCredits().add(createCreditForClient(client));
+        neurotechClientRepository.save(client);
+        return client.getId();
     }
 
-    private boolean isEligibleForHatch(NeurotechClient client, VehicleModel model) {
-        return VehicleModel.HATCH.equals(model) &&
-                client.getIncome() >= Credit.HATCH_INCOME_MIN &&
-                client.getIncome() <= Credit.HATCH_INCOME_MAX;
+    @Override
+    @Transactional
+    public RescoringResultDTO rescore(Collection<UUID> clientIds) {
+        var rules = ruleEngine.rules();
+        var credits = creditRepository.findByClientIds(clientIds);
+        var updatedClients = new LinkedHashSet<UUID>();
+        int updated = 0;
+        int unqualified = 0;
+
+        // as alterações são gravadas no commit, em lotes de hibernate.jdbc.batch_size, com verificação da versão
+        for (var credit : credits) {
+            var client = credit.getClient();
+            // clientes sem idade ou renda não se qualificam, como na elegibilidade pré-calculada
+            var creditType = client.getAge() == null || client.getIncome() == null
+                    ? null
+                    : rules.creditType(client.getAge(), client.getIncome());
+            if (creditType == null) {
+                unqualified++;
+                continue;
+            }
+            double rate = rules.rate(creditType);
+            if (creditType != credit.getType() || credit.getInterestRate() != rate) {
+                credit.setType(creditType);
+                credit.setInterestRate(rate);
+                updatedClients.add(client.getId());
+                updated++;
+            }
+        }
+        return new RescoringResultDTO(credits.size(), List.copyOf(updatedClients), updated, unqualified);
     }
 
-    private boolean isEligibleForSUV(NeurotechClient client, VehicleModel model) {
+    /**
+     * Elegibilidade pré-calculada do cliente; clientes ainda sem o cálculo são avaliados pelas regras vigentes.
+     */
+    private static boolean eligible(CreditRuleEngine.Rules rules, Boolean precomputed, int age, double income, VehicleModel model) {
+        return precomputed != null ? precomputed : rules.eligible(model, age, income);
+    }
 
-        return VehicleModel.SUV.equals(model) &&
-                client.getIncome() > Credit.SUV_INCOME_MIN &&
-                client.getAge() > Credit.SUV_AGE_MIN;
+    private Credit.CreditType determineCreditType(CreditRuleEngine.Rules rules, NeurotechClient client) {
+        var creditType = rules.creditType(client.getAge(), client.getIncome());
+        if (creditType == null) {
+            metrics.rejected();
+            throw new IllegalArgumentException("Cliente não se qualifica para nenhum crédito.");
+        }
+        return creditType;
     }
 }
@@ -0,0 +1,387 @@
+package br.com.neurotech.challenge.service.implementation;
+
+import br.com.neurotech.challenge.dto.EligibilityRowDTO;
+import br.com.neurotech.challenge.dto.NeurotechClientDTO;
+import br.com.neurotech.challenge.entity.Credit;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+/**
+ * Índice em memória utilizado na listagem de clientes elegíveis.
+ * <p>
+ * Os clientes são particionados por {@link Credit.CreditType}; cada partição guarda arrays primitivos
+ * ordenados por idade, com a renda na mesma posição, de forma que uma consulta por faixa de idade e renda
+ * é uma busca binária seguida de uma varredura contígua. As partições são imutáveis e substituídas
+ * atomicamente a cada alteração, portanto as leituras nunca aguardam as escritas.
+ * <p>
+ * Para que o custo de uma escrita não seja proporcional ao tamanho do índice, cada partição é composta por
+ * uma base, por um delta pequeno com os clientes alterados desde a última compactação e pelos identificadores
+ * retirados da base. Cada transação reconstrói apenas o delta; a base é reconstruída, de uma só vez, quando o
+ * delta passa de {@link #compactionThreshold(int)}, em geral após muitas transações.
+ * <p>
+ * Assim como a consulta {@code findEligibleClients}, um cliente aparece uma única vez em cada partição,
+ * ainda que possua vários créditos do mesmo tipo.
+ */
+@Component
+@ConditionalOnProperty(name = "neurotech.eligibility-index.enabled", havingValue = "true")
+public class EligibilityIndex {
+
+    private static final Credit.CreditType[] TYPES = Credit.CreditType.values();
+    private static final Partition EMPTY = new Partition(new int[0], new double[0], new UUID[0], new String[0]);
+    private static final Snapshot EMPTY_SNAPSHOT = new Snapshot(EMPTY, EMPTY, Set.of());
+
+    /**
+     * Tamanho mínimo do delta de uma partição antes da compactação.
+     */
+    static final int MIN_COMPACTION_THRESHOLD = 1024;
+
+    /**
+     * Estado de referência do índice, protegido pelo monitor da instância.
+     */
+    private final Map<UUID, UUID> clientByCredit = new HashMap<>();
+    private final Map<UUID, ClientState> clients = new HashMap<>();
+
+    private volatile Snapshot[] partitions;
+    private volatile boolean ready;
+
+    public EligibilityIndex() {
+        var empty = new Snapshot[TYPES.length];
+        Arrays.fill(empty, EMPTY_SNAPSHOT);
+        this.partitions = empty;
+    }
+
+    /**
+     * Indica se o índice já foi carregado e pode responder consultas.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Substitui todo o conteúdo do índice pelas linhas informadas.
+     *
+     * @param source Linhas do índice, uma por crédito.
+     */
+    public synchronized void load(Iterator<EligibilityRowDTO> source) {
+        clientByCredit.clear();
+        clients.clear();
+        source.forEachRemaining(this::putCredit);
+
+        var byType = new HashMap<Credit.CreditType, List<Map.Entry<UUID, ClientState>>>();
+        for (var entry : clients.entrySet()) {
+            for (var type : entry.getValue().types()) {
+                byType.computeIfAbsent(type, t -> new ArrayList<>()).add(entry);
+            }
+        }
+
+        var loaded = new Snapshot[TYPES.length];
+        for (var type : TYPES) {
+            var additions = byType.getOrDefault(type, new ArrayList<>());
+            loaded[type.ordinal()] = new Snapshot(partition(sortedByAge(additions)), EMPTY, Set.of());
+        }
+        this.partitions = loaded;
+        this.ready = true;
+    }
+
+    /**
+     * Busca os clientes que possuem crédito do tipo informado e cuja idade e renda estão dentro dos intervalos
+     * informados (inclusivos), com a mesma semântica de {@code NeurotechClientRepository.findEligibleClients}.
+     *
+     * @return Clientes elegíveis, ordenados por idade.
+     */
+    public List<NeurotechClientDTO> find(Credit.CreditType type, double minIncome, double maxIncome, int minAge, int maxAge) {
+        var snapshot = partitions[type.ordinal()];
+        var base = snapshot.base();
+        var delta = snapshot.delta();
+        var removed = snapshot.removed();
+
+        // intercala as faixas da base e do delta, mantendo a ordenação por idade
+        var result = new ArrayList<NeurotechClientDTO>();
+        int i = lowerBound(base.ages(), minAge);
+        int j = lowerBound(delta.ages(), minAge);
+        while (true) {
+            boolean inBase = i < base.ages().length && base.ages()[i] <= maxAge;
+            boolean inDelta = j < delta.ages().length && delta.ages()[j] <= maxAge;
+            if (inBase && (!inDelta || base.ages()[i] <= delta.ages()[j])) {
+                if (removed.isEmpty() || !removed.contains(base.clientIds()[i])) {
+                    add(result, base, i, minIncome, maxIncome);
+                }
+                i++;
+            } else if (inDelta) {
+                add(result, delta, j++, minIncome, maxIncome);
+            } else {
+                return result;
+            }
+        }
+    }
+
+    private static void add(List<NeurotechClientDTO> result, Partition partition, int i, double minIncome, double maxIncome) {
+        double income = partition.incomes()[i];
+        if (income >= minIncome && income <= maxIncome) {
+            result.add(new NeurotechClientDTO(partition.clientIds()[i], partition.names()[i], partition.ages()[i], income));
+        }
+    }
+
+    /**
+     * Aplica um conjunto de alterações, reconstruindo apenas o delta das partições afetadas; a base de uma
+     * partição só é reconstruída quando o seu delta passa do limite de compactação.
+     *
+     * @param changes Alterações acumuladas, normalmente as de uma transação confirmada.
+     */
+    public synchronized void apply(Changes changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        // cliente alterado -> partições em que estava antes da primeira alteração
+        var touched = new HashMap<UUID, Set<Credit.CreditType>>();
+        for (var operation : changes.operations) {
+            operation.accept(this, touched);
+        }
+
+        var updated = partitions.clone();
+        for (var type : TYPES) {
+            var removed = new ArrayList<UUID>();
+            var additions = new ArrayList<Map.Entry<UUID, ClientState>>();
+            for (var entry : touched.entrySet()) {
+                if (entry.getValue().contains(type)) {
+                    removed.add(entry.getKey());
+                }
+                var current = clients.get(entry.getKey());
+                if (current != null && current.types().contains(type)) {
+                    additions.add(Map.entry(entry.getKey(), current));
+                }
+            }
+            if (removed.isEmpty() && additions.isEmpty()) {
+                continue;
+            }
+
+            // o cliente alterado sai da base (se estiver nela) e do delta, e volta ao delta com os dados atuais
+            var snapshot = updated[type.ordinal()];
+            var delta = merge(snapshot.delta(), touched.keySet(), partition(sortedByAge(additions)));
+            var removedFromBase = new HashSet<>(snapshot.removed());
+            removedFromBase.addAll(removed);
+            if (delta.ages().length + removedFromBase.size() > compactionThreshold(snapshot.base().ages().length)) {
+                updated[type.ordinal()] = new Snapshot(merge(snapshot.base(), removedFromBase, delta), EMPTY, Set.of());
+            } else {
+                updated[type.ordinal()] = new Snapshot(snapshot.base(), delta, removedFromBase);
+            }
+        }
+        this.partitions = updated;
+    }
+
+    /**
+     * Tamanho a partir do qual o delta de uma partição é incorporado à base. Cresce com a raiz quadrada do
+     * tamanho da base, equilibrando a cópia do delta a cada transação com a reconstrução periódica da base.
+     */
+    static int compactionThreshold(int baseSize) {
+        return Math.max(MIN_COMPACTION_THRESHOLD, 32 * (int) Math.sqrt(baseSize));
+    }
+
+    private void touch(UUID clientId, Map<UUID, Set<Credit.CreditType>> touched) {
+        if (!touched.containsKey(clientId)) {
+            var state = clients.get(clientId);
+            touched.put(clientId, state == null ? Set.of() : state.types());
+        }
+    }
+
+    private void putCredit(EligibilityRowDTO row) {
+        removeCredit(row.creditId());
+        clientByCredit.put(row.creditId(), row.clientId());
+
+        var state = clients.computeIfAbsent(row.clientId(), id -> new ClientState());
+        state.name = row.name();
+        state.age = row.age();
+        state.income = row.income();
+        state.credits.put(row.creditId(), row.type());
+    }
+
+    private void removeCredit(UUID creditId) {
+        var clientId = clientByCredit.remove(creditId);
+        if (clientId == null) {
+            return;
+        }
+        var state = clients.get(clientId);
+        state.credits.remove(creditId);
+        if (state.credits.isEmpty()) {
+            clients.remove(clientId);
+        }
+    }
+
+    private static List<Map.Entry<UUID, ClientState>> sortedByAge(List<Map.Entry<UUID, ClientState>> entries) {
+        entries.sort(Comparator.comparingInt(entry -> entry.getValue().age));
+        return entries;
+    }
+
+    /**
+     * Partição com os clientes informados, já ordenados por idade.
+     */
+    private static Partition partition(List<Map.Entry<UUID, ClientState>> entries) {
+        int size = entries.size();
+        var partition = new Partition(new int[size], new double[size], new UUID[size], new String[size]);
+        for (int k = 0; k < size; k++) {
+            var entry = entries.get(k);
+            partition.ages()[k] = entry.getValue().age;
+            partition.incomes()[k] = entry.getValue().income;
+            partition.clientIds()[k] = entry.getKey();
+            partition.names()[k] = entry.getValue().name;
+        }
+        return partition;
+    }
+
+    /**
+     * Gera uma nova partição a partir da atual, descartando os clientes em {@code skip} e intercalando os
+     * clientes de {@code additions}.
+     */
+    private static Partition merge(Partition current, Set<UUID> skip, Partition additions) {
+        int kept = 0;
+        for (var clientId : current.clientIds()) {
+            if (!skip.contains(clientId)) {
+                kept++;
+            }
+        }
+        int size = kept + additions.ages().length;
+        var merged = new Partition(new int[size], new double[size], new UUID[size], new String[size]);
+
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (k < size) {
+            while (i < current.ages().length && skip.contains(current.clientIds()[i])) {
+                i++;
+            }
+            boolean takeCurrent = j == additions.ages().length
+                    || (i < current.ages().length && current.ages()[i] <= additions.ages()[j]);
+            var source = takeCurrent ? current : additions;
+            int position = takeCurrent ? i++ : j++;
+            merged.ages()[k] = source.ages()[position];
+            merged.incomes()[k] = source.incomes()[position];
+            merged.clientIds()[k] = source.clientIds()[position];
+            merged.names()[k] = source.names()[position];
+            k++;
+        }
+        return merged;
+    }
+
+    /**
+     * Primeira posição cuja idade é maior ou igual a {@code age}.
+     */
+    private static int lowerBound(int[] ages, int age) {
+        int low = 0;
+        int high = ages.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ages[mid] < age) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Partição imutável do índice: arrays paralelos ordenados por idade.
+     */
+    private record Partition(int[] ages, double[] incomes, UUID[] clientIds, String[] names) {}
+
+    /**
+     * Estado imutável de um tipo de crédito: a base, o delta e os clientes retirados da base.
+     */
+    private record Snapshot(Partition base, Partition delta, Set<UUID> removed) {}
+
+    /**
+     * Dados de um cliente e os tipos dos seus créditos.
+     */
+    private static final class ClientState {
+        private String name;
+        private int age;
+        private double income;
+        private final Map<UUID, Credit.CreditType> credits = new HashMap<>(2);
+
+        private Set<Credit.CreditType> types() {
+            return credits.isEmpty() ? Set.of() : EnumSet.copyOf(credits.values());
+        }
+    }
+
+    /**
+     * Conjunto ordenado de alterações a serem aplicadas ao índice de uma só vez.
+     */
+    public static final class Changes {
+
+        private final List<BiConsumer<EligibilityIndex, Map<UUID, Set<Credit.CreditType>>>> operations = new ArrayList<>();
+
+        /**
+         * Inclui ou substitui a linha de um crédito.
+         */
+        public void put(EligibilityRowDTO row) {
+            operations.add((index, touched) -> {
+                var previousClient = index.clientByCredit.get(row.creditId());
+                if (previousClient != null) {
+                    index.touch(previousClient, touched);
+                }
+                index.touch(row.clientId(), touched);
+                index.putCredit(row);
+            });
+        }
+
+        /**
+         * Remove um crédito do índice.
+         */
+        public void removeCredit(UUID creditId) {
+            operations.add((index, touched) -> {
+                var clientId = index.clientByCredit.get(creditId);
+                if (clientId != null) {
+                    index.touch(clientId, touched);
+                    index.removeCredit(creditId);
+                }
+            });
+        }
+
+        /**
+         * Atualiza os dados de um cliente em todas as partições em que ele aparece.
+         */
+        public void updateClient(UUID clientId, String name, Integer age, Double income) {
+            operations.add((index, touched) -> {
+                var state = index.clients.get(clientId);
+                if (state != null) {
+                    index.touch(clientId, touched);
+                    state.name = name;
+                    state.age = age;
+                    state.income = income;
+                }
+            });
+        }
+
+        /**
+         * Remove um cliente e todos os seus créditos do índice.
+         */
+        public void removeClient(UUID clientId) {
+            operations.add((index, touched) -> {
+                var state = index.clients.get(clientId);
+                if (state != null) {
+                    index.touch(clientId, touched);
+                    index.clients.remove(clientId);
+                    state.credits.keySet().forEach(index.clientByCredit::remove);
+                }
+            });
+        }
+
+        public boolean isEmpty() {
+            return operations.isEmpty();
+        }
+    }
+}
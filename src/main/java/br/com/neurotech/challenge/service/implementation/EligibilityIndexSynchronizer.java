@@ -0,0 +1,141 @@
+package br.com.neurotech.challenge.service.implementation;
+
+import br.com.neurotech.challenge.dto.EligibilityRowDTO;
+import br.com.neurotech.challenge.entity.Credit;
+import br.com.neurotech.challenge.entity.NeurotechClient;
+import br.com.neurotech.challenge.repository.CreditRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Mantém o {@link EligibilityIndex} sincronizado com o banco de dados.
+ * <p>
+ * O índice é carregado antes de a aplicação começar a receber requisições e, a partir daí, acompanha as
+ * inclusões, alterações e exclusões de clientes e créditos feitas pelo Hibernate, qualquer que seja o caminho
+ * (cadastro individual, em lote ou exclusão). As alterações de uma transação são acumuladas e aplicadas de
+ * uma só vez após o commit; transações desfeitas não alteram o índice.
+ */
+@Component
+@ConditionalOnProperty(name = "neurotech.eligibility-index.enabled", havingValue = "true")
+public class EligibilityIndexSynchronizer implements SmartInitializingSingleton,
+        PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private final transient EligibilityIndex index;
+    private final transient EntityManagerFactory entityManagerFactory;
+    private final transient CreditRepository creditRepository;
+    private final transient PlatformTransactionManager transactionManager;
+
+    public EligibilityIndexSynchronizer(EligibilityIndex index, EntityManagerFactory entityManagerFactory,
+                                        CreditRepository creditRepository, PlatformTransactionManager transactionManager) {
+        this.index = index;
+        this.entityManagerFactory = entityManagerFactory;
+        this.creditRepository = creditRepository;
+        this.transactionManager = transactionManager;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        var registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+
+        long start = System.nanoTime();
+        var template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        template.executeWithoutResult(status -> {
+            try (var rows = creditRepository.streamEligibilityRows()) {
+                index.load(rows.iterator());
+            }
+        });
+        Logger.getLogger(getClass().getName()).info(
+                "Índice de elegibilidade carregado em " + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Credit credit) {
+            enqueue(changes -> changes.put(row(credit)));
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof Credit credit) {
+            enqueue(changes -> changes.put(row(credit)));
+        } else if (event.getEntity() instanceof NeurotechClient client) {
+            enqueue(changes -> changes.updateClient(client.getId(), client.getName(), client.getAge(), client.getIncome()));
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Credit credit) {
+            enqueue(changes -> changes.removeCredit(credit.getId()));
+        } else if (event.getEntity() instanceof NeurotechClient client) {
+            enqueue(changes -> changes.removeClient(client.getId()));
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private static EligibilityRowDTO row(Credit credit) {
+        var client = credit.getClient();
+        return new EligibilityRowDTO(credit.getId(), credit.getType(), client.getId(), client.getName(),
+                client.getAge(), client.getIncome());
+    }
+
+    /**
+     * Registra a alteração nas pendências da transação corrente, que são aplicadas ao índice somente após o
+     * commit. Fora de uma transação gerenciada pelo Spring, a alteração é aplicada imediatamente.
+     */
+    private void enqueue(Consumer<EligibilityIndex.Changes> change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            var changes = new EligibilityIndex.Changes();
+            change.accept(changes);
+            index.apply(changes);
+            return;
+        }
+
+        var changes = (EligibilityIndex.Changes) TransactionSynchronizationManager.getResource(this);
+        if (changes == null) {
+            var pending = new EligibilityIndex.Changes();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(EligibilityIndexSynchronizer.this);
+                    if (status == STATUS_COMMITTED) {
+                        index.apply(pending);
+                    }
+                }
+            });
+            changes = pending;
+        }
+        change.accept(changes);
+    }
+}
@@ -0,0 +1,275 @@
+package br.com.neurotech.challenge.service.implementation;
+
+import br.com.neurotech.challenge.dto.ErrorDTO;
+import br.com.neurotech.challenge.entity.IdempotencyRecord;
+import br.com.neurotech.challenge.repository.IdempotencyRecordRepository;
+import br.com.neurotech.challenge.service.IdempotencyService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Implementação do {@link IdempotencyService}.
+ * <p>
+ * As respostas ficam na tabela {@code idempotency_record} e em um cache em memória à frente dela, de modo que
+ * uma repetição normalmente não acessa o banco. A chave é reservada no banco antes da execução, de modo que
+ * apenas uma instância execute a operação; as demais respondem 409 até a conclusão. Uma reserva deixada por
+ * uma instância interrompida durante a execução permanece até a expurga, pois não se sabe se a operação foi
+ * concluída. Requisições simultâneas com a mesma chave são agrupadas nesta instância: apenas a primeira executa
+ * a operação e as demais aguardam o seu resultado, ou a executam de novo se ela falhar com uma exceção.
+ */
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private static final Logger LOGGER = Logger.getLogger(IdempotencyServiceImpl.class.getName());
+
+    /**
+     * Tamanho máximo da chave de idempotência.
+     */
+    static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyRecordRepository repository;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Cache<String, IdempotencyRecord> cache;
+    private final ConcurrentHashMap<String, CompletableFuture<IdempotencyRecord>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * @param repository   Repositório das respostas registradas.
+     * @param objectMapper Serializador JSON dos corpos de requisição e resposta.
+     * @param ttl          Prazo de validade de uma chave.
+     * @param cacheSize    Quantidade máxima de respostas mantidas no cache em memória.
+     */
+    public IdempotencyServiceImpl(IdempotencyRecordRepository repository, ObjectMapper objectMapper,
+                                  @Value("${neurotech.idempotency.ttl:PT24H}") Duration ttl,
+                                  @Value("${neurotech.idempotency.cache-size:10000}") long cacheSize) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    @Override
+    public ResponseEntity<?> execute(String key, String operation, Object request, Supplier<ResponseEntity<?>> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            return ResponseEntity.badRequest()
+                    .body(new ErrorDTO("O cabeçalho " + IDEMPOTENCY_KEY + " deve ter entre 1 e " + MAX_KEY_LENGTH + " caracteres"));
+        }
+
+        var fingerprint = fingerprint(operation, request);
+        while (true) {
+            var future = new CompletableFuture<IdempotencyRecord>();
+            var running = inFlight.putIfAbsent(key, future);
+            if (running == null) {
+                return run(key, fingerprint, action, future);
+            }
+            try {
+                return replay(running.join(), fingerprint);
+            } catch (CompletionException e) {
+                // a primeira execução falhou e liberou a chave; esta requisição é executada novamente
+            }
+        }
+    }
+
+    @Override
+    @Scheduled(initialDelayString = "${neurotech.idempotency.purge-interval:PT1H}",
+            fixedDelayString = "${neurotech.idempotency.purge-interval:PT1H}")
+    public void purgeExpired() {
+        int removed = repository.deleteCreatedBefore(Instant.now().minus(ttl));
+        if (removed > 0) {
+            LOGGER.info("Chaves de idempotência expiradas removidas: " + removed);
+        }
+    }
+
+    /**
+     * Devolve a resposta registrada ou, se não houver, reserva a chave, executa a operação e registra a resposta.
+     * A reserva é gravada antes da execução, de modo que outras instâncias, ou esta após uma falha entre a
+     * execução e o registro, não executem a operação de novo. Se a operação lança uma exceção, a reserva é
+     * liberada.
+     */
+    private ResponseEntity<?> run(String key, String fingerprint, Supplier<ResponseEntity<?>> action,
+                                  CompletableFuture<IdempotencyRecord> future) {
+        try {
+            var existing = find(key);
+            if (existing == null) {
+                existing = claim(key, fingerprint);
+            }
+            if (existing != null) {
+                future.complete(existing);
+                return replay(existing, fingerprint);
+            }
+
+            ResponseEntity<?> response;
+            try {
+                response = action.get();
+            } catch (RuntimeException e) {
+                repository.release(key);
+                throw e;
+            }
+            future.complete(complete(key, fingerprint, response));
+            return response;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * Busca a resposta registrada para a chave, primeiro no cache e depois no banco. Reservas em andamento não
+     * são mantidas no cache.
+     */
+    private IdempotencyRecord find(String key) {
+        var record = cache.getIfPresent(key);
+        if (record == null) {
+            record = repository.findById(key).orElse(null);
+            if (record != null && record.getState() == IdempotencyRecord.State.COMPLETED) {
+                cache.put(key, record);
+            }
+        }
+        return record == null || expired(record) ? null : record;
+    }
+
+    private boolean expired(IdempotencyRecord record) {
+        return record.getCreatedAt().isBefore(Instant.now().minus(ttl));
+    }
+
+    /**
+     * Grava a reserva da chave. Um registro expirado da mesma chave, ainda não expurgado, é substituído pela
+     * reserva no mesmo comando que o verifica, em vez de ser devolvido como resposta registrada.
+     *
+     * @return {@code null} se a chave foi reservada; caso contrário, o registro já existente.
+     */
+    private IdempotencyRecord claim(String key, String fingerprint) {
+        var claim = new IdempotencyRecord();
+        claim.setId(key);
+        claim.setFingerprint(fingerprint);
+        claim.setState(IdempotencyRecord.State.PENDING);
+        claim.setCreatedAt(Instant.now());
+        while (true) {
+            if (repository.claimExpired(key, fingerprint, claim.getCreatedAt(), claim.getCreatedAt().minus(ttl)) > 0) {
+                cache.invalidate(key);
+                return null;
+            }
+            try {
+                repository.save(claim);
+                return null;
+            } catch (DataIntegrityViolationException e) {
+                // outra instância reservou a mesma chave; se ela já a liberou, a reserva é tentada de novo
+                var existing = repository.findById(key);
+                if (existing.isPresent()) {
+                    // uma cópia expirada lida antes nesta requisição indica que outra instância acabou de
+                    // substituí-la por uma nova reserva
+                    return expired(existing.get()) ? claimedElsewhere(fingerprint) : existing.get();
+                }
+            }
+        }
+    }
+
+    private static IdempotencyRecord claimedElsewhere(String fingerprint) {
+        var record = new IdempotencyRecord();
+        record.setFingerprint(fingerprint);
+        record.setState(IdempotencyRecord.State.PENDING);
+        return record;
+    }
+
+    /**
+     * Conclui a reserva com a resposta da operação. Respostas 5xx, ou grandes demais para o registro, liberam a
+     * reserva, para que a requisição possa ser repetida.
+     */
+    private IdempotencyRecord complete(String key, String fingerprint, ResponseEntity<?> response) {
+        var record = record(key, fingerprint, response);
+        if (response.getStatusCode().is5xxServerError() || record.getBody().length() > IdempotencyRecord.MAX_BODY_LENGTH) {
+            repository.release(key);
+        } else if (repository.complete(key, record.getStatus(), record.getLocation(), record.getBody()) > 0) {
+            cache.put(key, record);
+        } else {
+            LOGGER.warning("Reserva da chave de idempotência removida antes da conclusão: " + key);
+        }
+        return record;
+    }
+
+    private IdempotencyRecord record(String key, String fingerprint, ResponseEntity<?> response) {
+        var record = new IdempotencyRecord();
+        record.setId(key);
+        record.setFingerprint(fingerprint);
+        record.setState(IdempotencyRecord.State.COMPLETED);
+        record.setStatus(response.getStatusCode().value());
+        record.setLocation(response.getHeaders().getFirst(HttpHeaders.LOCATION));
+        record.setBody(response.getBody() == null ? "" : json(response.getBody()));
+        record.setCreatedAt(Instant.now());
+        return record;
+    }
+
+    /**
+     * Reconstrói a resposta registrada. A chave só é aceita para a mesma operação e o mesmo corpo da
+     * requisição original; enquanto estiver reservada por outra instância, a resposta é 409.
+     */
+    private ResponseEntity<?> replay(IdempotencyRecord record, String fingerprint) {
+        if (!record.getFingerprint().equals(fingerprint)) {
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                    .body(new ErrorDTO("A chave de idempotência já foi utilizada em outra requisição"));
+        }
+        if (record.getState() == IdempotencyRecord.State.PENDING) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new ErrorDTO("A requisição com esta chave de idempotência ainda está em execução"));
+        }
+
+        var response = ResponseEntity.status(record.getStatus()).header(REPLAYED, "true");
+        if (record.getLocation() != null) {
+            response.header(HttpHeaders.LOCATION, record.getLocation());
+        }
+        if (record.getBody().isEmpty()) {
+            return response.build();
+        }
+        return response.contentType(MediaType.APPLICATION_JSON).body(record.getBody());
+    }
+
+    private String fingerprint(String operation, Object request) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            digest.update(operation.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            digest.update(json(request).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String json(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+}
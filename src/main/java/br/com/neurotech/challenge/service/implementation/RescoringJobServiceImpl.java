@@ -0,0 +1,297 @@
+package br.com.neurotech.challenge.service.implementation;
+
+import br.com.neurotech.challenge.configs.CacheConfig;
+import br.com.neurotech.challenge.dto.RescoringResultDTO;
+import br.com.neurotech.challenge.entity.RescoringJob;
+import br.com.neurotech.challenge.repository.NeurotechClientRepository;
+import br.com.neurotech.challenge.repository.RescoringJobRepository;
+import br.com.neurotech.challenge.service.CreditService;
+import br.com.neurotech.challenge.service.RescoringJobService;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Implementação do {@link RescoringJobService}.
+ * <p>
+ * Um coordenador percorre os identificadores dos clientes por keyset, em blocos de {@code chunk-size}, e entrega
+ * cada bloco a um grupo fixo de workers, com no máximo um bloco em andamento por worker. Cada bloco é reprocessado
+ * por {@link CreditService#rescore} em uma transação curta, sem bloquear por muito tempo as linhas usadas pelas
+ * requisições. À medida que os blocos terminam, em ordem, o coordenador grava o último cliente do trecho contíguo
+ * concluído como ponto de retomada do job; um job interrompido (falha ou reinício da aplicação) continua desse
+ * ponto.
+ * <p>
+ * Como nos jobs de crédito, cada instância renova periodicamente o prazo dos seus jobs e assume os jobs sem
+ * instância responsável ou com o prazo expirado. As gravações do registro do job são {@code UPDATE}s
+ * condicionados à instância responsável; a que perde o job para no próximo registro de progresso. Um único job
+ * em andamento é garantido pela restrição de unicidade de {@link RescoringJob#getActive()}, e não por
+ * sincronização na memória de uma instância.
+ * <p>
+ * As alterações passam pelo Hibernate, portanto incrementam a versão dos créditos e são acompanhadas pelo índice
+ * de elegibilidade em memória; os clientes alterados são removidos do cache de clientes.
+ */
+@Service
+public class RescoringJobServiceImpl implements RescoringJobService {
+
+    private static final Logger LOGGER = Logger.getLogger(RescoringJobServiceImpl.class.getName());
+
+    /**
+     * Tentativas de cada bloco quando um crédito é alterado por outra transação durante o reprocessamento.
+     */
+    static final int MAX_ATTEMPTS = 3;
+
+    /**
+     * Situações dos jobs que ainda não terminaram.
+     */
+    private static final List<RescoringJob.Status> ACTIVE =
+            List.of(RescoringJob.Status.QUEUED, RescoringJob.Status.RUNNING);
+
+    private final RescoringJobRepository jobRepository;
+    private final NeurotechClientRepository clientRepository;
+    private final CreditService creditService;
+    private final CacheManager cacheManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int workerCount;
+    private final int chunkSize;
+    private final String owner;
+    private final Duration lease;
+    private final ExecutorService coordinator;
+    private final ExecutorService workers;
+
+    /**
+     * @param jobRepository      Repositório dos jobs.
+     * @param clientRepository   Repositório de clientes, percorrido para dividir os clientes em blocos.
+     * @param creditService      Serviço que reprocessa os créditos de cada bloco.
+     * @param cacheManager       Gerenciador do cache de clientes, do qual os clientes alterados são removidos.
+     * @param transactionManager Gerenciador das transações de leitura dos blocos e de registro do job.
+     * @param workers            Quantidade de blocos reprocessados em paralelo.
+     * @param chunkSize          Quantidade de clientes reprocessados por transação.
+     * @param instanceId         Identificador desta instância nos jobs; quando vazio, é gerado na partida.
+     * @param lease              Prazo após o qual os jobs de uma instância que não o renovou podem ser assumidos
+     *                           por outra.
+     */
+    public RescoringJobServiceImpl(RescoringJobRepository jobRepository, NeurotechClientRepository clientRepository,
+                                   CreditService creditService, CacheManager cacheManager,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${neurotech.rescoring-jobs.workers:2}") int workers,
+                                   @Value("${neurotech.rescoring-jobs.chunk-size:1000}") int chunkSize,
+                                   @Value("${neurotech.rescoring-jobs.instance-id:}") String instanceId,
+                                   @Value("${neurotech.rescoring-jobs.lease:PT1M}") Duration lease) {
+        this.jobRepository = jobRepository;
+        this.clientRepository = clientRepository;
+        this.creditService = creditService;
+        this.cacheManager = cacheManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.workerCount = workers;
+        this.chunkSize = chunkSize;
+        this.owner = instanceId.isBlank() ? UUID.randomUUID().toString() : instanceId;
+        this.lease = lease;
+        this.coordinator = Executors.newSingleThreadExecutor(
+                Thread.ofPlatform().name("rescoring-job").daemon().factory());
+        this.workers = Executors.newFixedThreadPool(workers,
+                Thread.ofPlatform().name("rescoring-worker-", 1).daemon().factory());
+    }
+
+    @Override
+    public RescoringJob submit() {
+        RescoringJob job;
+        try {
+            job = transactionTemplate.execute(status -> {
+                var created = new RescoringJob();
+                created.setStatus(RescoringJob.Status.QUEUED);
+                created.setProcessed(0);
+                created.setUpdated(0);
+                created.setUnqualified(0);
+                created.setCreatedAt(Instant.now());
+                created.setActive(true);
+                created.setOwner(owner);
+                created.setLeaseExpiresAt(created.getCreatedAt().plus(lease));
+                return jobRepository.saveAndFlush(created);
+            });
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException("Já existe um job de reprocessamento em andamento"
+                    + jobRepository.findByActiveTrue().map(active -> ": " + active.getId()).orElse(""));
+        }
+        coordinator.execute(() -> run(job.getId()));
+        return job;
+    }
+
+    @Override
+    public RescoringJob get(UUID id) {
+        return jobRepository.findById(id).orElse(null);
+    }
+
+    /**
+     * Renova o prazo dos jobs desta instância e assume os jobs sem instância responsável ou com o prazo
+     * expirado, retomando-os a partir do ponto de retomada.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${neurotech.rescoring-jobs.heartbeat:PT15S}",
+            fixedDelayString = "${neurotech.rescoring-jobs.heartbeat:PT15S}")
+    public void resumeUnfinished() {
+        var now = Instant.now();
+        jobRepository.renewLeases(owner, ACTIVE, now.plus(lease));
+        for (var jobId : jobRepository.findOrphanedIds(ACTIVE, now)) {
+            if (jobRepository.claim(jobId, owner, now, now.plus(lease)) == 0) {
+                // assumido por outra instância
+                continue;
+            }
+            var job = jobRepository.findById(jobId).orElseThrow();
+            LOGGER.info("Retomando o job de reprocessamento " + jobId + " após " + job.getProcessed() + " clientes");
+            coordinator.execute(() -> run(jobId));
+        }
+    }
+
+    /**
+     * Interrompe o coordenador e os workers; o job em execução mantém o último ponto de retomada gravado e é
+     * retomado por esta ou outra instância após o prazo.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        coordinator.shutdownNow();
+        workers.shutdownNow();
+        coordinator.awaitTermination(10, TimeUnit.SECONDS);
+        workers.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private void run(UUID jobId) {
+        var inFlight = new ArrayDeque<Chunk>(workerCount);
+        try {
+            if (jobRepository.updateStatus(jobId, owner, RescoringJob.Status.RUNNING) == 0) {
+                lost(jobId);
+                return;
+            }
+            var job = jobRepository.findById(jobId).orElseThrow();
+
+            var after = job.getCheckpoint() == null ? new UUID(0, 0) : job.getCheckpoint();
+            boolean exhausted = false;
+            while (true) {
+                while (!exhausted && inFlight.size() < workerCount) {
+                    var from = after;
+                    var ids = transactionTemplate.execute(status -> clientRepository.findIdsAfter(from, Limit.of(chunkSize)));
+                    if (!ids.isEmpty()) {
+                        after = ids.get(ids.size() - 1);
+                        inFlight.add(new Chunk(after, ids.size(), workers.submit(() -> rescore(ids))));
+                    }
+                    exhausted = ids.size() < chunkSize;
+                }
+                if (inFlight.isEmpty()) {
+                    break;
+                }
+
+                // o ponto de retomada avança apenas sobre blocos contíguos: aguarda o mais antigo e registra, com
+                // ele, os seguintes que já terminaram
+                var progress = new Progress();
+                progress.add(inFlight.poll());
+                while (!inFlight.isEmpty() && inFlight.peek().result().isDone()) {
+                    progress.add(inFlight.poll());
+                }
+                if (jobRepository.addProgress(jobId, owner, progress.checkpoint, progress.processed,
+                        progress.updated, progress.unqualified) == 0) {
+                    inFlight.forEach(chunk -> chunk.result().cancel(true));
+                    lost(jobId);
+                    return;
+                }
+            }
+
+            if (jobRepository.finish(jobId, owner, RescoringJob.Status.COMPLETED, Instant.now()) == 0) {
+                lost(jobId);
+            }
+        } catch (InterruptedException e) {
+            // encerramento da aplicação: o job é retomado do último ponto gravado
+            inFlight.forEach(chunk -> chunk.result().cancel(true));
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | RuntimeException e) {
+            inFlight.forEach(chunk -> chunk.result().cancel(true));
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            LOGGER.log(Level.SEVERE, "Falha no job de reprocessamento " + jobId, e);
+            fail(jobId);
+        }
+    }
+
+    /**
+     * Reprocessa um bloco de clientes, repetindo-o se algum crédito for alterado por outra transação no meio
+     * do caminho, e remove do cache os clientes alterados.
+     */
+    private RescoringResultDTO rescore(List<UUID> clientIds) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                var result = creditService.rescore(clientIds);
+                var cache = cacheManager.getCache(CacheConfig.CLIENTS);
+                if (cache != null) {
+                    result.updatedClients().forEach(cache::evict);
+                }
+                return result;
+            } catch (ObjectOptimisticLockingFailureException e) {
+                if (attempt == MAX_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private void fail(UUID jobId) {
+        try {
+            if (jobRepository.finish(jobId, owner, RescoringJob.Status.FAILED, Instant.now()) == 0) {
+                lost(jobId);
+            }
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.SEVERE, "Não foi possível registrar a falha do job de reprocessamento " + jobId, e);
+        }
+    }
+
+    private void lost(UUID jobId) {
+        LOGGER.warning("Job de reprocessamento " + jobId + " assumido por outra instância");
+    }
+
+    /**
+     * Bloco de clientes entregue a um worker.
+     *
+     * @param last   Identificador do último cliente do bloco.
+     * @param size   Quantidade de clientes do bloco.
+     * @param result Resultado do reprocessamento.
+     */
+    private record Chunk(UUID last, int size, Future<RescoringResultDTO> result) {}
+
+    /**
+     * Blocos contíguos concluídos desde o último registro do job.
+     */
+    private static final class Progress {
+        private UUID checkpoint;
+        private int processed;
+        private int updated;
+        private int unqualified;
+
+        void add(Chunk chunk) throws InterruptedException, ExecutionException {
+            var result = chunk.result().get();
+            checkpoint = chunk.last();
+            processed += chunk.size();
+            updated += result.updated();
+            unqualified += result.unqualified();
+        }
+    }
+}
@@ -1,17 +1,17 @@
-INSERT INTO public.neurotech_client (id, age, income, name) VALUES ('1a2b3c4d-aaaa-46a5-ad55-8d6afe1be04c', 25, 12000, 'Alice');
-INSERT INTO public.neurotech_client (id, age, income, name) VALUES ('2b3c4d5e-bbbb-46a5-ad55-8d6afe1be04c', 30, 8000, 'Bob');
-INSERT INTO public.neurotech_client (id, age, income, name) VALUES ('3c4d5e6f-cccc-46a5-ad55-8d6afe1be04c', 45, 15000, 'Charlie');
-INSERT INTO public.neurotech_client (id, age, income, name) VALUES ('4d5e6f7g-dddd-46a5-ad55-8d6afe1be04c', 70, 3000, 'Diana');
-INSERT INTO public.neurotech_client (id, age, income, name) VALUES ('5e6f7g8h-eeee-46a5-ad55-8d6afe1be04c', 18, 10000, 'Eve');
-INSERT INTO public.neurotech_client (id, age, income, name) VALUES ('6f7g8h9i-ffff-46a5-ad55-8d6afe1be04c', 35, 6000, 'Frank');
-INSERT INTO public.neurotech_client (id, age, income, name) VALUES ('7g8h9i0j-gggg-46a5-ad55-8d6afe1be04c', 50, 20000, 'Grace');
-INSERT INTO public.neurotech_client (id, age, income, name) VALUES ('8h9i0j1k-hhhh-46a5-ad55-8d6afe1be04c', 22, 5000, 'Henry');
+INSERT INTO public.neurotech_client (id, age, income, name) VALUES ('018f2a6b-5c00-7000-8000-000000000001', 25, 12000, 'Alice');
+INSERT INTO public.neurotech_client (id, age, income, name) VALUES ('018f2a6b-5c01-7000-8000-000000000002', 30, 8000, 'Bob');
+INSERT INTO public.neurotech_client (id, age, income, name) VALUES ('018f2a6b-5c02-7000-8000-000000000003', 45, 15000, 'Charlie');
+INSERT INTO public.neurotech_client (id, age, income, name) VALUES ('018f2a6b-5c03-7000-8000-000000000004', 70, 3000, 'Diana');
+INSERT INTO public.neurotech_client (id, age, income, name) VALUES ('018f2a6b-5c04-7000-8000-000000000005', 18, 10000, 'Eve');
+INSERT INTO public.neurotech_client (id, age, income, name) VALUES ('018f2a6b-5c05-7000-8000-000000000006', 35, 6000, 'Frank');
+INSERT INTO public.neurotech_client (id, age, income, name) VALUES ('018f2a6b-5c06-7000-8000-000000000007', 50, 20000, 'Grace');
+INSERT INTO public.neurotech_client (id, age, income, name) VALUES ('018f2a6b-5c07-7000-8000-000000000008', 22, 5000, 'Henry');
 
-INSERT INTO public.credit (id, interest_rate, type, client_id) VALUES ('aaa11111-aaaa-4fc6-b678-71a0afc02295', 5, 'FIXED_INTEREST', '1a2b3c4d-aaaa-46a5-ad55-8d6afe1be04c');
-INSERT INTO public.credit (id, interest_rate, type, client_id) VALUES ('bbb22222-bbbb-4fc6-b678-71a0afc02295', 6, 'VARIABLE_INTEREST', '2b3c4d5e-bbbb-46a5-ad55-8d6afe1be04c');
-INSERT INTO public.credit (id, interest_rate, type, client_id) VALUES ('ccc33333-cccc-4fc6-b678-71a0afc02295', 4, 'PAYROLL', '3c4d5e6f-cccc-46a5-ad55-8d6afe1be04c');
-INSERT INTO public.credit (id, interest_rate, type, client_id) VALUES ('ddd44444-dddd-4fc6-b678-71a0afc02295', 4.5, 'PAYROLL', '4d5e6f7g-dddd-46a5-ad55-8d6afe1be04c');
-INSERT INTO public.credit (id, interest_rate, type, client_id) VALUES ('eee55555-eeee-4fc6-b678-71a0afc02295', 5, 'FIXED_INTEREST', '5e6f7g8h-eeee-46a5-ad55-8d6afe1be04c');
-INSERT INTO public.credit (id, interest_rate, type, client_id) VALUES ('fff66666-ffff-4fc6-b678-71a0afc02295', 6, 'VARIABLE_INTEREST', '6f7g8h9i-ffff-46a5-ad55-8d6afe1be04c');
-INSERT INTO public.credit (id, interest_rate, type, client_id) VALUES ('ggg77777-gggg-4fc6-b678-71a0afc02295', 7, 'VARIABLE_INTEREST', '7g8h9i0j-gggg-46a5-ad55-8d6afe1be04c');
-INSERT INTO public.credit (id, interest_rate, type, client_id) VALUES ('hhh88888-hhhh-4fc6-b678-71a0afc02295', 5, 'FIXED_INTEREST', '8h9i0j1k-hhhh-46a5-ad55-8d6afe1be04c');
+INSERT INTO public.credit (id, interest_rate, type, client_id) VALUES ('018f2a6b-5c08-7000-8000-000000000009', 5, 'FIXED_INTEREST', '018f2a6b-5c00-7000-8000-000000000001');
+INSERT INTO public.credit (id, interest_rate, type, client_id) VALUES ('018f2a6b-5c09-7000-8000-00000000000a', 6, 'VARIABLE_INTEREST', '018f2a6b-5c01-7000-8000-000000000002');
+INSERT INTO public.credit (id, interest_rate, type, client_id) VALUES ('018f2a6b-5c0a-7000-8000-00000000000b', 4, 'PAYROLL', '018f2a6b-5c02-7000-8000-000000000003');
+INSERT INTO public.credit (id, interest_rate, type, client_id) VALUES ('018f2a6b-5c0b-7000-8000-00000000000c', 4.5, 'PAYROLL', '018f2a6b-5c03-7000-8000-000000000004');
+INSERT INTO public.credit (id, interest_rate, type, client_id) VALUES ('018f2a6b-5c0c-7000-8000-00000000000d', 5, 'FIXED_INTEREST', '018f2a6b-5c04-7000-8000-000000000005');
+INSERT INTO public.credit (id, interest_rate, type, client_id) VALUES ('018f2a6b-5c0d-7000-8000-00000000000e', 6, 'VARIABLE_INTEREST', '018f2a6b-5c05-7000-8000-000000000006');
+INSERT INTO public.credit (id, interest_rate, type, client_id) VALUES ('018f2a6b-5c0e-7000-8000-00000000000f', 7, 'VARIABLE_INTEREST', '018f2a6b-5c06-7000-8000-000000000007');
+INSERT INTO public.credit (id, interest_rate, type, client_id) VALUES ('018f2a6b-5c0f-7000-8000-000000000010', 5, 'FIXED_INTEREST', '018f2a6b-5c07-7000-8000-000000000008');
@@ -0,0 +1,50 @@
+-- Converte as chaves de neurotech_client e credit de varchar(36) para o tipo nativo uuid (PostgreSQL).
+--
+-- Deve ser executado uma única vez, com a aplicação parada, antes de subir a versão que gera identificadores
+-- UUID versão 7 (o ddl-auto=update não altera o tipo de colunas existentes):
+--
+--   psql -v ON_ERROR_STOP=1 -d challange-java-developer -f src/main/resources/db/migrate-ids-to-uuid.sql
+--
+-- Os identificadores existentes são preservados, para que URLs e referências externas continuem válidas;
+-- apenas valores que não são UUIDs válidos recebem um novo identificador. Os novos registros passam a ser
+-- inseridos no final dos índices, e o VACUUM FULL ao final reconstrói tabelas e índices já no tamanho novo.
+
+BEGIN;
+
+ALTER TABLE neurotech_client ADD COLUMN new_id uuid;
+UPDATE neurotech_client
+SET new_id = CASE
+    WHEN id ~* '^[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}$' THEN id::uuid
+    ELSE gen_random_uuid()
+END;
+
+ALTER TABLE credit ADD COLUMN new_id uuid, ADD COLUMN new_client_id uuid;
+UPDATE credit
+SET new_id = CASE
+        WHEN credit.id ~* '^[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}$' THEN credit.id::uuid
+        ELSE gen_random_uuid()
+    END,
+    new_client_id = client.new_id
+FROM neurotech_client client
+WHERE client.id = credit.client_id;
+
+-- remove as colunas antigas junto com a chave primária, a chave estrangeira e o índice (type, client_id)
+ALTER TABLE credit DROP COLUMN client_id, DROP COLUMN id;
+ALTER TABLE neurotech_client DROP COLUMN id;
+
+ALTER TABLE neurotech_client RENAME COLUMN new_id TO id;
+ALTER TABLE neurotech_client ALTER COLUMN id SET NOT NULL, ADD PRIMARY KEY (id);
+
+ALTER TABLE credit RENAME COLUMN new_id TO id;
+ALTER TABLE credit RENAME COLUMN new_client_id TO client_id;
+ALTER TABLE credit
+    ALTER COLUMN id SET NOT NULL,
+    ALTER COLUMN client_id SET NOT NULL,
+    ADD PRIMARY KEY (id),
+    ADD CONSTRAINT fk_credit_client FOREIGN KEY (client_id) REFERENCES neurotech_client (id);
+CREATE INDEX idx_credit_type_client ON credit (type, client_id);
+
+COMMIT;
+
+VACUUM FULL ANALYZE neurotech_client;
+VACUUM FULL ANALYZE credit;
@@ -0,0 +1,91 @@
+package br.com.neurotech.challenge.benchmark;
+
+import br.com.neurotech.challenge.dto.EligibleClientDTO;
+import br.com.neurotech.challenge.dto.NeurotechClientDTO;
+import br.com.neurotech.challenge.entity.NeurotechClient;
+import br.com.neurotech.challenge.entity.TimeOrderedUuid;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede o custo das listagens de clientes fora do banco: o mapeamento entidade → DTO (feito nos
+ * controladores antes das projeções), o mapeamento das páginas de elegíveis e a serialização JSON das
+ * listas de {@link NeurotechClientDTO} e {@link EligibleClientDTO}, em vários tamanhos.
+ * <p>
+ * O {@link ObjectMapper} é criado pelo {@link Jackson2ObjectMapperBuilder}, com a mesma configuração padrão
+ * usada pelo Spring MVC.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClientListingBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int size;
+
+    private List<NeurotechClient> entities;
+    private List<NeurotechClientDTO> clients;
+    private List<EligibleClientDTO> eligibleClients;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        var random = new Random(42);
+        entities = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            var client = new NeurotechClient();
+            client.setId(TimeOrderedUuid.next());
+            client.setName("Client " + i);
+            client.setAge(18 + random.nextInt(70));
+            client.setIncome((double) random.nextInt(25_000));
+            entities.add(client);
+        }
+        clients = mapEntities();
+        eligibleClients = mapEligible();
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    @Benchmark
+    public List<NeurotechClientDTO> mapEntities() {
+        return entities.stream()
+                .map(client -> new NeurotechClientDTO(client.getId(), client.getName(), client.getAge(), client.getIncome()))
+                .toList();
+    }
+
+    @Benchmark
+    public List<EligibleClientDTO> mapEligible() {
+        return clients.stream()
+                .map(client -> new EligibleClientDTO(client.name(), client.income()))
+                .toList();
+    }
+
+    @Benchmark
+    public byte[] serializeClients() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(clients);
+    }
+
+    @Benchmark
+    public byte[] serializeEligibleClients() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(eligibleClients);
+    }
+}
@@ -0,0 +1,117 @@
+package br.com.neurotech.challenge.benchmark;
+
+import br.com.neurotech.challenge.ChallengeJavaDeveloperApplication;
+import br.com.neurotech.challenge.entity.NeurotechClient;
+import br.com.neurotech.challenge.service.ClientService;
+import br.com.neurotech.challenge.service.CreditService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara a vazão, em clientes por segundo, do cadastro individual (um cliente e seu crédito por transação,
+ * como em {@code POST /api/clients}) com a do cadastro em lote (blocos gravados em uma transação com inserções
+ * agrupadas em lotes JDBC, como em {@code POST /api/clients/batch}).
+ * <p>
+ * A aplicação é iniciada sem servidor web; as tabelas são esvaziadas antes de cada iteração. Por padrão usa o
+ * H2 do classpath de teste; para números representativos, aponte para um PostgreSQL com
+ * {@code -Dspring.datasource.url=...} {@code -Dspring.datasource.driver-class-name=org.postgresql.Driver},
+ * usuário e senha. Execução: {@code mvn -Pbenchmark verify -Djmh.includes=ClientOnboardingBenchmark
+ * -Djmh.args="-bm thrpt"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClientOnboardingBenchmark {
+
+    private static final int CLIENTS = 2000;
+    private static final int CHUNK_SIZE = 1000;
+
+    private ConfigurableApplicationContext context;
+    private ClientService clientService;
+    private CreditService creditService;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(ChallengeJavaDeveloperApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.jpa.show-sql=false");
+        clientService = context.getBean(ClientService.class);
+        creditService = context.getBean(CreditService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void clear() {
+        jdbcTemplate.update("DELETE FROM credit");
+        jdbcTemplate.update("DELETE FROM neurotech_client");
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CLIENTS)
+    public void single() {
+        for (int i = 0; i < CLIENTS; i++) {
+            creditService.createClientWithCredit(client(i));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CLIENTS)
+    public void batch() {
+        var chunk = new ArrayList<NeurotechClient>(CHUNK_SIZE);
+        for (int i = 0; i < CLIENTS; i++) {
+            var client = client(i);
+            client.getCredits().add(creditService.createCreditForClient(client));
+            chunk.add(client);
+            if (chunk.size() == CHUNK_SIZE) {
+                save(chunk);
+            }
+        }
+        save(chunk);
+    }
+
+    private void save(List<NeurotechClient> chunk) {
+        if (!chunk.isEmpty()) {
+            clientService.saveAll(chunk);
+            chunk.clear();
+        }
+    }
+
+    /**
+     * Cliente que se qualifica para juros fixos.
+     */
+    private static NeurotechClient client(int i) {
+        var client = new NeurotechClient();
+        client.setName("Client " + i);
+        client.setAge(18 + (i % 8));
+        client.setIncome(1000.0 + i);
+        return client;
+    }
+}
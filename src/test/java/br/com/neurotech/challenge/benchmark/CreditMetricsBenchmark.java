@@ -0,0 +1,62 @@
+package br.com.neurotech.challenge.benchmark;
+
+import br.com.neurotech.challenge.entity.Credit;
+import br.com.neurotech.challenge.entity.VehicleModel;
+import br.com.neurotech.challenge.service.implementation.CreditMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de registrar uma decisão de crédito: os contadores pré-registrados de {@link CreditMetrics} contra a
+ * forma usual, que busca o contador no registro a cada chamada, montando as tags. Com {@code -prof gc}, a
+ * alocação por operação dos contadores pré-registrados deve ser zero.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CreditMetricsBenchmark {
+
+    private static final VehicleModel[] MODELS = VehicleModel.values();
+    private static final Credit.CreditType[] TYPES = Credit.CreditType.values();
+
+    private MeterRegistry registry;
+    private CreditMetrics metrics;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        metrics = new CreditMetrics(registry);
+    }
+
+    @Benchmark
+    public void preRegistered() {
+        int i = next++;
+        metrics.eligibility(MODELS[i % MODELS.length], (i & 1) == 0);
+        metrics.granted(TYPES[i % TYPES.length]);
+    }
+
+    @Benchmark
+    public void lookupPerCall() {
+        int i = next++;
+        registry.counter("neurotech.credit.eligibility",
+                "model", MODELS[i % MODELS.length].name(), "eligible", Boolean.toString((i & 1) == 0)).increment();
+        registry.counter("neurotech.credit.granted", "type", TYPES[i % TYPES.length].name()).increment();
+    }
+}
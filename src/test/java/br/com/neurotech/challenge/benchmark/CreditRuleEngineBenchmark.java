@@ -0,0 +1,72 @@
+package br.com.neurotech.challenge.benchmark;
+
+import br.com.neurotech.challenge.configs.CreditRulesProperties;
+import br.com.neurotech.challenge.entity.VehicleModel;
+import br.com.neurotech.challenge.service.implementation.CreditRuleEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara a avaliação das regras de crédito codificadas diretamente ({@link LegacyCreditRules}) com a do
+ * {@link CreditRuleEngine}, sobre um conjunto fixo de clientes gerados aleatoriamente.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CreditRuleEngineBenchmark {
+
+    private static final int CLIENTS = 4096;
+    private static final VehicleModel[] MODELS = VehicleModel.values();
+
+    private int[] ages;
+    private double[] incomes;
+    private CreditRuleEngine engine;
+
+    @Setup
+    public void setUp() {
+        var random = new Random(42);
+        ages = new int[CLIENTS];
+        incomes = new double[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            ages[i] = 18 + random.nextInt(70);
+            incomes[i] = random.nextInt(25_000);
+        }
+        engine = new CreditRuleEngine(new CreditRulesProperties());
+    }
+
+    @Benchmark
+    public void legacy(Blackhole blackhole) {
+        for (int i = 0; i < CLIENTS; i++) {
+            blackhole.consume(LegacyCreditRules.determineCreditType(ages[i], incomes[i]));
+            for (var model : MODELS) {
+                blackhole.consume(LegacyCreditRules.isEligible(model, ages[i], incomes[i]));
+            }
+        }
+    }
+
+    @Benchmark
+    public void engine(Blackhole blackhole) {
+        var rules = engine.rules();
+        for (int i = 0; i < CLIENTS; i++) {
+            blackhole.consume(rules.creditType(ages[i], incomes[i]));
+            for (var model : MODELS) {
+                blackhole.consume(rules.eligible(model, ages[i], incomes[i]));
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package br.com.neurotech.challenge.benchmark;
+
+import br.com.neurotech.challenge.configs.CreditRulesProperties;
+import br.com.neurotech.challenge.entity.NeurotechClient;
+import br.com.neurotech.challenge.entity.VehicleModel;
+import br.com.neurotech.challenge.service.implementation.CreditMetrics;
+import br.com.neurotech.challenge.service.implementation.CreditRuleEngine;
+import br.com.neurotech.challenge.service.implementation.CreditServiceImpl;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.UUID;
+
+/**
+ * Mede a concessão de crédito ({@link CreditServiceImpl#createCreditForClient}, que inclui a determinação do
+ * tipo de crédito) e a verificação de elegibilidade de cada modelo de veículo, por cliente.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CreditScoringBenchmark {
+
+    private static final int CLIENTS = 1024;
+    private static final VehicleModel[] MODELS = VehicleModel.values();
+
+    private NeurotechClient[] clients;
+    private CreditRuleEngine engine;
+    private CreditServiceImpl creditService;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        engine = new CreditRuleEngine(new CreditRulesProperties());
+        creditService = new CreditServiceImpl(null, null, null, engine,
+                new CreditMetrics(new PrometheusMeterRegistry(PrometheusConfig.DEFAULT)));
+
+        // apenas clientes que se qualificam para algum crédito; os demais fariam createCreditForClient lançar exceção
+        var random = new Random(42);
+        var qualified = new ArrayList<NeurotechClient>(CLIENTS);
+        while (qualified.size() < CLIENTS) {
+            var client = new NeurotechClient();
+            client.setId(new UUID(0, qualified.size()));
+            client.setName("Client " + qualified.size());
+            client.setAge(18 + random.nextInt(70));
+            client.setIncome((double) random.nextInt(25_000));
+            if (engine.rules().creditType(client.getAge(), client.getIncome()) != null) {
+                qualified.add(client);
+            }
+        }
+        clients = qualified.toArray(NeurotechClient[]::new);
+    }
+
+    @Benchmark
+    public Object createCreditForClient() {
+        return creditService.createCreditForClient(nextClient());
+    }
+
+    @Benchmark
+    public void checkEligibility(Blackhole blackhole) {
+        var client = nextClient();
+        var rules = engine.rules();
+        for (var model : MODELS) {
+            blackhole.consume(rules.eligible(model, client.getAge(), client.getIncome()));
+        }
+    }
+
+    private NeurotechClient nextClient() {
+        next = (next + 1) & (CLIENTS - 1);
+        return clients[next];
+    }
+}
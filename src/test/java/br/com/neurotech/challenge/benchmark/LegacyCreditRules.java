@@ -0,0 +1,40 @@
+package br.com.neurotech.challenge.benchmark;
+
+import br.com.neurotech.challenge.entity.Credit;
+import br.com.neurotech.challenge.entity.VehicleModel;
+
+/**
+ * Cópia das regras de crédito codificadas diretamente em {@code CreditServiceImpl} antes do motor de regras.
+ * Serve de referência para os testes de equivalência e de linha de base para os benchmarks.
+ */
+public final class LegacyCreditRules {
+
+    private LegacyCreditRules() {
+    }
+
+    public static Credit.CreditType determineCreditType(int age, double income) {
+        if (age >= 18 && age <= 25) {
+            return Credit.CreditType.FIXED_INTEREST;
+        } else if (age >= 21 && age <= 65 && income >= 5000 && income <= 15000) {
+            return Credit.CreditType.VARIABLE_INTEREST;
+        } else if (age > 65) {
+            return Credit.CreditType.PAYROLL;
+        }
+        return null;
+    }
+
+    public static Double rate(Credit.CreditType type) {
+        return switch (type) {
+            case FIXED_INTEREST -> Credit.FIXED_INTEREST_RATE;
+            case VARIABLE_INTEREST -> Credit.VARIABLE_INTEREST_RATE;
+            case PAYROLL -> Credit.PAYROLL_RATE;
+        };
+    }
+
+    public static boolean isEligible(VehicleModel model, int age, double income) {
+        return switch (model) {
+            case HATCH -> income >= Credit.HATCH_INCOME_MIN && income <= Credit.HATCH_INCOME_MAX;
+            case SUV -> income > Credit.SUV_INCOME_MIN && age > Credit.SUV_AGE_MIN;
+        };
+    }
+}
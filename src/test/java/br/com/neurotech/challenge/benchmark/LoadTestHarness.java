@@ -0,0 +1,247 @@
+package br.com.neurotech.challenge.benchmark;
+
+import br.com.neurotech.challenge.ChallengeJavaDeveloperApplication;
+import br.com.neurotech.challenge.entity.Credit;
+import br.com.neurotech.challenge.entity.VehicleModel;
+import br.com.neurotech.challenge.service.implementation.CreditRuleEngine;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Teste de carga da API com uma mistura de requisições semelhante à de produção.
+ * <p>
+ * A aplicação é iniciada em uma porta livre e populada pelo {@link SyntheticDataGenerator}; em seguida, clientes
+ * simulados em threads virtuais repetem, durante um período fixo, operações sorteadas conforme os pesos da
+ * mistura: cadastro, consulta por id, listagem paginada, listagem paginada de elegíveis e análise de crédito.
+ * Os cadastros usam clientes sorteados da mesma distribuição da carga inicial, inclusive os que não se
+ * qualificam para crédito, dos quais se espera a resposta 400. São reportados, por operação e no total, a
+ * vazão, os percentis de latência e a quantidade de erros (respostas diferentes da esperada ou falhas de
+ * conexão).
+ * <p>
+ * Por padrão usa o H2 do classpath de teste; para números representativos, aponte para um PostgreSQL local com
+ * {@code -Dspring.datasource.url=...} {@code -Dspring.datasource.driver-class-name=org.postgresql.Driver}, usuário e
+ * senha. Execução: {@code mvn -Pbenchmark verify -Dbenchmark.main=br.com.neurotech.challenge.benchmark.LoadTestHarness};
+ * a quantidade de clientes cadastrados, a quantidade de clientes simultâneos, as durações do aquecimento e da
+ * medição (em segundos) e os pesos da mistura podem ser alterados com {@code -Dbenchmark.jvmArgs="-Dload.clients=...
+ * -Dload.concurrency=... -Dload.warmup=... -Dload.duration=... -Dload.mix=create:5,get:40,list:10,eligible:20,check:25"}.
+ */
+public class LoadTestHarness {
+
+    private static final int CLIENTS = Integer.getInteger("load.clients", 100_000);
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 200);
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("load.warmup", 10));
+    private static final Duration MEASUREMENT = Duration.ofSeconds(Long.getLong("load.duration", 30));
+    private static final String MIX = System.getProperty("load.mix", "create:5,get:40,list:10,eligible:20,check:25");
+    private static final int PAGE_SIZE = 50;
+
+    /**
+     * Operações da mistura.
+     */
+    private enum Operation {
+        CREATE, GET, LIST, ELIGIBLE, CHECK
+    }
+
+    /**
+     * Latências de uma thread, por operação.
+     */
+    private static final class Samples {
+
+        private final long[][] latencies = new long[Operation.values().length][1024];
+        private final int[] counts = new int[Operation.values().length];
+        private final int[] errors = new int[Operation.values().length];
+
+        void add(Operation operation, long nanos) {
+            int o = operation.ordinal();
+            if (counts[o] == latencies[o].length) {
+                latencies[o] = Arrays.copyOf(latencies[o], counts[o] * 2);
+            }
+            latencies[o][counts[o]++] = nanos;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        var weights = weights(MIX);
+
+        try (var context = new SpringApplicationBuilder(ChallengeJavaDeveloperApplication.class).run(
+                "--server.port=0",
+                "--spring.jpa.show-sql=false",
+                "--server.tomcat.max-connections=" + Math.max(8192, CONCURRENCY + 1000))) {
+            var rules = context.getBean(CreditRuleEngine.class).rules();
+            var generator = new SyntheticDataGenerator(rules, 42);
+            var ids = generator.seed(context.getBean(JdbcTemplate.class), CLIENTS, 1000);
+            var base = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+
+            run(base, generator, ids, weights, WARMUP);
+            var samples = run(base, generator, ids, weights, MEASUREMENT);
+            report(samples, MEASUREMENT);
+        }
+    }
+
+    /**
+     * Mantém {@link #CONCURRENCY} clientes simultâneos durante {@code duration} e retorna as latências de cada um.
+     */
+    private static List<Samples> run(String base, SyntheticDataGenerator generator, List<UUID> ids, int[] weights,
+                                     Duration duration) throws InterruptedException {
+        var samples = new ArrayList<Samples>(CONCURRENCY);
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor();
+             var http = HttpClient.newBuilder()
+                     .executor(executor)
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .connectTimeout(Duration.ofSeconds(30))
+                     .build()) {
+            long deadline = System.nanoTime() + duration.toNanos();
+            var threads = new ArrayList<Thread>(CONCURRENCY);
+            for (int c = 0; c < CONCURRENCY; c++) {
+                var own = new Samples();
+                samples.add(own);
+                threads.add(Thread.ofVirtual().start(() -> {
+                    var random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        var operation = pick(weights, random);
+                        long start = System.nanoTime();
+                        try {
+                            if (send(http, base, operation, generator, ids, random)) {
+                                own.add(operation, System.nanoTime() - start);
+                                continue;
+                            }
+                        } catch (Exception e) {
+                            // contabilizada como erro abaixo
+                        }
+                        own.errors[operation.ordinal()]++;
+                    }
+                }));
+            }
+            for (var thread : threads) {
+                thread.join();
+            }
+        }
+        return samples;
+    }
+
+    /**
+     * Envia uma requisição da operação e verifica se a resposta é a esperada.
+     */
+    private static boolean send(HttpClient http, String base, Operation operation, SyntheticDataGenerator generator,
+                                List<UUID> ids, ThreadLocalRandom random) throws Exception {
+        if (operation == Operation.CREATE) {
+            var client = generator.next();
+            var response = http.send(post(base + "/api/clients", client.json()), HttpResponse.BodyHandlers.discarding());
+            return response.statusCode() == (client.type() == null ? 400 : 201);
+        }
+
+        var id = ids.get(random.nextInt(ids.size()));
+        var request = switch (operation) {
+            case CREATE -> throw new IllegalStateException();
+            case GET -> get(base + "/api/clients/" + id);
+            case LIST -> get(base + "/api/clients?limit=" + PAGE_SIZE);
+            case ELIGIBLE -> {
+                var model = VehicleModel.values()[random.nextInt(VehicleModel.values().length)];
+                var type = Credit.CreditType.values()[random.nextInt(Credit.CreditType.values().length)];
+                int minAge = 18 + random.nextInt(30);
+                yield get(base + "/api/clients/eligible/" + model + "?minAge=" + minAge + "&maxAge=" + (minAge + 20)
+                        + "&creditType=" + type + "&limit=" + PAGE_SIZE);
+            }
+            case CHECK -> post(base + "/api/clients/check/" + id,
+                    "{\"vehicleModel\":\"" + VehicleModel.values()[random.nextInt(VehicleModel.values().length)] + "\"}");
+        };
+        return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+    }
+
+    private static HttpRequest get(String uri) {
+        return HttpRequest.newBuilder(URI.create(uri)).timeout(Duration.ofSeconds(60)).GET().build();
+    }
+
+    private static HttpRequest post(String uri, String body) {
+        return HttpRequest.newBuilder(URI.create(uri))
+                .timeout(Duration.ofSeconds(60))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static Operation pick(int[] weights, ThreadLocalRandom random) {
+        int value = random.nextInt(weights[weights.length - 1]);
+        int o = 0;
+        while (value >= weights[o]) {
+            o++;
+        }
+        return Operation.values()[o];
+    }
+
+    /**
+     * Converte a mistura ({@code operação:peso,...}) em pesos acumulados por operação; operações ausentes têm
+     * peso zero.
+     */
+    private static int[] weights(String mix) {
+        var weights = new int[Operation.values().length];
+        for (var entry : mix.split(",")) {
+            var parts = entry.trim().split(":");
+            weights[Operation.valueOf(parts[0].trim().toUpperCase()).ordinal()] = Integer.parseInt(parts[1].trim());
+        }
+        for (int o = 1; o < weights.length; o++) {
+            weights[o] += weights[o - 1];
+        }
+        if (weights[weights.length - 1] <= 0) {
+            throw new IllegalArgumentException("Informe ao menos uma operação com peso positivo em load.mix");
+        }
+        return weights;
+    }
+
+    private static void report(List<Samples> samples, Duration duration) {
+        System.out.println();
+        System.out.println("operation  requests       req/s    p50 ms    p99 ms  p99.9 ms    max ms   errors");
+        var all = new long[0];
+        long errors = 0;
+        for (var operation : Operation.values()) {
+            int o = operation.ordinal();
+            int total = 0;
+            long failed = 0;
+            for (var own : samples) {
+                total += own.counts[o];
+                failed += own.errors[o];
+            }
+            var sorted = new long[total];
+            int offset = 0;
+            for (var own : samples) {
+                System.arraycopy(own.latencies[o], 0, sorted, offset, own.counts[o]);
+                offset += own.counts[o];
+            }
+            Arrays.sort(sorted);
+            System.out.println(line(operation.name().toLowerCase(), sorted, failed, duration));
+
+            var merged = Arrays.copyOf(all, all.length + sorted.length);
+            System.arraycopy(sorted, 0, merged, all.length, sorted.length);
+            all = merged;
+            errors += failed;
+        }
+        Arrays.sort(all);
+        System.out.println(line("total", all, errors, duration));
+    }
+
+    private static String line(String name, long[] sorted, long errors, Duration duration) {
+        return String.format("%-9s %9d %11.0f %9.2f %9.2f %9.2f %9.2f %8d",
+                name, sorted.length, sorted.length / (duration.toNanos() / 1e9),
+                percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999),
+                sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6, errors);
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)] / 1e6;
+    }
+}
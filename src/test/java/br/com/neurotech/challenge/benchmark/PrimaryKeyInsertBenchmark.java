@@ -0,0 +1,124 @@
+package br.com.neurotech.challenge.benchmark;
+
+import br.com.neurotech.challenge.entity.TimeOrderedUuid;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Compara a inserção de clientes e créditos com as chaves anteriores ({@code varchar(36)} preenchido com
+ * {@link UUID#randomUUID()}) e com as atuais ({@code uuid} nativo preenchido com {@link TimeOrderedUuid}).
+ * <p>
+ * Para cada esquema são criadas as tabelas com a mesma estrutura das entidades (chave primária, chave
+ * estrangeira {@code credit.client_id} e índice {@code (type, client_id)}) e inseridos alguns milhões de
+ * clientes, cada um com um crédito, em lotes JDBC confirmados a cada bloco. São reportadas a vazão de cada
+ * faixa da carga, que evidencia a degradação das chaves aleatórias conforme os índices crescem, e, no
+ * PostgreSQL, o tamanho das tabelas e dos índices.
+ * <p>
+ * Por padrão usa o H2 em memória do classpath de teste; para números representativos, aponte para um
+ * PostgreSQL. Execução: {@code mvn -Pbenchmark verify
+ * -Dbenchmark.main=br.com.neurotech.challenge.benchmark.PrimaryKeyInsertBenchmark
+ * -Dbenchmark.jvmArgs="-Dkeys.rows=3000000 -Dkeys.url=jdbc:postgresql://localhost:5432/bench -Dkeys.user=postgres
+ * -Dkeys.password=postgres"}.
+ */
+public class PrimaryKeyInsertBenchmark {
+
+    private static final int ROWS = Integer.getInteger("keys.rows", 2_000_000);
+    private static final int BATCH = Integer.getInteger("keys.batch", 1000);
+    private static final int SLICES = 4;
+    private static final String URL = System.getProperty("keys.url", "jdbc:h2:mem:keys;DB_CLOSE_DELAY=-1");
+    private static final String USER = System.getProperty("keys.user", "sa");
+    private static final String PASSWORD = System.getProperty("keys.password", "");
+
+    public static void main(String[] args) throws SQLException {
+        var results = new ArrayList<String>();
+        try (var connection = DriverManager.getConnection(URL, USER, PASSWORD)) {
+            connection.setAutoCommit(false);
+            results.add(run(connection, "varchar", "varchar(36)", () -> UUID.randomUUID().toString()));
+            results.add(run(connection, "uuid", "uuid", TimeOrderedUuid::next));
+        }
+
+        System.out.println();
+        var header = new StringBuilder("keys   ");
+        for (int slice = 1; slice <= SLICES; slice++) {
+            header.append(String.format(" %13s", "rows/s " + slice + "/" + SLICES));
+        }
+        System.out.println(header.append("   table MB   index MB"));
+        results.forEach(System.out::println);
+    }
+
+    private static String run(Connection connection, String name, String keyType, Supplier<Object> ids) throws SQLException {
+        var client = "bench_client_" + name;
+        var credit = "bench_credit_" + name;
+        try (var statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + credit);
+            statement.execute("DROP TABLE IF EXISTS " + client);
+            statement.execute("CREATE TABLE " + client + " (id " + keyType + " PRIMARY KEY, name varchar(255) NOT NULL, "
+                    + "age integer NOT NULL, income double precision NOT NULL)");
+            statement.execute("CREATE TABLE " + credit + " (id " + keyType + " PRIMARY KEY, interest_rate double precision NOT NULL, "
+                    + "type varchar(255), client_id " + keyType + " NOT NULL REFERENCES " + client + " (id))");
+            statement.execute("CREATE INDEX idx_" + credit + "_type_client ON " + credit + " (type, client_id)");
+        }
+        connection.commit();
+
+        var random = new Random(42);
+        var line = new StringBuilder(String.format("%-7s", name));
+        try (var insertClient = connection.prepareStatement("INSERT INTO " + client + " (id, name, age, income) VALUES (?, ?, ?, ?)");
+             var insertCredit = connection.prepareStatement("INSERT INTO " + credit + " (id, interest_rate, type, client_id) VALUES (?, ?, ?, ?)")) {
+            int perSlice = ROWS / SLICES;
+            for (int slice = 0; slice < SLICES; slice++) {
+                long start = System.nanoTime();
+                for (int row = 0; row < perSlice; row += BATCH) {
+                    for (int i = row; i < Math.min(row + BATCH, perSlice); i++) {
+                        var clientId = ids.get();
+                        insertClient.setObject(1, clientId);
+                        insertClient.setString(2, "Client " + i);
+                        insertClient.setInt(3, 18 + random.nextInt(70));
+                        insertClient.setDouble(4, random.nextInt(25_000));
+                        insertClient.addBatch();
+
+                        insertCredit.setObject(1, ids.get());
+                        insertCredit.setDouble(2, 5.0);
+                        insertCredit.setString(3, "FIXED_INTEREST");
+                        insertCredit.setObject(4, clientId);
+                        insertCredit.addBatch();
+                    }
+                    insertClient.executeBatch();
+                    insertCredit.executeBatch();
+                    connection.commit();
+                }
+                line.append(String.format(" %13.0f", perSlice / ((System.nanoTime() - start) / 1e9)));
+            }
+        }
+        return line.append(sizes(connection, client, credit)).toString();
+    }
+
+    /**
+     * Tamanho das tabelas e dos índices em MB; disponível apenas no PostgreSQL.
+     */
+    private static String sizes(Connection connection, String... tables) throws SQLException {
+        if (!connection.getMetaData().getDatabaseProductName().equals("PostgreSQL")) {
+            return String.format(" %10s %10s", "n/a", "n/a");
+        }
+
+        long table = 0;
+        long indexes = 0;
+        try (var statement = connection.prepareStatement("SELECT pg_table_size(?::regclass), pg_indexes_size(?::regclass)")) {
+            for (var name : tables) {
+                statement.setString(1, name);
+                statement.setString(2, name);
+                try (var result = statement.executeQuery()) {
+                    result.next();
+                    table += result.getLong(1);
+                    indexes += result.getLong(2);
+                }
+            }
+        }
+        return String.format(" %10.1f %10.1f", table / 1048576.0, indexes / 1048576.0);
+    }
+}
@@ -0,0 +1,104 @@
+package br.com.neurotech.challenge.benchmark;
+
+import br.com.neurotech.challenge.dto.EligibleClientDTO;
+import br.com.neurotech.challenge.dto.NeurotechClientDTO;
+import br.com.neurotech.challenge.entity.TimeOrderedUuid;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara JSON, Smile e CBOR nas listagens de clientes: o tempo de serialização e de desserialização das
+ * listas de {@link NeurotechClientDTO} e {@link EligibleClientDTO}, em vários tamanhos. O tamanho de cada
+ * payload é impresso na preparação de cada combinação de parâmetros.
+ * <p>
+ * Os {@link ObjectMapper}s são criados pelo {@link Jackson2ObjectMapperBuilder}, como nos conversores de
+ * {@link br.com.neurotech.challenge.configs.BinaryFormatsConfig}. Execução: {@code mvn -Pbenchmark verify
+ * -Djmh.includes=ResponseEncodingBenchmark}; com 1.000.000 de linhas, a JVM do benchmark precisa de pelo menos
+ * 2 GB de heap ({@code -Djmh.args="-jvmArgsAppend -Xmx2g"}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseEncodingBenchmark {
+
+    private static final TypeReference<List<NeurotechClientDTO>> CLIENTS = new TypeReference<>() {};
+    private static final TypeReference<List<EligibleClientDTO>> ELIGIBLE = new TypeReference<>() {};
+
+    @Param({"10000", "100000", "1000000"})
+    private int rows;
+
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    private List<NeurotechClientDTO> clients;
+    private List<EligibleClientDTO> eligibleClients;
+    private ObjectMapper objectMapper;
+    private byte[] clientsPayload;
+    private byte[] eligiblePayload;
+
+    @Setup
+    public void setUp() throws IOException {
+        var random = new Random(42);
+        clients = new ArrayList<>(rows);
+        eligibleClients = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            var client = new NeurotechClientDTO(TimeOrderedUuid.next(), "Client " + i,
+                    18 + random.nextInt(70), (double) random.nextInt(25_000));
+            clients.add(client);
+            eligibleClients.add(new EligibleClientDTO(client.name(), client.income()));
+        }
+        objectMapper = switch (format) {
+            case "smile" -> Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build();
+            case "cbor" -> Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        clientsPayload = serializeClients();
+        eligiblePayload = serializeEligibleClients();
+        System.out.printf("%n%s, %d linhas: clientes %d bytes (%.1f por linha), elegíveis %d bytes (%.1f por linha)%n",
+                format, rows, clientsPayload.length, (double) clientsPayload.length / rows,
+                eligiblePayload.length, (double) eligiblePayload.length / rows);
+    }
+
+    @Benchmark
+    public byte[] serializeClients() throws IOException {
+        return objectMapper.writeValueAsBytes(clients);
+    }
+
+    @Benchmark
+    public byte[] serializeEligibleClients() throws IOException {
+        return objectMapper.writeValueAsBytes(eligibleClients);
+    }
+
+    @Benchmark
+    public List<NeurotechClientDTO> deserializeClients() throws IOException {
+        return objectMapper.readValue(clientsPayload, CLIENTS);
+    }
+
+    @Benchmark
+    public List<EligibleClientDTO> deserializeEligibleClients() throws IOException {
+        return objectMapper.readValue(eligiblePayload, ELIGIBLE);
+    }
+}
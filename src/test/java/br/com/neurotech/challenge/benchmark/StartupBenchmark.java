@@ -0,0 +1,196 @@
+package br.com.neurotech.challenge.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara o tempo até a primeira requisição bem-sucedida de {@code GET /api/clients/{id}} no modo normal (jar
+ * executável) e no modo de partida rápida (perfil Maven {@code fast-startup}: AOT, arquivo AppCDS e perfil
+ * Spring {@code fast-startup}).
+ * <p>
+ * Cada partida é um processo novo, medido do lançamento da JVM até a primeira resposta 200; a consulta é
+ * repetida a cada 10 ms. Antes das medições, uma partida no modo normal cria o esquema e cadastra o cliente
+ * consultado. São reportados a mediana, o mínimo e o máximo de cada modo; a saída de cada processo fica em
+ * {@code target/startup-benchmark}.
+ * <p>
+ * Os processos usam o banco configurado na aplicação; outro banco é informado com propriedades
+ * {@code -Dspring.*}, repassadas a todos os processos, e jars adicionais (driver JDBC) com
+ * {@code -Dstartup.classpath}. Execução, que também gera os artefatos dos dois modos: {@code mvn
+ * -Pfast-startup,benchmark verify -Dbenchmark.main=br.com.neurotech.challenge.benchmark.StartupBenchmark}; a
+ * quantidade de partidas de cada modo pode ser alterada com {@code -Dbenchmark.jvmArgs="-Dstartup.runs=..."}.
+ */
+public class StartupBenchmark {
+
+    private static final int RUNS = Integer.getInteger("startup.runs", 5);
+    private static final Duration TIMEOUT = Duration.ofSeconds(Long.getLong("startup.timeout", 120));
+    private static final String CLASSPATH = System.getProperty("startup.classpath", "");
+    private static final Path TARGET = Path.of("target");
+    private static final Path LOGS = TARGET.resolve("startup-benchmark");
+    private static final String JAVA = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+    private static final String MAIN = "br.com.neurotech.challenge.ChallengeJavaDeveloperApplication";
+
+    private static final HttpClient HTTP = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    private enum Mode {
+        DEFAULT, FAST
+    }
+
+    public static void main(String[] args) throws Exception {
+        Files.createDirectories(LOGS);
+        var path = "/api/clients/" + prepare();
+
+        var times = new long[Mode.values().length][RUNS];
+        for (int run = 0; run < RUNS; run++) {
+            for (var mode : Mode.values()) {
+                times[mode.ordinal()][run] = firstSuccess(mode, run, path);
+            }
+        }
+
+        System.out.println();
+        System.out.println("mode     runs  median ms     min ms     max ms");
+        for (var mode : Mode.values()) {
+            var sorted = times[mode.ordinal()].clone();
+            Arrays.sort(sorted);
+            System.out.printf("%-8s %4d %10d %10d %10d%n", mode.name().toLowerCase(), RUNS,
+                    sorted[sorted.length / 2], sorted[0], sorted[sorted.length - 1]);
+        }
+    }
+
+    /**
+     * Inicia a aplicação no modo normal, cadastra um cliente e retorna o seu id.
+     */
+    private static String prepare() throws Exception {
+        int port = freePort();
+        var process = start(Mode.DEFAULT, port, LOGS.resolve("prepare.log"));
+        try {
+            var request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/clients"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"name\":\"Startup\",\"age\":22,\"income\":6000.0}"))
+                    .build();
+            long deadline = System.nanoTime() + TIMEOUT.toNanos();
+            while (System.nanoTime() < deadline) {
+                var response = poll(request);
+                if (response != null && response.statusCode() == 201) {
+                    var location = response.headers().firstValue("Location").orElseThrow();
+                    return location.substring(location.lastIndexOf('/') + 1);
+                }
+                check(process);
+            }
+            throw new IllegalStateException("A aplicação não cadastrou o cliente em " + TIMEOUT);
+        } finally {
+            stop(process);
+        }
+    }
+
+    /**
+     * Inicia a aplicação e retorna o tempo, em milissegundos, até a primeira resposta 200 de {@code path}.
+     */
+    private static long firstSuccess(Mode mode, int run, String path) throws Exception {
+        int port = freePort();
+        var request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build();
+        long start = System.nanoTime();
+        var process = start(mode, port, LOGS.resolve(mode.name().toLowerCase() + "-" + run + ".log"));
+        try {
+            while (System.nanoTime() - start < TIMEOUT.toNanos()) {
+                var response = poll(request);
+                if (response != null && response.statusCode() == 200) {
+                    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                }
+                check(process);
+            }
+            throw new IllegalStateException("Modo " + mode + " sem resposta em " + TIMEOUT);
+        } finally {
+            stop(process);
+        }
+    }
+
+    private static Process start(Mode mode, int port, Path log) throws IOException {
+        var command = new ArrayList<String>();
+        command.add(JAVA);
+        System.getProperties().stringPropertyNames().stream()
+                .filter(name -> name.startsWith("spring."))
+                .forEach(name -> command.add("-D" + name + "=" + System.getProperty(name)));
+
+        switch (mode) {
+            case DEFAULT -> {
+                var jar = jar(TARGET).toString();
+                if (CLASSPATH.isEmpty()) {
+                    command.addAll(List.of("-jar", jar));
+                } else {
+                    // jars adicionais só são aceitos pelo PropertiesLauncher
+                    command.addAll(List.of("-Dloader.path=" + CLASSPATH, "-cp", jar,
+                            "org.springframework.boot.loader.launch.PropertiesLauncher"));
+                }
+            }
+            case FAST -> {
+                var directory = TARGET.resolve("fast-startup");
+                // o classpath do treino (o jar e o seu Class-Path) precisa ser o início do classpath de execução
+                command.addAll(List.of(
+                        "-XX:SharedArchiveFile=" + directory.resolve("application.jsa"),
+                        "-Dspring.aot.enabled=true",
+                        "-Dspring.profiles.active=fast-startup",
+                        "-cp", jar(directory) + (CLASSPATH.isEmpty() ? "" : File.pathSeparator + CLASSPATH),
+                        MAIN));
+            }
+        }
+        command.add("--server.port=" + port);
+
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+    }
+
+    private static HttpResponse<Void> poll(HttpRequest request) throws InterruptedException {
+        try {
+            return HTTP.send(request, HttpResponse.BodyHandlers.discarding());
+        } catch (IOException e) {
+            Thread.sleep(10);
+            return null;
+        }
+    }
+
+    private static void check(Process process) {
+        if (!process.isAlive()) {
+            throw new IllegalStateException("A aplicação encerrou com código " + process.exitValue() + "; veja " + LOGS);
+        }
+    }
+
+    private static void stop(Process process) throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+
+    /**
+     * Único jar de {@code directory}.
+     */
+    private static Path jar(Path directory) throws IOException {
+        try (var files = Files.list(directory)) {
+            var jars = files.filter(file -> file.getFileName().toString().endsWith(".jar")).toList();
+            if (jars.size() != 1) {
+                throw new IllegalStateException("Esperado um jar em " + directory + "; gere-o com mvn -Pfast-startup package");
+            }
+            return jars.get(0);
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (var socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package br.com.neurotech.challenge.benchmark;
+
+import br.com.neurotech.challenge.entity.Credit;
+import br.com.neurotech.challenge.entity.TimeOrderedUuid;
+import br.com.neurotech.challenge.entity.VehicleModel;
+import br.com.neurotech.challenge.service.implementation.CreditRuleEngine;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Gerador de clientes sintéticos para os testes de carga.
+ * <p>
+ * As idades e as rendas seguem distribuições próximas às de uma carteira real: a maioria dos clientes entre
+ * 18 e 65 anos, concentrada nos mais jovens, uma parcela de aposentados acima de 65 anos e renda log-normal
+ * com mediana de alguns salários mínimos e cauda longa. O tipo de crédito e a elegibilidade por modelo de
+ * veículo são calculados com as regras vigentes, de modo que os dados gravados são os mesmos que a API
+ * gravaria; por isso a distribuição alcança todos os ramos da determinação do tipo de crédito, inclusive o de
+ * clientes que não se qualificam para nenhum.
+ * <p>
+ * A carga inicial é gravada diretamente por JDBC, em lotes, sem passar pelas entidades.
+ */
+class SyntheticDataGenerator {
+
+    /**
+     * Fração de clientes acima de 65 anos.
+     */
+    private static final double SENIORS = 0.12;
+    private static final double MEDIAN_INCOME = 3200.0;
+    private static final double INCOME_SIGMA = 0.75;
+    private static final double MINIMUM_INCOME = 1412.0;
+
+    /**
+     * Cliente sintético.
+     *
+     * @param type Tipo de crédito determinado pelas regras, ou {@code null} se o cliente não se qualifica.
+     */
+    record Client(String name, int age, double income, Credit.CreditType type) {
+
+        String json() {
+            return "{\"name\":\"" + name + "\",\"age\":" + age + ",\"income\":" + income + "}";
+        }
+    }
+
+    private final CreditRuleEngine.Rules rules;
+    private final Random random;
+    private long sequence;
+
+    SyntheticDataGenerator(CreditRuleEngine.Rules rules, long seed) {
+        this.rules = rules;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Sorteia o próximo cliente.
+     */
+    synchronized Client next() {
+        int age = random.nextDouble() < SENIORS
+                ? 66 + random.nextInt(25)
+                : 18 + (int) Math.min(47, Math.abs(random.nextGaussian()) * 16);
+        double income = Math.max(MINIMUM_INCOME, MEDIAN_INCOME * Math.exp(INCOME_SIGMA * random.nextGaussian()));
+        income = Math.round(income * 100) / 100.0;
+        return new Client("Synthetic " + sequence++, age, income, rules.creditType(age, income));
+    }
+
+    /**
+     * Grava {@code count} clientes que se qualificam para crédito, cada um com o seu crédito, em lotes JDBC de
+     * {@code batch} linhas. Os clientes sorteados que não se qualificam são descartados, como a API faria.
+     *
+     * @return Os identificadores dos clientes gravados.
+     * @throws IllegalStateException se algum tipo de crédito não tiver sido sorteado.
+     */
+    List<UUID> seed(JdbcTemplate jdbcTemplate, int count, int batch) {
+        var ids = new ArrayList<UUID>(count);
+        var types = new EnumMap<Credit.CreditType, Integer>(Credit.CreditType.class);
+        int rejected = 0;
+        long start = System.nanoTime();
+
+        var clients = new ArrayList<Object[]>(batch);
+        var credits = new ArrayList<Object[]>(batch);
+        while (ids.size() < count) {
+            var client = next();
+            if (client.type() == null) {
+                rejected++;
+                continue;
+            }
+
+            var id = TimeOrderedUuid.next();
+            ids.add(id);
+            types.merge(client.type(), 1, Integer::sum);
+            clients.add(new Object[]{id, client.name(), client.age(), client.income(),
+                    rules.eligible(VehicleModel.HATCH, client.age(), client.income()),
+                    rules.eligible(VehicleModel.SUV, client.age(), client.income())});
+            credits.add(new Object[]{TimeOrderedUuid.next(), rules.rate(client.type()), client.type().name(), id});
+
+            if (clients.size() == batch || ids.size() == count) {
+                jdbcTemplate.batchUpdate("INSERT INTO neurotech_client (id, name, age, income, hatch_eligible, suv_eligible) "
+                        + "VALUES (?, ?, ?, ?, ?, ?)", clients);
+                jdbcTemplate.batchUpdate("INSERT INTO credit (id, interest_rate, type, client_id) VALUES (?, ?, ?, ?)", credits);
+                clients.clear();
+                credits.clear();
+            }
+        }
+
+        for (var type : Credit.CreditType.values()) {
+            if (!types.containsKey(type)) {
+                throw new IllegalStateException("Nenhum cliente sorteado com crédito " + type + "; aumente a quantidade de clientes");
+            }
+        }
+        System.out.printf("%d clientes gravados em %.1f s (%s, %d descartados sem crédito)%n",
+                count, (System.nanoTime() - start) / 1e9, describe(types), rejected);
+        return ids;
+    }
+
+    private static String describe(Map<Credit.CreditType, Integer> types) {
+        var description = new StringBuilder();
+        types.forEach((type, total) -> description.append(description.isEmpty() ? "" : ", ").append(type).append(' ').append(total));
+        return description.toString();
+    }
+}
@@ -0,0 +1,170 @@
+package br.com.neurotech.challenge.benchmark;
+
+import br.com.neurotech.challenge.ChallengeJavaDeveloperApplication;
+import br.com.neurotech.challenge.entity.NeurotechClient;
+import br.com.neurotech.challenge.service.ClientService;
+import br.com.neurotech.challenge.service.CreditService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compara o atendimento de requisições em threads de plataforma e em threads virtuais
+ * ({@code spring.threads.virtual.enabled}) com 100, 1.000 e 10.000 clientes simultâneos.
+ * <p>
+ * Para cada modo, a aplicação é iniciada em uma porta livre e populada com clientes; em seguida, cada
+ * nível de concorrência é mantido por um período fixo, com cada cliente simulado repetindo a listagem
+ * paginada de elegíveis (uma consulta ao banco por requisição). São reportados a vazão, os percentis de
+ * latência e a quantidade de erros.
+ * <p>
+ * Por padrão usa o H2 do classpath de teste, em que as consultas não esperam por I/O; para números
+ * representativos, aponte para um PostgreSQL com {@code -Dspring.datasource.url=...}
+ * {@code -Dspring.datasource.driver-class-name=org.postgresql.Driver}, usuário e senha. Execução:
+ * {@code mvn -Pbenchmark verify -Dbenchmark.main=br.com.neurotech.challenge.benchmark.ThreadModeLoadBenchmark
+ * -Dbenchmark.args="100 1000 10000"}; a quantidade de clientes cadastrados e as durações do aquecimento e de cada
+ * medição (em segundos) podem ser alteradas com {@code -Dbenchmark.jvmArgs="-Dload.clients=... -Dload.warmup=...
+ * -Dload.duration=..."}.
+ */
+public class ThreadModeLoadBenchmark {
+
+    private static final int CLIENTS = Integer.getInteger("load.clients", 20_000);
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("load.warmup", 5));
+    private static final Duration MEASUREMENT = Duration.ofSeconds(Long.getLong("load.duration", 15));
+    private static final String PATH = "/api/clients/eligible/HATCH?minAge=18&maxAge=60&creditType=FIXED_INTEREST&limit=20";
+
+    public static void main(String[] args) throws Exception {
+        int[] levels = args.length == 0
+                ? new int[]{100, 1_000, 10_000}
+                : Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+
+        var results = new ArrayList<String>();
+        for (boolean virtual : new boolean[]{false, true}) {
+            try (var context = start(virtual)) {
+                seed(context);
+                var uri = URI.create("http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort() + PATH);
+
+                run(uri, levels[0], WARMUP);
+                for (int level : levels) {
+                    results.add((virtual ? "virtual " : "platform") + " " + run(uri, level, MEASUREMENT));
+                }
+            }
+        }
+
+        System.out.println();
+        System.out.println("mode     clients       req/s    p50 ms    p99 ms  p99.9 ms    max ms   errors");
+        results.forEach(System.out::println);
+    }
+
+    private static ConfigurableApplicationContext start(boolean virtual) {
+        return new SpringApplicationBuilder(ChallengeJavaDeveloperApplication.class).run(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtual,
+                "--spring.jpa.show-sql=false",
+                // o limite de conexões do Tomcat não deve ser o gargalo com 10.000 clientes
+                "--server.tomcat.max-connections=12000",
+                "--server.tomcat.accept-count=2000");
+    }
+
+    private static void seed(ConfigurableApplicationContext context) {
+        var clientService = context.getBean(ClientService.class);
+        var creditService = context.getBean(CreditService.class);
+        var random = new Random(42);
+
+        var clients = new ArrayList<NeurotechClient>(CLIENTS);
+        for (int i = 0; i < CLIENTS; i++) {
+            var client = new NeurotechClient();
+            client.setName("Client " + i);
+            client.setAge(18 + random.nextInt(8));
+            client.setIncome(5000.0 + random.nextInt(10_000));
+            client.getCredits().add(creditService.createCreditForClient(client));
+            clients.add(client);
+        }
+        clientService.saveAll(clients);
+    }
+
+    /**
+     * Mantém {@code concurrency} clientes simultâneos durante {@code duration} e retorna a linha de resultado.
+     */
+    private static String run(URI uri, int concurrency, Duration duration) throws InterruptedException {
+        var request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).GET().build();
+        var errors = new AtomicLong();
+        var latencies = new ArrayList<long[]>(concurrency);
+        var counts = new int[concurrency];
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor();
+             var http = HttpClient.newBuilder()
+                     .executor(executor)
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .connectTimeout(Duration.ofSeconds(30))
+                     .build()) {
+            long deadline = System.nanoTime() + duration.toNanos();
+            var threads = new ArrayList<Thread>(concurrency);
+            for (int c = 0; c < concurrency; c++) {
+                var samples = new long[1024];
+                latencies.add(samples);
+                int client = c;
+                threads.add(Thread.ofVirtual().start(() -> {
+                    var own = samples;
+                    int n = 0;
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            var response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                                continue;
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        if (n == own.length) {
+                            own = Arrays.copyOf(own, n * 2);
+                        }
+                        own[n++] = System.nanoTime() - start;
+                    }
+                    latencies.set(client, own);
+                    counts[client] = n;
+                }));
+            }
+            for (var thread : threads) {
+                thread.join();
+            }
+        }
+
+        long total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        var all = new long[(int) total];
+        int offset = 0;
+        for (int c = 0; c < concurrency; c++) {
+            System.arraycopy(latencies.get(c), 0, all, offset, counts[c]);
+            offset += counts[c];
+        }
+        Arrays.sort(all);
+
+        return String.format("%7d %11.0f %9.2f %9.2f %9.2f %9.2f %8d",
+                concurrency, total / (duration.toNanos() / 1e9),
+                percentile(all, 0.50), percentile(all, 0.99), percentile(all, 0.999),
+                all.length == 0 ? 0 : all[all.length - 1] / 1e6, errors.get());
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)] / 1e6;
+    }
+}
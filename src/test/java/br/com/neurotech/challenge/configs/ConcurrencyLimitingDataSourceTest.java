@@ -0,0 +1,86 @@
+package br.com.neurotech.challenge.configs;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ConcurrencyLimitingDataSourceTest {
+
+    @Test
+    void shouldNeverExceedMaxConcurrency() throws Exception {
+        var open = new AtomicInteger();
+        var maxOpen = new AtomicInteger();
+        var target = mock(DataSource.class);
+        when(target.getConnection()).thenAnswer(invocation -> {
+            maxOpen.accumulateAndGet(open.incrementAndGet(), Math::max);
+            var connection = mock(Connection.class);
+            doAnswer(close -> open.decrementAndGet()).when(connection).close();
+            return connection;
+        });
+        var dataSource = new ConcurrencyLimitingDataSource(target, 4, Duration.ofSeconds(10));
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var tasks = new ArrayList<Future<?>>();
+            for (int i = 0; i < 1000; i++) {
+                tasks.add(executor.submit(() -> {
+                    try (var connection = dataSource.getConnection()) {
+                        Thread.sleep(1);
+                    }
+                    return null;
+                }));
+            }
+            for (var task : tasks) {
+                task.get();
+            }
+        }
+
+        assertTrue(maxOpen.get() <= 4, "max open connections: " + maxOpen.get());
+        assertEquals(4, dataSource.availablePermits());
+    }
+
+    @Test
+    void shouldReleasePermitOnlyOnceWhenClosedTwice() throws Exception {
+        var target = mock(DataSource.class);
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        var dataSource = new ConcurrencyLimitingDataSource(target, 2, Duration.ofSeconds(1));
+
+        var first = dataSource.getConnection();
+        dataSource.getConnection();
+        first.close();
+        first.close();
+
+        assertEquals(1, dataSource.availablePermits());
+    }
+
+    @Test
+    void shouldTimeOutWhenNoPermitIsAvailable() throws Exception {
+        var target = mock(DataSource.class);
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        var dataSource = new ConcurrencyLimitingDataSource(target, 1, Duration.ofMillis(50));
+
+        dataSource.getConnection();
+
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+    }
+
+    @Test
+    void shouldReleasePermitWhenTargetFails() throws Exception {
+        var target = mock(DataSource.class);
+        when(target.getConnection()).thenThrow(new SQLException("pool indisponível"));
+        var dataSource = new ConcurrencyLimitingDataSource(target, 1, Duration.ofMillis(50));
+
+        assertThrows(SQLException.class, dataSource::getConnection);
+        assertEquals(1, dataSource.availablePermits());
+    }
+}
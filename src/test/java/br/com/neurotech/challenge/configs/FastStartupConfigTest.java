@@ -0,0 +1,39 @@
+package br.com.neurotech.challenge.configs;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "spring.jpa.hibernate.ddl-auto=create-drop"})
+@AutoConfigureMockMvc
+@ActiveProfiles("fast-startup")
+class FastStartupConfigTest {
+
+    @Autowired
+    private ConfigurableListableBeanFactory beanFactory;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void shouldCreateOnlyScheduledBeansAndEntityManagerFactoryOnStartup() {
+        assertTrue(beanFactory.containsSingleton("idempotencyServiceImpl"));
+        assertTrue(beanFactory.containsSingleton("entityManagerFactory"));
+        assertFalse(beanFactory.containsSingleton("creditJobController"));
+        assertFalse(beanFactory.containsSingleton("creditRuleController"));
+    }
+
+    @Test
+    void shouldNotServeApiDocs() throws Exception {
+        mockMvc.perform(get("/v3/api-docs")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/clients")).andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,113 @@
+package br.com.neurotech.challenge.configs;
+
+import br.com.neurotech.challenge.entity.NeurotechClient;
+import br.com.neurotech.challenge.service.ClientService;
+import br.com.neurotech.challenge.service.CreditService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Usa dois bancos H2 em memória como primário e réplica. A replicação é simulada copiando o primário para a
+ * réplica com {@code SCRIPT}, de modo que a réplica só enxerga o que foi gravado até a última cópia.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:primary",
+        "neurotech.db.replica.enabled=true",
+        "neurotech.db.replica.url=jdbc:h2:mem:replica",
+        "neurotech.db.replica.username=sa"
+})
+@AutoConfigureMockMvc
+class ReadReplicaRoutingTest {
+
+    private static final String CLIENT = "{\"name\":\"Bob\",\"age\":30,\"income\":10000.0}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private CreditService creditService;
+
+    @BeforeEach
+    void setUp() {
+        var primary = new JdbcTemplate(routing().getPrimary());
+        primary.update("DELETE FROM credit");
+        primary.update("DELETE FROM neurotech_client");
+        replicate();
+    }
+
+    @Test
+    void shouldReadFromReplicaAndWriteToPrimary() throws Exception {
+        mockMvc.perform(post("/api/clients").contentType(MediaType.APPLICATION_JSON).content(CLIENT))
+                .andExpect(status().isCreated());
+
+        // a réplica ainda não recebeu o cliente
+        mockMvc.perform(get("/api/clients")).andExpect(jsonPath("$.length()").value(0));
+        assertEquals(1, new JdbcTemplate(routing().getPrimary())
+                .queryForObject("SELECT COUNT(*) FROM neurotech_client", Integer.class));
+
+        replicate();
+        mockMvc.perform(get("/api/clients")).andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    void shouldReadYourWritesWithinTheSameRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        try {
+            assertTrue(clientService.getAll().isEmpty());
+
+            var client = new NeurotechClient();
+            client.setName("Bob");
+            client.setAge(30);
+            client.setIncome(10000.0);
+            creditService.createClientWithCredit(client);
+
+            assertEquals(1, clientService.getAll().size(), "Reads after a write must go to the primary");
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+
+        assertTrue(clientService.getAll().isEmpty(), "Other requests keep reading from the replica");
+    }
+
+    private ReadWriteRoutingDataSource routing() {
+        return assertInstanceOf(ReadWriteRoutingDataSource.class, dataSource);
+    }
+
+    /**
+     * Copia o esquema e os dados do primário para a réplica.
+     */
+    private void replicate() {
+        var primary = new JdbcTemplate(routing().getPrimary());
+        var replica = new JdbcTemplate(routing().getReplica());
+        replica.execute("DROP ALL OBJECTS");
+        for (var statement : primary.queryForList("SCRIPT", String.class)) {
+            if (!statement.startsWith("--")) {
+                replica.execute(statement);
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package br.com.neurotech.challenge.configs;
+
+import br.com.neurotech.challenge.service.ClientService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.env.MockEnvironment;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.threads.virtual.enabled=true",
+        "neurotech.db.max-concurrency=3"
+})
+class VirtualThreadsConfigTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Test
+    void shouldLimitDatabaseAccessWhenVirtualThreadsAreEnabled() throws Exception {
+        var limited = assertInstanceOf(ConcurrencyLimitingDataSource.class, dataSource);
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var tasks = new ArrayList<Future<?>>();
+            for (int i = 0; i < 500; i++) {
+                tasks.add(executor.submit(() -> clientService.getAll()));
+            }
+            for (var task : tasks) {
+                assertNotNull(task.get());
+            }
+        }
+
+        assertEquals(3, limited.availablePermits());
+    }
+
+    @Test
+    void shouldLimitReplicaRoutingByBothPoolsAndLeaveOtherDataSourcesAlone() {
+        var postProcessor = VirtualThreadsConfig.concurrencyLimitingDataSourcePostProcessor(new MockEnvironment());
+        var primary = new HikariDataSource();
+        primary.setMaximumPoolSize(4);
+        var replica = new HikariDataSource();
+        replica.setMaximumPoolSize(6);
+
+        var routing = postProcessor.postProcessAfterInitialization(
+                new ReadWriteRoutingDataSource(primary, replica, true), "dataSource");
+        assertEquals(10, assertInstanceOf(ConcurrencyLimitingDataSource.class, routing).availablePermits());
+
+        var other = new DriverManagerDataSource("jdbc:h2:mem:other");
+        assertSame(other, postProcessor.postProcessAfterInitialization(other, "other"));
+    }
+}
@@ -0,0 +1,135 @@
+package br.com.neurotech.challenge.controllers;
+
+import br.com.neurotech.challenge.dto.EligibleClientDTO;
+import br.com.neurotech.challenge.dto.NeurotechClientDTO;
+import br.com.neurotech.challenge.dto.PageDTO;
+import br.com.neurotech.challenge.entity.NeurotechClient;
+import br.com.neurotech.challenge.service.CreditService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureMockMvc
+class BinaryFormatsTest {
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+    private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+
+    private static final TypeReference<List<NeurotechClientDTO>> CLIENTS = new TypeReference<>() {};
+    private static final TypeReference<PageDTO<NeurotechClientDTO>> CLIENT_PAGE = new TypeReference<>() {};
+    private static final TypeReference<List<EligibleClientDTO>> ELIGIBLE = new TypeReference<>() {};
+    private static final TypeReference<PageDTO<EligibleClientDTO>> ELIGIBLE_PAGE = new TypeReference<>() {};
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CreditService creditService;
+
+    @BeforeEach
+    void setUp() {
+        tearDown();
+        for (int i = 0; i < 50; i++) {
+            var client = new NeurotechClient();
+            client.setName("Client " + i);
+            client.setAge(22);
+            client.setIncome(6000.0 + i);
+            creditService.createClientWithCredit(client);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM credit");
+        jdbcTemplate.update("DELETE FROM neurotech_client");
+    }
+
+    @Test
+    void shouldEncodeClientListsInSmile() throws Exception {
+        assertSameContent("/api/clients", SMILE, new SmileMapper(), CLIENTS);
+        assertSameContent("/api/clients?limit=20", SMILE, new SmileMapper(), CLIENT_PAGE);
+        assertSameContent("/api/clients/eligible/HATCH?minAge=18&maxAge=60&creditType=FIXED_INTEREST", SMILE, new SmileMapper(), ELIGIBLE);
+    }
+
+    @Test
+    void shouldEncodeClientListsInCbor() throws Exception {
+        assertSameContent("/api/clients", CBOR, new CBORMapper(), CLIENTS);
+        assertSameContent("/api/clients/eligible/HATCH?minAge=18&maxAge=60&creditType=FIXED_INTEREST&limit=20", CBOR, new CBORMapper(), ELIGIBLE_PAGE);
+    }
+
+    @Test
+    void shouldKeepJsonAsDefault() throws Exception {
+        mockMvc.perform(get("/api/clients").header(HttpHeaders.ACCEPT, "*/*"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void shouldVaryListsAndConditionalResponsesByAccept() throws Exception {
+        var path = "/api/clients/eligible/HATCH?minAge=18&maxAge=60&creditType=FIXED_INTEREST";
+        var etag = mockMvc.perform(get(path).accept(SMILE))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get(path).accept(SMILE).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT)));
+        mockMvc.perform(get("/api/clients?limit=20").accept(CBOR))
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT)));
+    }
+
+    @Test
+    void shouldRejectBinaryRequestBodies() throws Exception {
+        var body = new SmileMapper().writeValueAsBytes(Map.of("name", "Ana", "age", 22, "income", 6000.0));
+        mockMvc.perform(post("/api/clients").contentType(SMILE).content(body))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+
+    /**
+     * Verifica que a resposta no formato binário tem o mesmo conteúdo da resposta em JSON e é menor que ela.
+     * O conteúdo é comparado após a leitura nos DTOs, pois os identificadores são gravados como binário.
+     */
+    private <T> void assertSameContent(String path, MediaType format, ObjectMapper decoder, TypeReference<T> type) throws Exception {
+        var json = mockMvc.perform(get(path).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        var binary = mockMvc.perform(get(path).accept(format))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(format))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        T expected = objectMapper.readValue(json, type);
+        assertNotEquals(List.of(), expected, path);
+        assertEquals(expected, decoder.readValue(binary, type), path);
+        assertTrue(binary.length < json.length, path + ": " + binary.length + " >= " + json.length);
+    }
+}
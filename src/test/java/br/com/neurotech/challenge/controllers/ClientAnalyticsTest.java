@@ -0,0 +1,140 @@
+package br.com.neurotech.challenge.controllers;
+
+import br.com.neurotech.challenge.configs.CreditRulesProperties;
+import br.com.neurotech.challenge.configs.SqlStatementCounter;
+import br.com.neurotech.challenge.entity.NeurotechClient;
+import br.com.neurotech.challenge.entity.VehicleModel;
+import br.com.neurotech.challenge.service.CreditService;
+import br.com.neurotech.challenge.service.implementation.CreditRuleEngine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "neurotech.sql-guard.enabled=true"})
+@AutoConfigureMockMvc
+class ClientAnalyticsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CreditService creditService;
+
+    @Autowired
+    private CreditRuleEngine ruleEngine;
+
+    @BeforeEach
+    void setUp() {
+        tearDown();
+        // juros fixos, elegível ao HATCH
+        create("Ana", 22, 6000.0);
+        // juros variáveis, elegível ao HATCH e ao SUV
+        create("Bruno", 30, 9000.0);
+        // consignado, sem veículo
+        create("Carla", 70, 3000.0);
+        // juros fixos, sem veículo
+        create("Davi", 19, 20000.0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM credit");
+        jdbcTemplate.update("DELETE FROM neurotech_client");
+    }
+
+    @Test
+    void shouldAggregateClientsInASingleQuery() throws Exception {
+        SqlStatementCounter.reset();
+        mockMvc.perform(get("/api/clients/analytics"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total.count").value(4))
+                .andExpect(jsonPath("$.total.incomeSum").value(38000.0))
+                .andExpect(jsonPath("$.total.incomeAverage").value(9500.0))
+
+                .andExpect(jsonPath("$.ageBands[*].key").value(contains("0-17", "18-20", "21-25", "26-65", "66+")))
+                .andExpect(jsonPath("$.ageBands[*].count").value(contains(0, 1, 1, 1, 1)))
+                .andExpect(jsonPath("$.ageBands[0].incomeAverage").doesNotExist())
+
+                .andExpect(jsonPath("$.incomeBands[*].key").value(contains("0-5000", "5000-8000", "8000-15000", "15000+")))
+                .andExpect(jsonPath("$.incomeBands[*].count").value(contains(1, 1, 1, 1)))
+                .andExpect(jsonPath("$.incomeBands[3].incomeSum").value(20000.0))
+
+                .andExpect(jsonPath("$.creditTypes[0].key").value("FIXED_INTEREST"))
+                .andExpect(jsonPath("$.creditTypes[0].count").value(2))
+                .andExpect(jsonPath("$.creditTypes[0].incomeAverage").value(13000.0))
+                .andExpect(jsonPath("$.creditTypes[1].count").value(1))
+                .andExpect(jsonPath("$.creditTypes[2].count").value(1))
+
+                .andExpect(jsonPath("$.vehicles[0].vehicleModel").value("HATCH"))
+                .andExpect(jsonPath("$.vehicles[0].eligible.count").value(2))
+                .andExpect(jsonPath("$.vehicles[0].eligible.incomeSum").value(15000.0))
+                .andExpect(jsonPath("$.vehicles[0].creditTypes[*].count").value(contains(1, 1, 0)))
+                .andExpect(jsonPath("$.vehicles[1].vehicleModel").value("SUV"))
+                .andExpect(jsonPath("$.vehicles[1].eligible.count").value(1))
+                .andExpect(jsonPath("$.vehicles[1].creditTypes[1].incomeSum").value(9000.0));
+        assertEquals(1, SqlStatementCounter.count(), () -> String.join("\n", SqlStatementCounter.statements()));
+    }
+
+    @Test
+    void shouldFollowReloadedRulesAndCountEachClientOnce() throws Exception {
+        // um segundo crédito, de outro tipo, para a Ana
+        jdbcTemplate.update("INSERT INTO credit (id, client_id, interest_rate, type, version) " +
+                "SELECT ?, id, 7.5, 'VARIABLE_INTEREST', 0 FROM neurotech_client WHERE name = 'Ana'", UUID.randomUUID());
+        var rules = new CreditRulesProperties();
+        rules.getCreditTypes().get(0).setAge(CreditRulesProperties.Interval.closed(18.0, 30.0));
+        rules.getVehicles().get(VehicleModel.SUV).setIncome(CreditRulesProperties.Interval.above(10000.0));
+        ruleEngine.reload(rules);
+        try {
+            mockMvc.perform(get("/api/clients/analytics"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.total.count").value(4))
+                    .andExpect(jsonPath("$.total.incomeSum").value(38000.0))
+                    .andExpect(jsonPath("$.ageBands[*].key").value(contains("0-17", "18-20", "21-30", "31-65", "66+")))
+                    .andExpect(jsonPath("$.ageBands[*].count").value(contains(0, 1, 2, 0, 1)))
+                    .andExpect(jsonPath("$.incomeBands[*].key").value(contains("0-5000", "5000-10000", "10000-15000", "15000+")))
+                    .andExpect(jsonPath("$.incomeBands[*].count").value(contains(1, 2, 0, 1)))
+                    .andExpect(jsonPath("$.creditTypes[0].count").value(2))
+                    .andExpect(jsonPath("$.creditTypes[1].count").value(2))
+                    .andExpect(jsonPath("$.creditTypes[1].incomeSum").value(15000.0));
+        } finally {
+            ruleEngine.reload(new CreditRulesProperties());
+        }
+    }
+
+    @Test
+    void shouldReturnEmptyHistogramsWithoutClients() throws Exception {
+        tearDown();
+        mockMvc.perform(get("/api/clients/analytics"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total.count").value(0))
+                .andExpect(jsonPath("$.total.incomeAverage").doesNotExist())
+                .andExpect(jsonPath("$.ageBands.length()").value(5))
+                .andExpect(jsonPath("$.incomeBands.length()").value(4))
+                .andExpect(jsonPath("$.creditTypes.length()").value(3))
+                .andExpect(jsonPath("$.vehicles.length()").value(2));
+    }
+
+    private void create(String name, int age, double income) {
+        var client = new NeurotechClient();
+        client.setName(name);
+        client.setAge(age);
+        client.setIncome(income);
+        creditService.createClientWithCredit(client);
+    }
+}
@@ -0,0 +1,159 @@
+package br.com.neurotech.challenge.controllers;
+
+import br.com.neurotech.challenge.entity.NeurotechClient;
+import br.com.neurotech.challenge.form.NeurotechClientForm;
+import br.com.neurotech.challenge.repository.NeurotechClientRepository;
+import br.com.neurotech.challenge.service.ClientService;
+import br.com.neurotech.challenge.service.CreditService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "neurotech.batch.chunk-size=500"
+})
+@AutoConfigureMockMvc
+class ClientControllerBatchTest {
+
+    private static final int CLIENTS = 2000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private NeurotechClientRepository repository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private CreditService creditService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void shouldReportEachItemWithoutFailingTheWholeBatch() throws Exception {
+        var forms = List.of(
+                new NeurotechClientForm("Alice", 22, 3000.0),
+                new NeurotechClientForm("Bob", 30, 1000.0),
+                new NeurotechClientForm("", 10, 1000.0),
+                new NeurotechClientForm("Diana", 70, 2000.0));
+
+        mockMvc.perform(post("/api/clients/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(forms)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(4)))
+                .andExpect(jsonPath("$[0].success").value(true))
+                .andExpect(jsonPath("$[0].id").isNotEmpty())
+                .andExpect(jsonPath("$[1].success").value(false))
+                .andExpect(jsonPath("$[1].message").value("Cliente não se qualifica para nenhum crédito."))
+                .andExpect(jsonPath("$[2].success").value(false))
+                .andExpect(jsonPath("$[2].message", containsString("A idade mínima é 18 anos")))
+                .andExpect(jsonPath("$[3].success").value(true));
+
+        assertEquals(2, repository.count());
+    }
+
+    @Test
+    void shouldNeedTenTimesFewerRoundTripsThanSingleItemPath() throws Exception {
+        var forms = forms(CLIENTS);
+
+        for (var form : forms) {
+            mockMvc.perform(post("/api/clients")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(form)))
+                    .andExpect(status().isCreated());
+        }
+        long singleStatements = statistics.getPrepareStatementCount();
+        long singleTransactions = statistics.getTransactionCount();
+
+        repository.deleteAll();
+        statistics.clear();
+
+        mockMvc.perform(post("/api/clients/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(forms)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].success", everyItem(is(true))));
+        long batchStatements = statistics.getPrepareStatementCount();
+        long batchTransactions = statistics.getTransactionCount();
+
+        assertEquals(CLIENTS, repository.count());
+        // Cada ida ao banco é um statement preparado; o lote deve reduzi-las em pelo menos 10x. A vazão de cada
+        // caminho é medida em ClientOnboardingBenchmark.
+        assertTrue(batchStatements * 10 <= singleStatements,
+                "batch=" + batchStatements + " single=" + singleStatements);
+        assertTrue(batchTransactions * 10 <= singleTransactions,
+                "batch=" + batchTransactions + " single=" + singleTransactions);
+    }
+
+    @Test
+    void shouldLeaveRequestPersistenceContextEmptyAfterEachChunk() {
+        // como no open-session-in-view: um EntityManager vinculado à thread, compartilhado pelas transações
+        var entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        try {
+            for (int chunk = 0; chunk < 3; chunk++) {
+                var clients = new ArrayList<NeurotechClient>();
+                for (var form : forms(100)) {
+                    var client = new NeurotechClient();
+                    client.setName(form.getName());
+                    client.setAge(form.getAge());
+                    client.setIncome(form.getIncome());
+                    client.getCredits().add(creditService.createCreditForClient(client));
+                    clients.add(client);
+                }
+                clientService.saveAll(clients);
+                assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+            }
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            entityManager.close();
+        }
+        assertEquals(300, repository.count());
+    }
+
+    private static List<NeurotechClientForm> forms(int size) {
+        var forms = new ArrayList<NeurotechClientForm>(size);
+        for (int i = 0; i < size; i++) {
+            forms.add(new NeurotechClientForm("Client " + i, 18 + (i % 8), 1000.0 + i));
+        }
+        return forms;
+    }
+}
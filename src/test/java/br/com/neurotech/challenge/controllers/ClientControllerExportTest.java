@@ -0,0 +1,73 @@
+package br.com.neurotech.challenge.controllers;
+
+import br.com.neurotech.challenge.entity.NeurotechClient;
+import br.com.neurotech.challenge.repository.NeurotechClientRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureMockMvc
+class ClientControllerExportTest {
+
+    private static final int CLIENTS = 2500;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private NeurotechClientRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+
+        var clients = new ArrayList<NeurotechClient>(CLIENTS);
+        for (int i = 0; i < CLIENTS; i++) {
+            var client = new NeurotechClient();
+            client.setName("Client " + i);
+            client.setAge(18 + i % 60);
+            client.setIncome(1000.0 + i);
+            clients.add(client);
+        }
+        repository.saveAll(clients);
+    }
+
+    @Test
+    void shouldStreamOneJsonObjectPerLine() throws Exception {
+        var result = mockMvc.perform(get("/api/clients").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        var body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        var lines = body.split("\n");
+        assertEquals(CLIENTS, lines.length);
+        assertTrue(body.endsWith("\n"));
+        assertTrue(lines[0].startsWith("{\"id\":"), lines[0]);
+    }
+
+    @Test
+    void shouldKeepJsonArrayAsDefaultRepresentation() throws Exception {
+        mockMvc.perform(get("/api/clients").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.length()").value(CLIENTS));
+    }
+}
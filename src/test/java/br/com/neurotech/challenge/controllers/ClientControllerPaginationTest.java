@@ -0,0 +1,119 @@
+package br.com.neurotech.challenge.controllers;
+
+import br.com.neurotech.challenge.entity.NeurotechClient;
+import br.com.neurotech.challenge.repository.NeurotechClientRepository;
+import br.com.neurotech.challenge.service.CreditService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureMockMvc
+class ClientControllerPaginationTest {
+
+    private static final int CLIENTS = 250;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private NeurotechClientRepository repository;
+
+    @Autowired
+    private CreditService creditService;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+
+        var clients = new ArrayList<NeurotechClient>(CLIENTS);
+        for (int i = 0; i < CLIENTS; i++) {
+            var client = new NeurotechClient();
+            client.setName("Client " + i);
+            client.setAge(18 + i % 8);
+            client.setIncome(4000.0 + i * 40);
+            client.getCredits().add(creditService.createCreditForClient(client));
+            clients.add(client);
+        }
+        repository.saveAll(clients);
+    }
+
+    @Test
+    void shouldWalkAllClientsThroughCursorPages() throws Exception {
+        var ids = new HashSet<String>();
+        String next = null;
+        int pages = 0;
+
+        do {
+            var request = get("/api/clients").param("limit", "40");
+            if (next != null) {
+                request.param("next", next);
+            }
+            JsonNode page = read(mockMvc.perform(request).andExpect(status().isOk()).andReturn().getResponse().getContentAsString());
+
+            String previous = null;
+            for (JsonNode item : page.get("items")) {
+                String id = item.get("id").asText();
+                assertTrue(ids.add(id), "Client returned twice: " + id);
+                assertTrue(previous == null || previous.compareTo(id) < 0, "Page must be ordered by id");
+                previous = id;
+            }
+            next = page.get("next").isNull() ? null : page.get("next").asText();
+            pages++;
+        } while (next != null);
+
+        assertEquals(CLIENTS, ids.size());
+        assertEquals(7, pages);
+    }
+
+    @Test
+    void shouldPageEligibleClients() throws Exception {
+        var expected = mockMvc.perform(get("/api/clients/eligible/HATCH")
+                        .param("minAge", "18").param("maxAge", "25").param("creditType", "FIXED_INTEREST"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        int total = read(expected).size();
+
+        int seen = 0;
+        String next = null;
+        do {
+            var request = get("/api/clients/eligible/HATCH")
+                    .param("minAge", "18").param("maxAge", "25").param("creditType", "FIXED_INTEREST")
+                    .param("limit", "25");
+            if (next != null) {
+                request.param("next", next);
+            }
+            JsonNode page = read(mockMvc.perform(request).andExpect(status().isOk()).andReturn().getResponse().getContentAsString());
+            seen += page.get("items").size();
+            next = page.get("next").isNull() ? null : page.get("next").asText();
+        } while (next != null);
+
+        assertTrue(total > 25);
+        assertEquals(total, seen);
+    }
+
+    @Test
+    void shouldRejectLimitOutOfRange() throws Exception {
+        mockMvc.perform(get("/api/clients").param("limit", "0")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/clients").param("limit", "1001")).andExpect(status().isBadRequest());
+    }
+
+    private JsonNode read(String body) throws Exception {
+        return objectMapper.readTree(body);
+    }
+}
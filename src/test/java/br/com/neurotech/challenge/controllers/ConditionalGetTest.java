@@ -0,0 +1,158 @@
+package br.com.neurotech.challenge.controllers;
+
+import br.com.neurotech.challenge.configs.SqlStatementCounter;
+import br.com.neurotech.challenge.entity.NeurotechClient;
+import br.com.neurotech.challenge.repository.NeurotechClientRepository;
+import br.com.neurotech.challenge.service.ClientService;
+import br.com.neurotech.challenge.service.CreditService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "neurotech.sql-guard.enabled=true"})
+@AutoConfigureMockMvc
+class ConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private CreditService creditService;
+
+    @Autowired
+    private NeurotechClientRepository clientRepository;
+
+    private UUID id;
+
+    @BeforeEach
+    void setUp() {
+        tearDown();
+        id = create("Bob");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM credit");
+        jdbcTemplate.update("DELETE FROM neurotech_client");
+    }
+
+    @Test
+    void shouldAnswerNotModifiedForCurrentClientVersion() throws Exception {
+        var etag = etag(get("/api/clients/" + id));
+        assertEquals("\"0\"", etag);
+
+        SqlStatementCounter.reset();
+        var response = mockMvc.perform(get("/api/clients/" + id).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andReturn().getResponse();
+        assertEquals("", response.getContentAsString());
+        assertEquals(etag, response.getHeader(HttpHeaders.ETAG));
+        // o cliente já está no cache de clientes
+        assertEquals(0, SqlStatementCounter.count(), () -> String.join("\n", SqlStatementCounter.statements()));
+    }
+
+    @Test
+    void shouldReadOnlyTheVersionWhenClientIsNotCached() throws Exception {
+        var etag = etag(get("/api/clients/" + id));
+        rename("Alice");
+
+        SqlStatementCounter.reset();
+        mockMvc.perform(get("/api/clients/" + id).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+        assertEquals(2, SqlStatementCounter.count(), () -> String.join("\n", SqlStatementCounter.statements()));
+        // a primeira consulta lê apenas a versão; a segunda, o cliente alterado
+        var versionQuery = SqlStatementCounter.statements().get(0).toLowerCase();
+        assertTrue(versionQuery.contains("version") && !versionQuery.contains("income"), versionQuery);
+
+        var updated = etag(get("/api/clients/" + id));
+        assertEquals("\"1\"", updated);
+        SqlStatementCounter.reset();
+        mockMvc.perform(get("/api/clients/" + id).header(HttpHeaders.IF_NONE_MATCH, updated))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void shouldChangeEligibleListVersionWhenListChanges() throws Exception {
+        var path = "/api/clients/eligible/HATCH?minAge=18&maxAge=60&creditType=FIXED_INTEREST";
+        var etag = etag(get(path));
+
+        var response = mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andReturn().getResponse();
+        assertEquals("", response.getContentAsString());
+
+        create("Carol");
+        var added = etag(get(path));
+        assertNotEquals(etag, added);
+
+        rename("Alice");
+        var renamed = etag(get(path));
+        assertNotEquals(added, renamed);
+
+        mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, renamed)).andExpect(status().isNotModified());
+    }
+
+    @Test
+    void shouldAnswerNotModifiedForEligibleListWithASingleAggregateQuery() throws Exception {
+        create("Carol");
+        var path = "/api/clients/eligible/HATCH?minAge=18&maxAge=60&creditType=FIXED_INTEREST";
+        var etag = etag(get(path));
+        assertTrue(etag.startsWith("W/\""), etag);
+
+        SqlStatementCounter.reset();
+        mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, etag)).andExpect(status().isNotModified());
+        assertEquals(1, SqlStatementCounter.count(), () -> String.join("\n", SqlStatementCounter.statements()));
+        var versionQuery = SqlStatementCounter.statements().get(0).toLowerCase();
+        assertTrue(versionQuery.contains("count(") && !versionQuery.contains("income"), versionQuery);
+    }
+
+    @Test
+    void shouldVersionEachEligiblePage() throws Exception {
+        var path = "/api/clients/eligible/HATCH?minAge=18&maxAge=60&creditType=FIXED_INTEREST&limit=1";
+        var etag = etag(get(path));
+        mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, etag)).andExpect(status().isNotModified());
+
+        // uma segunda página passa a existir: a primeira ganha o cursor e, portanto, uma nova versão
+        create("Carol");
+        assertNotEquals(etag, etag(get(path)));
+    }
+
+    private UUID create(String name) {
+        var client = new NeurotechClient();
+        client.setName(name);
+        client.setAge(22);
+        client.setIncome(6000.0);
+        return creditService.createClientWithCredit(client);
+    }
+
+    private void rename(String name) {
+        var client = clientRepository.findById(id).orElseThrow();
+        client.setName(name);
+        clientService.save(client);
+    }
+
+    private String etag(MockHttpServletRequestBuilder request) throws Exception {
+        var etag = mockMvc.perform(request).andExpect(status().isOk()).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        return etag;
+    }
+}
@@ -0,0 +1,264 @@
+package br.com.neurotech.challenge.controllers;
+
+import br.com.neurotech.challenge.entity.CreditJob;
+import br.com.neurotech.challenge.entity.CreditJobItem;
+import br.com.neurotech.challenge.entity.NeurotechClient;
+import br.com.neurotech.challenge.entity.VehicleModel;
+import br.com.neurotech.challenge.repository.CreditJobItemRepository;
+import br.com.neurotech.challenge.repository.CreditJobRepository;
+import br.com.neurotech.challenge.repository.NeurotechClientRepository;
+import br.com.neurotech.challenge.service.CreditService;
+import br.com.neurotech.challenge.service.implementation.CreditJobServiceImpl;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "neurotech.credit-jobs.chunk-size=100"})
+@AutoConfigureMockMvc
+class CreditJobControllerTest {
+
+    private static final int CLIENTS = 250;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NeurotechClientRepository clientRepository;
+
+    @Autowired
+    private CreditJobRepository jobRepository;
+
+    @Autowired
+    private CreditJobItemRepository itemRepository;
+
+    @Autowired
+    private CreditJobServiceImpl creditJobService;
+
+    @Autowired
+    private CreditService creditService;
+
+    /**
+     * Renda de cada cliente cadastrado, para conferir o resultado esperado para HATCH.
+     */
+    private final Map<UUID, Double> incomes = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+
+        var clients = new ArrayList<NeurotechClient>(CLIENTS);
+        for (int i = 0; i < CLIENTS; i++) {
+            var client = new NeurotechClient();
+            client.setName("Client " + i);
+            client.setAge(22);
+            client.setIncome(4000.0 + i * 50);
+            client.getCredits().add(creditService.createCreditForClient(client));
+            clients.add(client);
+        }
+        clientRepository.saveAll(clients).forEach(client -> incomes.put(client.getId(), client.getIncome()));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM credit_job_item");
+        jdbcTemplate.update("DELETE FROM credit_job");
+        jdbcTemplate.update("DELETE FROM credit");
+        jdbcTemplate.update("DELETE FROM neurotech_client");
+    }
+
+    @Test
+    void shouldEvaluateJobInChunksAndPageResults() throws Exception {
+        var ids = new ArrayList<>(incomes.keySet());
+        var missing = new UUID(0, 1);
+        ids.add(missing);
+        ids.add(ids.get(0));
+
+        var response = mockMvc.perform(post("/api/credit-jobs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("clientIds", ids, "vehicleModel", "HATCH"))))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse();
+        var location = response.getHeader(HttpHeaders.LOCATION);
+        assertEquals(ids.size(), read(response.getContentAsString()).get("total").asInt());
+
+        var job = await(location);
+        assertEquals("COMPLETED", job.get("status").asText());
+        assertEquals(ids.size(), job.get("processed").asInt());
+        assertFalse(job.get("finishedAt").isNull());
+
+        var results = new ArrayList<JsonNode>();
+        String next = null;
+        do {
+            var request = get(location + "/results").param("limit", "100");
+            if (next != null) {
+                request.param("next", next);
+            }
+            var page = read(mockMvc.perform(request).andExpect(status().isOk()).andReturn().getResponse().getContentAsString());
+            page.get("items").forEach(results::add);
+            next = page.get("next").isNull() ? null : page.get("next").asText();
+        } while (next != null);
+
+        assertEquals(ids.size(), results.size());
+        for (int position = 0; position < ids.size(); position++) {
+            var result = results.get(position);
+            var clientId = ids.get(position);
+            assertEquals(position, result.get("position").asInt());
+            assertEquals(clientId.toString(), result.get("clientId").asText());
+            if (clientId.equals(missing)) {
+                assertTrue(result.get("eligible").isNull());
+            } else {
+                double income = incomes.get(clientId);
+                assertEquals(income >= 5000 && income <= 15000, result.get("eligible").asBoolean(), "Client " + clientId);
+            }
+        }
+    }
+
+    @Test
+    void shouldResumeUnfinishedJobFromLastChunk() throws Exception {
+        var ids = new ArrayList<>(incomes.keySet());
+        var job = new CreditJob();
+        job.setVehicleModel(VehicleModel.HATCH);
+        job.setStatus(CreditJob.Status.RUNNING);
+        job.setTotal(ids.size());
+        job.setProcessed(100);
+        job.setCreatedAt(Instant.now());
+        var jobId = jobRepository.save(job).getId();
+
+        var items = new ArrayList<CreditJobItem>();
+        for (int position = 0; position < ids.size(); position++) {
+            var item = new CreditJobItem();
+            item.setId(new CreditJobItem.Key(jobId, position));
+            item.setClientId(ids.get(position));
+            // resultado fictício nos blocos já gravados, que não devem ser avaliados de novo
+            item.setEligible(position < 100 ? Boolean.FALSE : null);
+            items.add(item);
+        }
+        itemRepository.saveAll(items);
+
+        creditJobService.resumeUnfinished();
+
+        var resumed = await("/api/credit-jobs/" + jobId);
+        assertEquals("COMPLETED", resumed.get("status").asText());
+        for (var item : itemRepository.findRange(jobId, 0, ids.size())) {
+            int position = item.getId().getPosition();
+            double income = incomes.get(item.getClientId());
+            boolean expected = position >= 100 && income >= 5000 && income <= 15000;
+            assertEquals(expected, item.getEligible(), "Position " + position);
+        }
+    }
+
+    @Test
+    void shouldResumeOnlyJobsWhoseLeaseExpired() throws Exception {
+        var ids = new ArrayList<>(incomes.keySet());
+        var job = new CreditJob();
+        job.setVehicleModel(VehicleModel.HATCH);
+        job.setStatus(CreditJob.Status.RUNNING);
+        job.setTotal(ids.size());
+        job.setProcessed(0);
+        job.setCreatedAt(Instant.now());
+        job.setOwner("other-instance");
+        job.setLeaseExpiresAt(Instant.now().plusSeconds(3600));
+        var jobId = jobRepository.save(job).getId();
+        var items = new ArrayList<CreditJobItem>();
+        for (int position = 0; position < ids.size(); position++) {
+            var item = new CreditJobItem();
+            item.setId(new CreditJobItem.Key(jobId, position));
+            item.setClientId(ids.get(position));
+            items.add(item);
+        }
+        itemRepository.saveAll(items);
+
+        // a outra instância ainda renova o prazo: o job não é executado aqui
+        creditJobService.resumeUnfinished();
+        var leased = jobRepository.findById(jobId).orElseThrow();
+        assertEquals("other-instance", leased.getOwner());
+        assertEquals(CreditJob.Status.RUNNING, leased.getStatus());
+        assertEquals(0, leased.getProcessed());
+
+        jdbcTemplate.update("UPDATE credit_job SET lease_expires_at = ? WHERE id = ?",
+                Timestamp.from(Instant.now().minusSeconds(1)), jobId);
+        creditJobService.resumeUnfinished();
+
+        var resumed = await("/api/credit-jobs/" + jobId);
+        assertEquals("COMPLETED", resumed.get("status").asText());
+        assertNotEquals("other-instance", jobRepository.findById(jobId).orElseThrow().getOwner());
+    }
+
+    @Test
+    void shouldFailJobInterruptedWhileStaging() throws Exception {
+        var job = new CreditJob();
+        job.setVehicleModel(VehicleModel.HATCH);
+        job.setStatus(CreditJob.Status.STAGING);
+        job.setTotal(CLIENTS);
+        job.setProcessed(0);
+        job.setCreatedAt(Instant.now());
+        var jobId = jobRepository.save(job).getId();
+
+        creditJobService.resumeUnfinished();
+
+        assertEquals("FAILED", read(mockMvc.perform(get("/api/credit-jobs/" + jobId)).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString()).get("status").asText());
+    }
+
+    @Test
+    void shouldReturnNotFoundForUnknownJob() throws Exception {
+        mockMvc.perform(get("/api/credit-jobs/" + new UUID(0, 1))).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/credit-jobs/" + new UUID(0, 1) + "/results")).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldRejectJobWithoutClients() throws Exception {
+        mockMvc.perform(post("/api/credit-jobs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("clientIds", List.of(), "vehicleModel", "SUV"))))
+                .andExpect(status().isBadRequest());
+        assertEquals(0, jobRepository.count());
+    }
+
+    /**
+     * Consulta o job até que ele termine.
+     */
+    private JsonNode await(String location) throws Exception {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (true) {
+            var job = read(mockMvc.perform(get(location)).andExpect(status().isOk()).andReturn().getResponse().getContentAsString());
+            var status = job.get("status").asText();
+            if (status.equals("COMPLETED") || status.equals("FAILED") || System.currentTimeMillis() > deadline) {
+                return job;
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    private JsonNode read(String json) throws Exception {
+        return objectMapper.readTree(json);
+    }
+}
@@ -0,0 +1,121 @@
+package br.com.neurotech.challenge.controllers;
+
+import br.com.neurotech.challenge.configs.CreditRulesProperties;
+import br.com.neurotech.challenge.entity.NeurotechClient;
+import br.com.neurotech.challenge.entity.VehicleModel;
+import br.com.neurotech.challenge.repository.NeurotechClientRepository;
+import br.com.neurotech.challenge.service.CreditService;
+import br.com.neurotech.challenge.service.implementation.CreditRuleEngine;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureMockMvc
+class CreditRuleControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NeurotechClientRepository repository;
+
+    @Autowired
+    private CreditService creditService;
+
+    @Autowired
+    private CreditRuleEngine ruleEngine;
+
+    @BeforeEach
+    void setUp() {
+        tearDown();
+
+        var clients = new ArrayList<NeurotechClient>();
+        for (int i = 0; i < 100; i++) {
+            var client = new NeurotechClient();
+            client.setName("Client " + i);
+            client.setAge(22);
+            client.setIncome(5000.0 + i * 100);
+            clients.add(client);
+        }
+        clients.forEach(creditService::createClientWithCredit);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ruleEngine.reload(new CreditRulesProperties());
+        jdbcTemplate.update("DELETE FROM credit");
+        jdbcTemplate.update("DELETE FROM neurotech_client");
+    }
+
+    @Test
+    void shouldRecomputeStoredEligibilityWhenRulesChange() throws Exception {
+        assertEquals(100, eligibleHatchClients());
+
+        var rules = new CreditRulesProperties();
+        rules.getVehicles().get(VehicleModel.HATCH).setIncome(CreditRulesProperties.Interval.closed(10000.0, 15000.0));
+        mockMvc.perform(put("/api/credit-rules")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(rules)))
+                .andExpect(status().isOk());
+
+        // o recálculo é feito em segundo plano
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (count("hatch_eligible = TRUE") != 50 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(50, eligibleHatchClients());
+        assertEquals(50, count("hatch_eligible = TRUE"));
+        for (var client : repository.findAll()) {
+            assertEquals(client.getIncome() >= 10000.0, client.getHatchEligible(), client.getName());
+        }
+        // apenas os clientes cuja elegibilidade mudou são regravados
+        assertEquals(50, count("version = 0 AND income >= 10000"));
+        assertEquals(50, count("version = 1 AND income < 10000"));
+    }
+
+    @Test
+    void shouldRecomputeEligibilityWhenIncomeChanges() {
+        var client = repository.findAll().get(0);
+        assertTrue(client.getHatchEligible());
+
+        client.setIncome(20000.0);
+        repository.save(client);
+
+        var updated = repository.findById(client.getId()).orElseThrow();
+        assertFalse(updated.getHatchEligible());
+        assertTrue(updated.getSuvEligible());
+    }
+
+    private int count(String condition) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM neurotech_client WHERE " + condition, Integer.class);
+    }
+
+    private int eligibleHatchClients() throws Exception {
+        var body = mockMvc.perform(get("/api/clients/eligible/HATCH")
+                        .param("minAge", "18").param("maxAge", "60").param("creditType", "FIXED_INTEREST"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).size();
+    }
+}
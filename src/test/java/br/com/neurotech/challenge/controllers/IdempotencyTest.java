@@ -0,0 +1,266 @@
+package br.com.neurotech.challenge.controllers;
+
+import br.com.neurotech.challenge.configs.SqlStatementCounter;
+import br.com.neurotech.challenge.entity.IdempotencyRecord;
+import br.com.neurotech.challenge.repository.IdempotencyRecordRepository;
+import br.com.neurotech.challenge.service.IdempotencyService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "neurotech.sql-guard.enabled=true"})
+@AutoConfigureMockMvc
+class IdempotencyTest {
+
+    private static final String CLIENT = "{\"name\":\"Bob\",\"age\":30,\"income\":10000.0}";
+
+    /**
+     * Chave própria de cada teste, já que as respostas registradas permanecem no cache em memória.
+     */
+    private final String key = UUID.randomUUID().toString();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private IdempotencyRecordRepository repository;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @BeforeEach
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM idempotency_record");
+        jdbcTemplate.update("DELETE FROM credit");
+        jdbcTemplate.update("DELETE FROM neurotech_client");
+    }
+
+    @Test
+    void shouldReplayCreatedClientWithoutTouchingTheDatabase() throws Exception {
+        var first = mockMvc.perform(createClient(key, CLIENT)).andExpect(status().isCreated()).andReturn();
+
+        SqlStatementCounter.reset();
+        var replay = mockMvc.perform(createClient(key, CLIENT)).andExpect(status().isCreated()).andReturn();
+
+        assertEquals(0, SqlStatementCounter.count(), () -> String.join("\n", SqlStatementCounter.statements()));
+        assertEquals(location(first), location(replay));
+        assertEquals("true", replay.getResponse().getHeader(IdempotencyService.REPLAYED));
+        assertNull(first.getResponse().getHeader(IdempotencyService.REPLAYED));
+        assertEquals(1, clients());
+    }
+
+    @Test
+    void shouldCreateOneClientPerKey() throws Exception {
+        var first = mockMvc.perform(createClient(key, CLIENT)).andExpect(status().isCreated()).andReturn();
+        var second = mockMvc.perform(createClient(key + "-2", CLIENT)).andExpect(status().isCreated()).andReturn();
+        mockMvc.perform(createClient(null, CLIENT)).andExpect(status().isCreated());
+
+        assertNotEquals(location(first), location(second));
+        assertEquals(3, clients());
+    }
+
+    @Test
+    void shouldRejectKeyReusedWithAnotherRequest() throws Exception {
+        mockMvc.perform(createClient(key, CLIENT)).andExpect(status().isCreated());
+
+        mockMvc.perform(createClient(key, "{\"name\":\"Alice\",\"age\":30,\"income\":10000.0}"))
+                .andExpect(status().isUnprocessableEntity());
+        assertEquals(1, clients());
+    }
+
+    @Test
+    void shouldReplayCreditCheckBody() throws Exception {
+        var location = location(mockMvc.perform(createClient(null, CLIENT)).andReturn());
+        var check = post(location.replace("/api/clients/", "/api/clients/check/"))
+                .header(IdempotencyService.IDEMPOTENCY_KEY, key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"vehicleModel\":\"SUV\"}");
+
+        var first = mockMvc.perform(check).andExpect(status().isOk()).andReturn();
+        var replay = mockMvc.perform(check).andExpect(status().isOk()).andReturn();
+
+        assertEquals("true", first.getResponse().getContentAsString());
+        assertEquals("true", replay.getResponse().getContentAsString());
+        assertEquals("true", replay.getResponse().getHeader(IdempotencyService.REPLAYED));
+    }
+
+    @Test
+    void shouldCoalesceConcurrentDuplicates() throws Exception {
+        int requests = 16;
+        var start = new CountDownLatch(1);
+        var tasks = new ArrayList<Callable<String>>();
+        for (int i = 0; i < requests; i++) {
+            tasks.add(() -> {
+                start.await();
+                return location(mockMvc.perform(createClient(key, CLIENT)).andExpect(status().isCreated()).andReturn());
+            });
+        }
+
+        var locations = new HashSet<String>();
+        try (var executor = Executors.newFixedThreadPool(requests)) {
+            var futures = tasks.stream().map(executor::submit).toList();
+            start.countDown();
+            for (var future : futures) {
+                locations.add(future.get());
+            }
+        }
+
+        assertEquals(1, locations.size());
+        assertEquals(1, clients());
+    }
+
+    @Test
+    void shouldNotRunOperationWhileKeyIsClaimedElsewhere() throws Exception {
+        // reserva deixada por outra instância, ainda em execução ou interrompida antes da conclusão
+        mockMvc.perform(createClient(key + "-reference", CLIENT)).andExpect(status().isCreated());
+        var claim = new IdempotencyRecord();
+        claim.setId(key);
+        claim.setFingerprint(repository.findById(key + "-reference").orElseThrow().getFingerprint());
+        claim.setState(IdempotencyRecord.State.PENDING);
+        claim.setCreatedAt(Instant.now());
+        repository.save(claim);
+
+        mockMvc.perform(createClient(key, CLIENT)).andExpect(status().isConflict());
+        assertEquals(1, clients());
+    }
+
+    @Test
+    void shouldReleaseKeyWhenOperationFails() {
+        var failure = new IllegalStateException("falha");
+        assertThrows(IllegalStateException.class, () -> idempotencyService.execute(key, "TEST", "request", () -> {
+            throw failure;
+        }));
+        assertFalse(repository.existsById(key));
+
+        var response = idempotencyService.execute(key, "TEST", "request", () -> ResponseEntity.ok("done"));
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(IdempotencyRecord.State.COMPLETED, repository.findById(key).orElseThrow().getState());
+    }
+
+    @Test
+    void shouldRetryWaitersWhenFirstExecutionFails() throws Exception {
+        var running = new CountDownLatch(1);
+        var fail = new CountDownLatch(1);
+        var executions = new AtomicInteger();
+        try (var executor = Executors.newFixedThreadPool(2)) {
+            var first = executor.submit(() -> idempotencyService.execute(key, "TEST", "request", () -> {
+                executions.incrementAndGet();
+                running.countDown();
+                await(fail);
+                throw new IllegalStateException("falha");
+            }));
+            running.await();
+            var second = executor.submit(() -> idempotencyService.execute(key, "TEST", "request", () -> {
+                executions.incrementAndGet();
+                return ResponseEntity.ok("done");
+            }));
+            Thread.sleep(100);
+            fail.countDown();
+
+            var failure = assertThrows(ExecutionException.class, first::get);
+            assertInstanceOf(IllegalStateException.class, failure.getCause());
+            assertEquals("done", second.get().getBody());
+        }
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void shouldRunOperationAgainWhenKeyExpiredButWasNotPurged() throws Exception {
+        // resposta registrada há mais tempo que a validade da chave, ainda não expurgada
+        mockMvc.perform(createClient(key + "-reference", CLIENT)).andExpect(status().isCreated());
+        var expired = new IdempotencyRecord();
+        expired.setId(key);
+        expired.setFingerprint(repository.findById(key + "-reference").orElseThrow().getFingerprint());
+        expired.setState(IdempotencyRecord.State.COMPLETED);
+        expired.setStatus(201);
+        expired.setLocation("/api/clients/" + new UUID(0, 1));
+        expired.setBody("");
+        expired.setCreatedAt(Instant.now().minus(Duration.ofDays(2)));
+        repository.save(expired);
+
+        var response = mockMvc.perform(createClient(key, CLIENT)).andExpect(status().isCreated()).andReturn();
+
+        assertNull(response.getResponse().getHeader(IdempotencyService.REPLAYED));
+        assertNotEquals(expired.getLocation(), location(response));
+        assertEquals(2, clients());
+        var record = repository.findById(key).orElseThrow();
+        assertEquals(IdempotencyRecord.State.COMPLETED, record.getState());
+        assertTrue(record.getCreatedAt().isAfter(Instant.now().minus(Duration.ofHours(1))));
+    }
+
+    @Test
+    void shouldPurgeExpiredKeys() {
+        var expired = new IdempotencyRecord();
+        expired.setId("expired");
+        expired.setFingerprint("0".repeat(64));
+        expired.setState(IdempotencyRecord.State.COMPLETED);
+        expired.setStatus(201);
+        expired.setBody("");
+        expired.setCreatedAt(Instant.now().minus(Duration.ofDays(2)));
+        repository.save(expired);
+
+        var recent = new IdempotencyRecord();
+        recent.setId("recent");
+        recent.setFingerprint("0".repeat(64));
+        recent.setState(IdempotencyRecord.State.COMPLETED);
+        recent.setStatus(201);
+        recent.setBody("");
+        recent.setCreatedAt(Instant.now());
+        repository.save(recent);
+
+        idempotencyService.purgeExpired();
+
+        assertFalse(repository.existsById("expired"));
+        assertTrue(repository.existsById("recent"));
+    }
+
+    private static MockHttpServletRequestBuilder createClient(String key, String body) {
+        var request = post("/api/clients").contentType(MediaType.APPLICATION_JSON).content(body);
+        return key == null ? request : request.header(IdempotencyService.IDEMPOTENCY_KEY, key);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String location(MvcResult result) {
+        return result.getResponse().getHeader(HttpHeaders.LOCATION);
+    }
+
+    private int clients() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM neurotech_client", Integer.class);
+    }
+}
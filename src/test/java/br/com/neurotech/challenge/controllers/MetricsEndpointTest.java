@@ -0,0 +1,63 @@
+package br.com.neurotech.challenge.controllers;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Test
+    void shouldExposeEndpointScoringAndPersistenceMetrics() throws Exception {
+        double granted = count("neurotech.credit.granted", "type", "FIXED_INTEREST");
+        double rejected = count("neurotech.credit.rejected");
+
+        mockMvc.perform(post("/api/clients")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Ana\",\"age\":22,\"income\":9000.0}"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/api/clients")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Bia\",\"age\":40,\"income\":1000.0}"))
+                .andExpect(status().isBadRequest());
+
+        var scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(granted + 1, count("neurotech.credit.granted", "type", "FIXED_INTEREST"));
+        assertEquals(rejected + 1, count("neurotech.credit.rejected"));
+
+        assertTrue(scrape.contains("http_server_requests_seconds_bucket{"), "endpoint latency histogram");
+        assertTrue(scrape.contains("neurotech_credit_granted_total{type=\"FIXED_INTEREST\""), "granted credits");
+        assertTrue(scrape.contains("neurotech_credit_rejected_total"), "rejected clients");
+        assertTrue(scrape.contains("neurotech_credit_eligibility_total{eligible=\"true\",model=\"HATCH\""), "eligibility outcomes");
+        assertTrue(scrape.contains("hikaricp_connections_max"), "connection pool");
+        assertTrue(scrape.contains("hibernate_statements_total"), "hibernate statistics");
+    }
+
+    private double count(String name, String... tags) {
+        return registry.get(name).tags(tags).counter().count();
+    }
+}
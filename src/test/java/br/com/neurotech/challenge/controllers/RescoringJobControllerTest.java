@@ -0,0 +1,199 @@
+package br.com.neurotech.challenge.controllers;
+
+import br.com.neurotech.challenge.configs.CreditRulesProperties;
+import br.com.neurotech.challenge.entity.NeurotechClient;
+import br.com.neurotech.challenge.entity.RescoringJob;
+import br.com.neurotech.challenge.repository.RescoringJobRepository;
+import br.com.neurotech.challenge.service.CreditService;
+import br.com.neurotech.challenge.service.implementation.CreditRuleEngine;
+import br.com.neurotech.challenge.service.implementation.RescoringJobServiceImpl;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "neurotech.rescoring-jobs.chunk-size=50"})
+@AutoConfigureMockMvc
+class RescoringJobControllerTest {
+
+    private static final int CLIENTS = 250;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CreditService creditService;
+
+    @Autowired
+    private CreditRuleEngine ruleEngine;
+
+    @Autowired
+    private RescoringJobRepository jobRepository;
+
+    @Autowired
+    private RescoringJobServiceImpl rescoringJobService;
+
+    @BeforeEach
+    void setUp() {
+        tearDown();
+        for (int i = 0; i < CLIENTS; i++) {
+            var client = new NeurotechClient();
+            client.setName("Client " + i);
+            // pares: juros fixos (5%); ímpares: juros variáveis (7,5%)
+            client.setAge(i % 2 == 0 ? 22 : 40);
+            client.setIncome(i % 2 == 0 ? 6000.0 : 9000.0);
+            creditService.createClientWithCredit(client);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        ruleEngine.reload(new CreditRulesProperties());
+        jdbcTemplate.update("DELETE FROM rescoring_job");
+        jdbcTemplate.update("DELETE FROM credit");
+        jdbcTemplate.update("DELETE FROM neurotech_client");
+    }
+
+    @Test
+    void shouldRescoreAllCreditsWithCurrentRules() throws Exception {
+        changeRules();
+
+        var location = mockMvc.perform(post("/api/rescoring-jobs"))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getHeader(HttpHeaders.LOCATION);
+
+        var job = await(location);
+        assertEquals("COMPLETED", job.get("status").asText());
+        assertEquals(CLIENTS, job.get("processed").asInt());
+        assertEquals(CLIENTS / 2, job.get("updated").asInt());
+        assertEquals(CLIENTS / 2, job.get("unqualified").asInt());
+
+        // juros fixos repreçados; juros variáveis mantidos, pois os clientes não se qualificam mais
+        assertEquals(CLIENTS / 2, count("type = 'FIXED_INTEREST' AND interest_rate = 6.0 AND version = 1"));
+        assertEquals(CLIENTS / 2, count("type = 'VARIABLE_INTEREST' AND interest_rate = 7.5 AND version = 0"));
+    }
+
+    @Test
+    void shouldResumeUnfinishedJobFromCheckpoint() throws Exception {
+        changeRules();
+        var ids = jdbcTemplate.queryForList("SELECT id FROM neurotech_client ORDER BY id", UUID.class);
+        var job = new RescoringJob();
+        job.setStatus(RescoringJob.Status.RUNNING);
+        job.setCheckpoint(ids.get(99));
+        job.setProcessed(100);
+        job.setUpdated(0);
+        job.setUnqualified(0);
+        job.setCreatedAt(Instant.now());
+        job.setActive(true);
+        var jobId = jobRepository.save(job).getId();
+
+        rescoringJobService.resumeUnfinished();
+
+        var resumed = await("/api/rescoring-jobs/" + jobId);
+        assertEquals("COMPLETED", resumed.get("status").asText());
+        assertEquals(CLIENTS, resumed.get("processed").asInt());
+        // os clientes até o ponto de retomada não são reprocessados; os demais, sim
+        var head = Set.copyOf(ids.subList(0, 100));
+        var repriced = clientsOfCredits("type = 'FIXED_INTEREST' AND interest_rate = 6.0");
+        var notRepriced = clientsOfCredits("type = 'FIXED_INTEREST' AND interest_rate = 5.0");
+        assertEquals(CLIENTS / 2, repriced.size() + notRepriced.size());
+        assertTrue(repriced.stream().noneMatch(head::contains));
+        assertTrue(head.containsAll(notRepriced));
+        assertEquals(repriced.size(), resumed.get("updated").asInt());
+    }
+
+    @Test
+    void shouldRejectSecondJobWhileOneIsRunning() throws Exception {
+        var job = new RescoringJob();
+        job.setStatus(RescoringJob.Status.RUNNING);
+        job.setProcessed(0);
+        job.setUpdated(0);
+        job.setUnqualified(0);
+        job.setCreatedAt(Instant.now());
+        job.setActive(true);
+        // em execução por outra instância
+        job.setOwner("other");
+        job.setLeaseExpiresAt(Instant.now().plusSeconds(60));
+        jobRepository.save(job);
+
+        mockMvc.perform(post("/api/rescoring-jobs")).andExpect(status().isConflict());
+        assertEquals(1, jobRepository.count());
+        mockMvc.perform(get("/api/rescoring-jobs/" + new UUID(0, 1))).andExpect(status().isNotFound());
+
+        // o job de uma instância ativa não é retomado por esta
+        rescoringJobService.resumeUnfinished();
+        Thread.sleep(200);
+        var unchanged = jobRepository.findById(job.getId()).orElseThrow();
+        assertEquals("other", unchanged.getOwner());
+        assertEquals(0, unchanged.getProcessed());
+    }
+
+    @Test
+    void shouldReleaseActiveSlotWhenJobFinishes() throws Exception {
+        await(mockMvc.perform(post("/api/rescoring-jobs")).andExpect(status().isAccepted())
+                .andReturn().getResponse().getHeader(HttpHeaders.LOCATION));
+
+        var location = mockMvc.perform(post("/api/rescoring-jobs")).andExpect(status().isAccepted())
+                .andReturn().getResponse().getHeader(HttpHeaders.LOCATION);
+        assertEquals("COMPLETED", await(location).get("status").asText());
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM rescoring_job WHERE active IS NOT NULL", Integer.class));
+    }
+
+    /**
+     * Juros fixos passam a 6% e os juros variáveis passam a exigir até 35 anos.
+     */
+    private void changeRules() {
+        var rules = new CreditRulesProperties();
+        rules.getCreditTypes().get(0).setRate(6.0);
+        rules.getCreditTypes().get(1).setAge(CreditRulesProperties.Interval.closed(21.0, 35.0));
+        ruleEngine.reload(rules);
+    }
+
+    private List<UUID> clientsOfCredits(String condition) {
+        return jdbcTemplate.queryForList("SELECT client_id FROM credit WHERE " + condition, UUID.class);
+    }
+
+    private int count(String condition) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM credit WHERE " + condition, Integer.class);
+    }
+
+    /**
+     * Consulta o job até que ele termine.
+     */
+    private JsonNode await(String location) throws Exception {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (true) {
+            var job = objectMapper.readTree(mockMvc.perform(get(location)).andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            var status = job.get("status").asText();
+            if (status.equals("COMPLETED") || status.equals("FAILED") || System.currentTimeMillis() > deadline) {
+                return job;
+            }
+            Thread.sleep(20);
+        }
+    }
+}
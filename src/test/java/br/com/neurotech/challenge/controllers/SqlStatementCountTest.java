@@ -0,0 +1,161 @@
+package br.com.neurotech.challenge.controllers;
+
+import br.com.neurotech.challenge.configs.CacheConfig;
+import br.com.neurotech.challenge.configs.SqlStatementCounter;
+import br.com.neurotech.challenge.entity.Credit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.util.ArrayList;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifica a quantidade exata de comandos SQL que cada endpoint executa sobre uma base populada. Uma
+ * alteração que introduza N+1, leituras repetidas ou escritas desnecessárias faz o teste falhar com a
+ * lista dos comandos executados.
+ */
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "neurotech.sql-guard.enabled=true"})
+@AutoConfigureMockMvc
+class SqlStatementCountTest {
+
+    private static final int CLIENTS = 50;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private final ArrayList<String> ids = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        tearDown();
+
+        var clients = new ArrayList<Object[]>(CLIENTS);
+        var credits = new ArrayList<Object[]>(CLIENTS);
+        for (int i = 0; i < CLIENTS; i++) {
+            var clientId = UUID.randomUUID().toString();
+            ids.add(clientId);
+            clients.add(new Object[]{clientId, "Client " + i, 23 + i % 3, Credit.HATCH_INCOME_MIN + i * 100});
+            credits.add(new Object[]{UUID.randomUUID().toString(), Credit.FIXED_INTEREST_RATE,
+                    Credit.CreditType.FIXED_INTEREST.name(), clientId});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO neurotech_client (id, name, age, income) VALUES (?, ?, ?, ?)", clients);
+        jdbcTemplate.batchUpdate("INSERT INTO credit (id, interest_rate, type, client_id) VALUES (?, ?, ?, ?)", credits);
+        cacheManager.getCache(CacheConfig.CLIENTS).clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ids.clear();
+        jdbcTemplate.update("DELETE FROM credit");
+        jdbcTemplate.update("DELETE FROM neurotech_client");
+    }
+
+    @Test
+    void createShouldInsertClientAndCredit() throws Exception {
+        assertStatements(2, post("/api/clients")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"New\",\"age\":30,\"income\":10000.0}"), 201);
+    }
+
+    @Test
+    void createShouldNotTouchTheDatabaseWhenClientDoesNotQualify() throws Exception {
+        assertStatements(0, post("/api/clients")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Low income\",\"age\":30,\"income\":1000.0}"), 400);
+    }
+
+    @Test
+    void getShouldReadOnceAndThenHitTheCache() throws Exception {
+        assertStatements(1, get("/api/clients/{id}", ids.get(0)), 200);
+        assertStatements(0, get("/api/clients/{id}", ids.get(0)), 200);
+    }
+
+    @Test
+    void listShouldRunASingleQuery() throws Exception {
+        assertStatements(1, get("/api/clients"), 200);
+    }
+
+    @Test
+    void pagedListShouldRunASingleQuery() throws Exception {
+        assertStatements(1, get("/api/clients").param("limit", "10"), 200);
+    }
+
+    @Test
+    void eligibleShouldRunTheVersionQueryAndASingleListQuery() throws Exception {
+        assertStatements(2, get("/api/clients/eligible/HATCH")
+                .param("minAge", "18").param("maxAge", "60").param("creditType", "FIXED_INTEREST"), 200);
+        // a versão da página é calculada sobre o seu conteúdo
+        assertStatements(1, get("/api/clients/eligible/HATCH")
+                .param("minAge", "18").param("maxAge", "60").param("creditType", "FIXED_INTEREST").param("limit", "10"), 200);
+    }
+
+    @Test
+    void checkShouldReadTheClientOnce() throws Exception {
+        assertStatements(1, post("/api/clients/check/{id}", ids.get(0))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"vehicleModel\":\"HATCH\"}"), 200);
+    }
+
+    @Test
+    void bulkCheckShouldRunOneQueryPerChunk() throws Exception {
+        assertStatements(1, post("/api/clients/check")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"clientIds\":[\"" + String.join("\",\"", ids) + "\"]}"), 200);
+    }
+
+    @Test
+    void updateShouldReadAndWriteTheClient() throws Exception {
+        assertStatements(2, put("/api/clients/{id}", ids.get(0))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Updated\",\"age\":30,\"income\":10000.0}"), 200);
+        var statements = SqlStatementCounter.statements();
+        assertTrue(statements.get(0).toLowerCase().startsWith("select"), statements.get(0));
+        assertTrue(statements.get(1).toLowerCase().startsWith("update neurotech_client"), statements.get(1));
+
+        assertEquals(CLIENTS, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM neurotech_client", Integer.class));
+        assertEquals("Updated", jdbcTemplate.queryForObject(
+                "SELECT name FROM neurotech_client WHERE id = ?", String.class, UUID.fromString(ids.get(0))));
+    }
+
+    @Test
+    void updateShouldAnswerNotFoundForUnknownClient() throws Exception {
+        assertStatements(1, put("/api/clients/{id}", new UUID(0, 1))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Updated\",\"age\":30,\"income\":10000.0}"), 404);
+        assertEquals(CLIENTS, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM neurotech_client", Integer.class));
+    }
+
+    @Test
+    void deleteShouldLoadAndRemoveClientAndCredits() throws Exception {
+        assertStatements(4, delete("/api/clients/{id}", ids.get(0)), 200);
+    }
+
+    /**
+     * Executa a requisição e verifica o status e a quantidade de comandos SQL executados por ela.
+     */
+    private void assertStatements(int expected, RequestBuilder request, int status) throws Exception {
+        SqlStatementCounter.reset();
+        mockMvc.perform(request).andExpect(status().is(status));
+        var statements = SqlStatementCounter.statements();
+        assertEquals(expected, SqlStatementCounter.count(), () -> String.join("\n", statements));
+    }
+}
@@ -0,0 +1,40 @@
+package br.com.neurotech.challenge.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeOrderedUuidTest {
+
+    @Test
+    void shouldGenerateVersion7WithCurrentTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID id = TimeOrderedUuid.next();
+        long after = System.currentTimeMillis();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        long timestamp = id.getMostSignificantBits() >>> 16;
+        assertTrue(timestamp >= before && timestamp <= after + 1, "timestamp=" + timestamp);
+    }
+
+    @Test
+    void shouldGenerateIncreasingIdsWithinTheSameMillisecond() {
+        var ids = new ArrayList<UUID>();
+        for (int i = 0; i < 100_000; i++) {
+            ids.add(TimeOrderedUuid.next());
+        }
+
+        assertEquals(ids.size(), new HashSet<>(ids).size());
+        for (int i = 1; i < ids.size(); i++) {
+            var previous = ids.get(i - 1);
+            var current = ids.get(i);
+            assertTrue(previous.compareTo(current) < 0, previous + " >= " + current);
+            assertTrue(previous.toString().compareTo(current.toString()) < 0, previous + " >= " + current);
+        }
+    }
+}
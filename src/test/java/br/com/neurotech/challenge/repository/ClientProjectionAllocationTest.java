@@ -0,0 +1,122 @@
+package br.com.neurotech.challenge.repository;
+
+import br.com.neurotech.challenge.dto.EligibleClientDTO;
+import br.com.neurotech.challenge.dto.NeurotechClientDTO;
+import br.com.neurotech.challenge.entity.Credit;
+import br.com.neurotech.challenge.entity.NeurotechClient;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compara a memória alocada pelas listagens projetadas em DTO com a das listagens anteriores, que
+ * carregavam entidades gerenciadas e as convertiam em DTO no controlador.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class ClientProjectionAllocationTest {
+
+    private static final int CLIENTS = 5000;
+    private static final int WARMUP = 5;
+    private static final int ITERATIONS = 10;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NeurotechClientRepository repository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        tearDown();
+
+        var random = new Random(42);
+        var clients = new ArrayList<Object[]>(CLIENTS);
+        var credits = new ArrayList<Object[]>(CLIENTS);
+        for (int i = 0; i < CLIENTS; i++) {
+            var clientId = UUID.randomUUID().toString();
+            clients.add(new Object[]{clientId, "Client " + i, 18 + random.nextInt(70), Credit.HATCH_INCOME_MIN + random.nextInt(10_000)});
+            credits.add(new Object[]{UUID.randomUUID().toString(), Credit.FIXED_INTEREST_RATE,
+                    Credit.CreditType.FIXED_INTEREST.name(), clientId});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO neurotech_client (id, name, age, income) VALUES (?, ?, ?, ?)", clients);
+        jdbcTemplate.batchUpdate("INSERT INTO credit (id, interest_rate, type, client_id) VALUES (?, ?, ?, ?)", credits);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM credit");
+        jdbcTemplate.update("DELETE FROM neurotech_client");
+    }
+
+    @Test
+    void shouldAllocateLessWhenListingClientsAsProjection() {
+        long entities = allocatedBytes(() -> repository.findAll().stream()
+                .map(client -> new NeurotechClientDTO(client.getId(), client.getName(), client.getAge(), client.getIncome()))
+                .toList());
+        long projection = allocatedBytes(() -> repository.listAll());
+
+        assertTrue(projection < entities, "projection=" + projection + " entities=" + entities);
+    }
+
+    @Test
+    void shouldAllocateLessWhenListingEligibleClientsAsProjection() {
+        long entities = allocatedBytes(() -> entityManager.createQuery(
+                        "SELECT c FROM NeurotechClient c JOIN c.credits credit " +
+                                "WHERE c.income BETWEEN :minIncome AND :maxIncome AND c.age BETWEEN :minAge AND :maxAge " +
+                                "AND credit.type = :creditType", NeurotechClient.class)
+                .setParameter("minIncome", Credit.HATCH_INCOME_MIN)
+                .setParameter("maxIncome", Credit.HATCH_INCOME_MAX)
+                .setParameter("minAge", 18)
+                .setParameter("maxAge", 90)
+                .setParameter("creditType", Credit.CreditType.FIXED_INTEREST)
+                .getResultStream()
+                .map(client -> new EligibleClientDTO(client.getName(), client.getIncome()))
+                .toList());
+        long projection = allocatedBytes(() -> repository.findEligibleClients(
+                Credit.HATCH_INCOME_MIN, Credit.HATCH_INCOME_MAX, 18, 90, Credit.CreditType.FIXED_INTEREST));
+
+        assertTrue(projection < entities, "projection=" + projection + " entities=" + entities);
+    }
+
+    /**
+     * Média de bytes alocados pela thread atual em cada execução da listagem, cada uma em sua própria
+     * transação somente-leitura, como nas requisições.
+     */
+    private long allocatedBytes(Supplier<List<?>> listing) {
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        var template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+
+        for (int i = 0; i < WARMUP; i++) {
+            assertEquals(CLIENTS, template.execute(status -> listing.get()).size());
+        }
+
+        long threadId = Thread.currentThread().threadId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ITERATIONS; i++) {
+            template.execute(status -> listing.get());
+        }
+        return (threads.getThreadAllocatedBytes(threadId) - before) / ITERATIONS;
+    }
+}
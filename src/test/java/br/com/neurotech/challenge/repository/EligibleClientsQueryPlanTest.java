@@ -0,0 +1,97 @@
+package br.com.neurotech.challenge.repository;
+
+import br.com.neurotech.challenge.configs.SqlStatementCounter;
+import br.com.neurotech.challenge.entity.Credit;
+import br.com.neurotech.challenge.entity.VehicleModel;
+import br.com.neurotech.challenge.service.ClientService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica, via {@code EXPLAIN}, que as listagens de clientes elegíveis usam os índices compostos da coluna de
+ * elegibilidade de cada modelo e {@code idx_credit_type_client} em vez de varrer as tabelas. O comando analisado
+ * é o que o Hibernate efetivamente executa na listagem, capturado pelo {@link SqlStatementCounter}.
+ */
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "neurotech.sql-guard.enabled=true"})
+class EligibleClientsQueryPlanTest {
+
+    private static final int CLIENTS = 10_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ClientService clientService;
+
+    @BeforeEach
+    void setUp() {
+        tearDown();
+
+        var random = new Random(42);
+        var types = Credit.CreditType.values();
+        var clients = new ArrayList<Object[]>(CLIENTS);
+        var credits = new ArrayList<Object[]>(CLIENTS);
+        for (int i = 0; i < CLIENTS; i++) {
+            var clientId = UUID.randomUUID().toString();
+            clients.add(new Object[]{clientId, "Client " + i, 18 + random.nextInt(70), (double) random.nextInt(200_000)});
+            credits.add(new Object[]{UUID.randomUUID().toString(), Credit.FIXED_INTEREST_RATE,
+                    types[random.nextInt(types.length)].name(), clientId});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO neurotech_client (id, name, age, income) VALUES (?, ?, ?, ?)", clients);
+        jdbcTemplate.batchUpdate("INSERT INTO credit (id, interest_rate, type, client_id) VALUES (?, ?, ?, ?)", credits);
+        clientService.recomputeEligibility();
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM credit");
+        jdbcTemplate.update("DELETE FROM neurotech_client");
+    }
+
+    @Test
+    void shouldUseIndexesForHatchListing() {
+        var plan = explain(VehicleModel.HATCH, 20, 30);
+
+        assertIndexScans(plan, "IDX_NEUROTECH_CLIENT_HATCH_ELIGIBLE_AGE");
+    }
+
+    @Test
+    void shouldUseIndexesForSuvListing() {
+        var plan = explain(VehicleModel.SUV, 20, 30);
+
+        assertIndexScans(plan, "IDX_NEUROTECH_CLIENT_SUV_ELIGIBLE_AGE");
+    }
+
+    /**
+     * Executa a listagem de clientes elegíveis e retorna o plano do comando que o Hibernate gerou para
+     * {@link NeurotechClientRepository#findEligibleClients}. Os parâmetros são informados na ordem em que aparecem
+     * na consulta: a faixa de idade e o tipo de crédito.
+     */
+    private String explain(VehicleModel model, int minAge, int maxAge) {
+        SqlStatementCounter.reset();
+        assertFalse(clientService.getEligibleClients(model, minAge, maxAge, Credit.CreditType.FIXED_INTEREST).isEmpty());
+        assertEquals(1, SqlStatementCounter.count(), () -> String.join("\n", SqlStatementCounter.statements()));
+
+        var sql = SqlStatementCounter.statements().get(0);
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class,
+                minAge, maxAge, Credit.CreditType.FIXED_INTEREST.name());
+    }
+
+    private static void assertIndexScans(String plan, String eligibleIndex) {
+        var normalized = plan.toUpperCase();
+        assertTrue(normalized.contains(eligibleIndex), plan);
+        assertTrue(normalized.contains("IDX_CREDIT_TYPE_CLIENT"), plan);
+        assertFalse(normalized.contains("TABLESCAN"), plan);
+    }
+}
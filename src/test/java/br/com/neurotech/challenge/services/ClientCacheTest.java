@@ -0,0 +1,121 @@
+package br.com.neurotech.challenge.services;
+
+import br.com.neurotech.challenge.configs.CacheConfig;
+import br.com.neurotech.challenge.entity.NeurotechClient;
+import br.com.neurotech.challenge.entity.VehicleModel;
+import br.com.neurotech.challenge.repository.NeurotechClientRepository;
+import br.com.neurotech.challenge.service.ClientService;
+import br.com.neurotech.challenge.service.CreditService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureMockMvc
+class ClientCacheTest {
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private CreditService creditService;
+
+    @Autowired
+    private NeurotechClientRepository clientRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfig.CLIENTS).clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void shouldReadHotClientsWithoutDatabaseRoundTrips() {
+        var id = clientService.save(client(30, 10000.0));
+        statistics.clear();
+
+        clientService.get(id);
+        clientService.get(id);
+        assertTrue(creditService.checkCredit(id, VehicleModel.HATCH));
+        assertTrue(creditService.checkCredit(id, VehicleModel.SUV));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void shouldInvalidateOnSave() {
+        var id = clientService.save(client(30, 10000.0));
+        clientService.get(id);
+
+        var client = clientRepository.findById(id).orElseThrow();
+        client.setIncome(3000.0);
+        clientService.save(client);
+        statistics.clear();
+
+        assertEquals(3000.0, clientService.get(id).income());
+        assertFalse(creditService.checkCredit(id, VehicleModel.HATCH));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void shouldInvalidateOnDelete() {
+        var id = clientService.save(client(30, 10000.0));
+        assertNotNull(clientService.get(id));
+
+        clientService.delete(id);
+
+        assertNull(clientService.get(id));
+        assertFalse(creditService.checkCredit(id, VehicleModel.HATCH));
+    }
+
+    @Test
+    void shouldExposeCacheStatistics() throws Exception {
+        var id = clientService.save(client(30, 10000.0));
+        clientService.get(id);
+        clientService.get(id);
+
+        mockMvc.perform(get("/api/cache/clients/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("clients"))
+                .andExpect(jsonPath("$.size").value(1))
+                .andExpect(jsonPath("$.hits").isNumber())
+                .andExpect(jsonPath("$.misses").isNumber());
+
+        mockMvc.perform(get("/api/cache/unknown/stats"))
+                .andExpect(status().isNotFound());
+    }
+
+    private static NeurotechClient client(int age, double income) {
+        var client = new NeurotechClient();
+        client.setName("Cached");
+        client.setAge(age);
+        client.setIncome(income);
+        return client;
+    }
+}
@@ -1,18 +1,34 @@
 package br.com.neurotech.challenge.services;
 
+import br.com.neurotech.challenge.configs.CacheConfig;
+import br.com.neurotech.challenge.configs.CreditRulesProperties;
+import br.com.neurotech.challenge.dto.ClientDetailsDTO;
+import br.com.neurotech.challenge.dto.EligibleClientDTO;
+import br.com.neurotech.challenge.dto.NeurotechClientDTO;
 import br.com.neurotech.challenge.entity.Credit;
 import br.com.neurotech.challenge.entity.NeurotechClient;
 import br.com.neurotech.challenge.entity.VehicleModel;
 import br.com.neurotech.challenge.repository.NeurotechClientRepository;
+import br.com.neurotech.challenge.service.implementation.CreditRuleEngine;
 import br.com.neurotech.challenge.service.implementation.ClientServiceImpl;
+import br.com.neurotech.challenge.service.implementation.EligibilityIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Limit;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -23,6 +39,15 @@ public class ClientServiceImplTest {
     @Mock
     private NeurotechClientRepository repository;
 
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private ObjectProvider<EligibilityIndex> eligibilityIndex;
+
+    @Spy
+    private CreditRuleEngine ruleEngine = new CreditRuleEngine(new CreditRulesProperties());
+
     @InjectMocks
     private ClientServiceImpl clientService;
 
@@ -35,106 +60,164 @@ public class ClientServiceImplTest {
     void shouldSaveClientAndReturnId() {
         // Arrange
         NeurotechClient client = new NeurotechClient();
-        client.setId("123");
+        client.setId(new UUID(0, 123));
         client.setName("John Doe");
 
         when(repository.save(client)).thenReturn(client);
 
         // Act
-        String clientId = clientService.save(client);
+        UUID clientId = clientService.save(client);
 
         // Assert
-        assertEquals("123", clientId);
+        assertEquals(new UUID(0, 123), clientId);
         verify(repository, times(1)).save(client);
     }
 
     @Test
     void shouldGetClientById() {
         // Arrange
-        NeurotechClient client = new NeurotechClient();
-        client.setId("123");
-        client.setName("John Doe");
+        var client = new ClientDetailsDTO(new UUID(0, 123), "John Doe", 30, 5000.0, true, false, 0L);
 
-        when(repository.findById("123")).thenReturn(Optional.of(client));
+        when(repository.findDetailsById(new UUID(0, 123))).thenReturn(Optional.of(client));
 
         // Act
-        NeurotechClient foundClient = clientService.get("123");
+        ClientDetailsDTO foundClient = clientService.get(new UUID(0, 123));
 
         // Assert
         assertNotNull(foundClient);
-        assertEquals("John Doe", foundClient.getName());
-        verify(repository, times(1)).findById("123");
+        assertEquals("John Doe", foundClient.name());
+        verify(repository, times(1)).findDetailsById(new UUID(0, 123));
     }
 
     @Test
     void shouldReturnNullWhenClientNotFound() {
         // Arrange
-        when(repository.findById("999")).thenReturn(Optional.empty());
+        when(repository.findDetailsById(new UUID(0, 999))).thenReturn(Optional.empty());
 
         // Act
-        NeurotechClient foundClient = clientService.get("999");
+        ClientDetailsDTO foundClient = clientService.get(new UUID(0, 999));
 
         // Assert
         assertNull(foundClient);
-        verify(repository, times(1)).findById("999");
+        verify(repository, times(1)).findDetailsById(new UUID(0, 999));
     }
 
     @Test
-    void shouldGetAllClients() {
+    void shouldUpdateLoadedClient() {
+        // Arrange
+        NeurotechClient client = new NeurotechClient();
+        client.setId(new UUID(0, 123));
+        client.setName("John Doe");
+        client.setAge(30);
+        client.setIncome(5000.0);
+
+        when(repository.findById(new UUID(0, 123))).thenReturn(Optional.of(client));
+
+        // Act
+        boolean updated = clientService.update(new UUID(0, 123), "Jane Doe", 40, 9000.0);
+
+        // Assert
+        assertTrue(updated);
+        assertEquals(new UUID(0, 123), client.getId());
+        assertEquals("Jane Doe", client.getName());
+        assertEquals(40, client.getAge());
+        assertEquals(9000.0, client.getIncome());
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void shouldNotUpdateUnknownClient() {
         // Arrange
-        NeurotechClient client1 = new NeurotechClient();
-        client1.setId("1");
-        client1.setName("Alice");
+        when(repository.findById(new UUID(0, 999))).thenReturn(Optional.empty());
 
-        NeurotechClient client2 = new NeurotechClient();
-        client2.setId("2");
-        client2.setName("Bob");
+        // Act
+        boolean updated = clientService.update(new UUID(0, 999), "Jane Doe", 40, 9000.0);
 
-        List<NeurotechClient> clients = List.of(client1, client2);
+        // Assert
+        assertFalse(updated);
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void shouldGetAllClients() {
+        // Arrange
+        List<NeurotechClientDTO> clients = List.of(
+                new NeurotechClientDTO(new UUID(0, 1), "Alice", 30, 5000.0),
+                new NeurotechClientDTO(new UUID(0, 2), "Bob", 40, 7000.0));
 
-        when(repository.findAll()).thenReturn(clients);
+        when(repository.listAll()).thenReturn(clients);
 
         // Act
-        List<NeurotechClient> allClients = clientService.getAll();
+        List<NeurotechClientDTO> allClients = clientService.getAll();
 
         // Assert
         assertNotNull(allClients);
         assertEquals(2, allClients.size());
-        assertEquals("Alice", allClients.get(0).getName());
-        assertEquals("Bob", allClients.get(1).getName());
-        verify(repository, times(1)).findAll();
+        assertEquals("Alice", allClients.get(0).name());
+        assertEquals("Bob", allClients.get(1).name());
+        verify(repository, times(1)).listAll();
+        verify(repository, never()).findAll();
+    }
+
+    @Test
+    void shouldGetPageOfClientsAfterCursor() {
+        // Arrange
+        when(repository.listAfter(new UUID(0, 1), Limit.of(10))).thenReturn(List.of(new NeurotechClientDTO(new UUID(0, 2), "Bob", 40, 7000.0)));
+
+        // Act
+        List<NeurotechClientDTO> page = clientService.getAll(new UUID(0, 1), 10);
+
+        // Assert
+        assertEquals(1, page.size());
+        assertEquals("Bob", page.get(0).name());
+        verify(repository, never()).findAll();
+    }
+
+    @Test
+    void shouldExportAllClientsAndCloseStream() {
+        // Arrange
+        var closed = new AtomicBoolean();
+        var stream = Stream.of(
+                new NeurotechClientDTO(new UUID(0, 1), "Alice", 25, 12000.0),
+                new NeurotechClientDTO(new UUID(0, 2), "Bob", 30, 8000.0)
+        ).onClose(() -> closed.set(true));
+
+        when(repository.streamAll()).thenReturn(stream);
+
+        // Act
+        var exported = new ArrayList<NeurotechClientDTO>();
+        clientService.exportAll(exported::add);
+
+        // Assert
+        assertEquals(2, exported.size());
+        assertEquals("Alice", exported.get(0).name());
+        assertTrue(closed.get(), "Stream should be closed after export");
+        verify(repository, never()).findAll();
     }
 
     @Test
     void shouldDeleteClientById() {
         // Act
-        clientService.delete("123");
+        clientService.delete(new UUID(0, 123));
 
         // Assert
-        verify(repository, times(1)).deleteById("123");
+        verify(repository, times(1)).deleteById(new UUID(0, 123));
     }
 
     @Test
     void shouldGetEligibleClientsForHatch() {
         // Arrange
-        NeurotechClient eligibleClient = new NeurotechClient();
-        eligibleClient.setId("1");
-        eligibleClient.setName("John Doe");
-        eligibleClient.setIncome(3000.0);
-        eligibleClient.setAge(25);
-
-        List<NeurotechClient> eligibleClients = List.of(eligibleClient);
+        List<EligibleClientDTO> eligibleClients = List.of(new EligibleClientDTO("John Doe", 3000.0));
 
         when(repository.findEligibleClients(
-                Credit.HATCH_INCOME_MIN,
-                Credit.HATCH_INCOME_MAX,
+                VehicleModel.HATCH,
                 20,
                 30,
                 Credit.CreditType.FIXED_INTEREST)
         ).thenReturn(eligibleClients);
 
         // Act
-        List<NeurotechClient> clients = clientService.getEligibleClients(
+        List<EligibleClientDTO> clients = clientService.getEligibleClients(
                 VehicleModel.HATCH,
                 20,
                 30,
@@ -144,10 +227,9 @@ public class ClientServiceImplTest {
         // Assert
         assertNotNull(clients);
         assertEquals(1, clients.size());
-        assertEquals("John Doe", clients.get(0).getName());
+        assertEquals("John Doe", clients.get(0).name());
         verify(repository, times(1)).findEligibleClients(
-                Credit.HATCH_INCOME_MIN,
-                Credit.HATCH_INCOME_MAX,
+                VehicleModel.HATCH,
                 20,
                 30,
                 Credit.CreditType.FIXED_INTEREST
@@ -155,18 +237,81 @@ public class ClientServiceImplTest {
     }
 
     @Test
-    void shouldReturnEmptyListWhenNoEligibleClientsForNonHatchModel() {
+    void shouldGetEligibleClientsForSuv() {
         // Act
-        List<NeurotechClient> clients = clientService.getEligibleClients(
+        clientService.getEligibleClients(VehicleModel.SUV, 18, 30, Credit.CreditType.FIXED_INTEREST);
+
+        // Assert
+        verify(repository, times(1)).findEligibleClients(
                 VehicleModel.SUV,
-                20,
+                18,
                 30,
                 Credit.CreditType.FIXED_INTEREST
         );
+    }
+
+    @Test
+    void shouldReturnEmptyListWhenAgeRangeIsBelowSuvMinimum() {
+        // Act
+        List<EligibleClientDTO> clients = clientService.getEligibleClients(
+                VehicleModel.SUV,
+                18,
+                Credit.SUV_AGE_MIN,
+                Credit.CreditType.FIXED_INTEREST
+        );
 
         // Assert
         assertNotNull(clients);
-        assertTrue(clients.isEmpty(), "Clients list should be empty for non-HATCH models");
-        verify(repository, never()).findEligibleClients(anyDouble(), anyDouble(), anyInt(), anyInt(), any());
+        assertTrue(clients.isEmpty(), "Clients list should be empty when no age in range is accepted for SUV");
+        verify(repository, never()).findEligibleClients(any(VehicleModel.class), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    void shouldGetPageOfEligibleClientsForHatch() {
+        // Act
+        clientService.getEligibleClients(VehicleModel.HATCH, 20, 30, Credit.CreditType.FIXED_INTEREST, new UUID(0, 1), 50);
+
+        // Assert
+        verify(repository, times(1)).findEligibleClientsAfter(
+                VehicleModel.HATCH,
+                20,
+                30,
+                Credit.CreditType.FIXED_INTEREST,
+                new UUID(0, 1),
+                Limit.of(50)
+        );
+    }
+
+    @Test
+    void shouldRecomputeEligibilityWithOneUpdatePerChangedOutcome() {
+        // Arrange
+        var clients = new ArrayList<ClientDetailsDTO>();
+        for (int i = 0; i < 1500; i++) {
+            boolean eligible = i % 2 == 0;
+            // um a cada três clientes já tem a elegibilidade correta gravada
+            Boolean stored = i % 3 == 0 ? eligible : null;
+            clients.add(new ClientDetailsDTO(new UUID(0, i + 1), "Client " + i, 30, eligible ? 10000.0 : 3000.0,
+                    stored, stored, 0L));
+        }
+        when(repository.findDetailsAfter(any(), eq(Limit.of(1000)))).thenAnswer(invocation -> {
+            UUID after = invocation.getArgument(0);
+            return clients.stream().filter(client -> client.id().compareTo(after) > 0).limit(1000).toList();
+        });
+        when(repository.updateEligibility(anyBoolean(), anyBoolean(), anyCollection()))
+                .thenAnswer(invocation -> invocation.<List<UUID>>getArgument(2).size());
+        var cache = mock(Cache.class);
+        when(cacheManager.getCache(CacheConfig.CLIENTS)).thenReturn(cache);
+
+        // Act
+        int updated = clientService.recomputeEligibility();
+
+        // Assert
+        assertEquals(1000, updated);
+        verify(repository, times(2)).findDetailsAfter(any(), any());
+        verify(repository, times(2)).updateEligibility(eq(true), eq(true), anyCollection());
+        verify(repository, times(2)).updateEligibility(eq(false), eq(false), anyCollection());
+        verify(cache, times(1000)).evict(any());
+        verify(cache, never()).evict(new UUID(0, 1));
+        verify(cache).evict(new UUID(0, 2));
     }
 }
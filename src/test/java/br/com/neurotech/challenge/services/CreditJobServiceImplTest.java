@@ -0,0 +1,127 @@
+package br.com.neurotech.challenge.services;
+
+import br.com.neurotech.challenge.entity.CreditJob;
+import br.com.neurotech.challenge.entity.CreditJobItem;
+import br.com.neurotech.challenge.entity.VehicleModel;
+import br.com.neurotech.challenge.repository.CreditJobItemRepository;
+import br.com.neurotech.challenge.repository.CreditJobRepository;
+import br.com.neurotech.challenge.service.CreditService;
+import br.com.neurotech.challenge.service.implementation.CreditJobServiceImpl;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CreditJobServiceImplTest {
+
+    @Mock
+    private CreditJobRepository jobRepository;
+
+    @Mock
+    private CreditJobItemRepository itemRepository;
+
+    @Mock
+    private CreditService creditService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private CreditJobItem item;
+
+    private CreditJobServiceImpl creditJobService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        // um worker e uma vaga na fila
+        creditJobService = new CreditJobServiceImpl(jobRepository, itemRepository, creditService, entityManager,
+                transactionManager, 1, 1, 1000, "test", Duration.ofMinutes(1));
+
+        when(jobRepository.save(any())).thenAnswer(invocation -> {
+            CreditJob job = invocation.getArgument(0);
+            job.setId(new UUID(0, 1));
+            return job;
+        });
+        when(jobRepository.findById(new UUID(0, 1))).thenAnswer(invocation -> {
+            var job = new CreditJob();
+            job.setId(new UUID(0, 1));
+            job.setVehicleModel(VehicleModel.SUV);
+            job.setTotal(1);
+            job.setProcessed(0);
+            job.setOwner("test");
+            return Optional.of(job);
+        });
+        when(jobRepository.updateStatus(any(), eq("test"), any())).thenReturn(1);
+        when(jobRepository.updateProgress(any(), eq("test"), anyInt())).thenReturn(1);
+        when(jobRepository.finish(any(), eq("test"), any(), any())).thenReturn(1);
+        item = new CreditJobItem();
+        item.setId(new CreditJobItem.Key(new UUID(0, 1), 0));
+        item.setClientId(new UUID(0, 2));
+        when(itemRepository.findRange(new UUID(0, 1), 0, 1)).thenReturn(List.of(item));
+        // a avaliação fica bloqueada até o fim do teste, ocupando o worker
+        when(creditService.checkCredit(anyCollection(), anyCollection())).thenAnswer(invocation -> {
+            release.await();
+            return Map.of();
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        release.countDown();
+        creditJobService.shutdown();
+    }
+
+    @Test
+    void shouldRejectJobsBeyondWorkersAndQueueCapacity() {
+        creditJobService.submit(List.of(new UUID(0, 2)), VehicleModel.SUV);
+        creditJobService.submit(List.of(new UUID(0, 2)), VehicleModel.SUV);
+
+        assertThrows(RejectedExecutionException.class,
+                () -> creditJobService.submit(List.of(new UUID(0, 2)), VehicleModel.SUV));
+        verify(jobRepository, times(2)).save(any());
+    }
+
+    @Test
+    void shouldSaveItemsInChunks() {
+        var ids = IntStream.range(0, 2500).mapToObj(i -> new UUID(0, i)).toList();
+
+        creditJobService.submit(ids, VehicleModel.SUV);
+
+        verify(itemRepository, timeout(5000).times(3)).saveAll(anyIterable());
+        verify(entityManager, timeout(5000).times(3)).clear();
+    }
+
+    @Test
+    void shouldStopWithoutWritingResultsWhenAnotherInstanceTookOverTheJob() {
+        release.countDown();
+        when(jobRepository.updateProgress(new UUID(0, 1), "test", 1)).thenReturn(0);
+        when(creditService.checkCredit(anyCollection(), anyCollection()))
+                .thenReturn(Map.of(new UUID(0, 2), Map.of(VehicleModel.SUV, true)));
+
+        creditJobService.submit(List.of(new UUID(0, 2)), VehicleModel.SUV);
+
+        verify(jobRepository, timeout(5000)).updateProgress(new UUID(0, 1), "test", 1);
+        verify(jobRepository, after(200).never()).finish(any(), any(), any(), any());
+        assertNull(item.getEligible());
+    }
+}
@@ -0,0 +1,128 @@
+package br.com.neurotech.challenge.services;
+
+import br.com.neurotech.challenge.benchmark.LegacyCreditRules;
+import br.com.neurotech.challenge.configs.CreditRulesProperties;
+import br.com.neurotech.challenge.entity.Credit;
+import br.com.neurotech.challenge.entity.NeurotechClient;
+import br.com.neurotech.challenge.entity.VehicleModel;
+import br.com.neurotech.challenge.service.implementation.CreditRuleEngine;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CreditRuleEngineTest {
+
+    private final CreditRuleEngine engine = new CreditRuleEngine(new CreditRulesProperties());
+
+    @Test
+    void shouldMatchLegacyRulesOnBoundaries() {
+        var rules = engine.rules();
+        double[] incomes = {0, 4999.99, 5000, 5000.01, 7999.99, 8000, 8000.01, 14999.99, 15000, 15000.01, 50000};
+
+        for (int age = 0; age <= 120; age++) {
+            for (double income : incomes) {
+                assertSame(LegacyCreditRules.determineCreditType(age, income), rules.creditType(age, income),
+                        "age=" + age + " income=" + income);
+                for (var model : VehicleModel.values()) {
+                    assertEquals(LegacyCreditRules.isEligible(model, age, income), rules.eligible(model, age, income),
+                            "model=" + model + " age=" + age + " income=" + income);
+                }
+            }
+        }
+    }
+
+    @Test
+    void shouldMatchLegacyRulesOnRandomInputs() {
+        var rules = engine.rules();
+        var random = new Random(7);
+
+        for (int i = 0; i < 100_000; i++) {
+            int age = random.nextInt(110);
+            double income = random.nextDouble() * 30_000;
+
+            var type = LegacyCreditRules.determineCreditType(age, income);
+            assertSame(type, rules.creditType(age, income));
+            if (type != null) {
+                assertEquals(LegacyCreditRules.rate(type), rules.rate(type));
+            }
+            for (var model : VehicleModel.values()) {
+                assertEquals(LegacyCreditRules.isEligible(model, age, income), rules.eligible(model, age, income));
+            }
+        }
+    }
+
+    @Test
+    void shouldApplyEligibilityOfEachModelToClient() {
+        var client = new NeurotechClient();
+        client.setAge(30);
+        client.setIncome(6000.0);
+
+        engine.applyEligibility(client);
+
+        assertTrue(client.eligibleFor(VehicleModel.HATCH));
+        assertFalse(client.eligibleFor(VehicleModel.SUV));
+
+        client.setIncome(null);
+        engine.applyEligibility(client);
+
+        assertNull(client.eligibleFor(VehicleModel.HATCH));
+        assertNull(client.eligibleFor(VehicleModel.SUV));
+    }
+
+    @Test
+    void shouldSwapRulesAtomicallyOnReload() {
+        var before = engine.rules();
+
+        var properties = new CreditRulesProperties();
+        properties.getCreditTypes().get(0).setRate(6.5);
+        properties.getVehicles().get(VehicleModel.HATCH).setIncome(CreditRulesProperties.Interval.closed(4000.0, 16000.0));
+        engine.reload(properties);
+
+        var after = engine.rules();
+        assertNotSame(before, after);
+        assertEquals(5.0, before.rate(Credit.CreditType.FIXED_INTEREST));
+        assertFalse(before.eligible(VehicleModel.HATCH, 30, 4500));
+        assertEquals(6.5, after.rate(Credit.CreditType.FIXED_INTEREST));
+        assertTrue(after.eligible(VehicleModel.HATCH, 30, 4500));
+    }
+
+    @Test
+    void shouldKeepCurrentRulesWhenReloadIsInvalid() {
+        var before = engine.rules();
+
+        var missingVehicle = new CreditRulesProperties();
+        missingVehicle.setVehicles(new EnumMap<>(VehicleModel.class));
+        assertThrows(IllegalArgumentException.class, () -> engine.reload(missingVehicle));
+
+        var duplicatedType = new CreditRulesProperties();
+        List<CreditRulesProperties.CreditTypeRule> types = new ArrayList<>(duplicatedType.getCreditTypes());
+        types.add(types.get(0));
+        duplicatedType.setCreditTypes(types);
+        assertThrows(IllegalArgumentException.class, () -> engine.reload(duplicatedType));
+
+        assertSame(before, engine.rules());
+    }
+
+    @Test
+    void shouldKeepSourceTablesIndependentOfTheProperties() {
+        var properties = new CreditRulesProperties();
+        var ruleEngine = new CreditRuleEngine(properties);
+
+        // o bean de configuração alterado depois da compilação não muda as tabelas publicadas
+        properties.getCreditTypes().get(0).setRate(9.9);
+        properties.getVehicles().get(VehicleModel.SUV).getIncome().setMin(1.0);
+        var source = ruleEngine.rules().source();
+        assertEquals(Credit.FIXED_INTEREST_RATE, source.getCreditTypes().get(0).getRate());
+        assertEquals(Credit.SUV_INCOME_MIN, source.getVehicles().get(VehicleModel.SUV).getIncome().getMin());
+
+        // nem a cópia devolvida
+        source.getCreditTypes().get(0).setRate(9.9);
+        assertEquals(Credit.FIXED_INTEREST_RATE, ruleEngine.rules().source().getCreditTypes().get(0).getRate());
+        assertEquals(Credit.FIXED_INTEREST_RATE, ruleEngine.rules().rate(Credit.CreditType.FIXED_INTEREST));
+    }
+}
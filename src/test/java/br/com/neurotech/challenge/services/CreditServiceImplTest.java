@@ -1,17 +1,27 @@
 package br.com.neurotech.challenge.services;
 
+import br.com.neurotech.challenge.configs.CreditRulesProperties;
+import br.com.neurotech.challenge.dto.ClientDetailsDTO;
 import br.com.neurotech.challenge.entity.Credit;
 import br.com.neurotech.challenge.entity.NeurotechClient;
 import br.com.neurotech.challenge.entity.VehicleModel;
+import br.com.neurotech.challenge.repository.CreditRepository;
 import br.com.neurotech.challenge.repository.NeurotechClientRepository;
+import br.com.neurotech.challenge.service.ClientService;
+import br.com.neurotech.challenge.service.implementation.CreditMetrics;
+import br.com.neurotech.challenge.service.implementation.CreditRuleEngine;
 import br.com.neurotech.challenge.service.implementation.CreditServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 
-import java.util.Optional;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -21,6 +31,20 @@ class CreditServiceImplTest {
     @Mock
     private NeurotechClientRepository neurotechClientRepository;
 
+    @Mock
+    private CreditRepository creditRepository;
+
+    @Mock
+    private ClientService clientService;
+
+    @Spy
+    private CreditRuleEngine ruleEngine = new CreditRuleEngine(new CreditRulesProperties());
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Spy
+    private CreditMetrics metrics = new CreditMetrics(registry);
+
     @InjectMocks
     private CreditServiceImpl creditService;
 
@@ -32,49 +56,46 @@ class CreditServiceImplTest {
     @Test
     void shouldCheckCreditEligibilityForHatch_Success() {
         // Mock client data
-        NeurotechClient client = new NeurotechClient();
-        client.setId("123");
-        client.setIncome(15000.0);
-        client.setAge(25);
+        var client = new ClientDetailsDTO(new UUID(0, 123), "John Doe", 25, 15000.0, null, null, 0L);
 
-        when(neurotechClientRepository.findById("123")).thenReturn(Optional.of(client));
+        when(clientService.get(new UUID(0, 123))).thenReturn(client);
 
         // Act
-        boolean isEligible = creditService.checkCredit("123", VehicleModel.HATCH);
+        boolean isEligible = creditService.checkCredit(new UUID(0, 123), VehicleModel.HATCH);
 
         // Assert
         assertTrue(isEligible, "Client should be eligible for HATCH");
-        verify(neurotechClientRepository, times(1)).findById("123");
+        verify(clientService, times(1)).get(new UUID(0, 123));
+        verify(neurotechClientRepository, never()).findById(any());
+        assertEquals(1.0, registry.get("neurotech.credit.eligibility").tags("model", "HATCH", "eligible", "true").counter().count());
+        assertEquals(0.0, registry.get("neurotech.credit.eligibility").tags("model", "HATCH", "eligible", "false").counter().count());
     }
 
     @Test
     void shouldCheckCreditEligibilityForSUV_Success() {
         // Mock client data
-        NeurotechClient client = new NeurotechClient();
-        client.setId("456");
-        client.setIncome(8100.0);
-        client.setAge(30);
+        var client = new ClientDetailsDTO(new UUID(0, 456), "John Doe", 30, 8100.0, null, null, 0L);
 
-        when(neurotechClientRepository.findById("456")).thenReturn(Optional.of(client));
+        when(clientService.get(new UUID(0, 456))).thenReturn(client);
 
         // Act
-        boolean isEligible = creditService.checkCredit("456", VehicleModel.SUV);
+        boolean isEligible = creditService.checkCredit(new UUID(0, 456), VehicleModel.SUV);
 
         // Assert
         assertTrue(isEligible, "Client should be eligible for SUV");
-        verify(neurotechClientRepository, times(1)).findById("456");
+        verify(clientService, times(1)).get(new UUID(0, 456));
     }
 
     @Test
     void shouldReturnFalseWhenClientNotFound() {
-        when(neurotechClientRepository.findById("999")).thenReturn(Optional.empty());
+        when(clientService.get(new UUID(0, 999))).thenReturn(null);
 
         // Act
-        boolean isEligible = creditService.checkCredit("999", VehicleModel.HATCH);
+        boolean isEligible = creditService.checkCredit(new UUID(0, 999), VehicleModel.HATCH);
 
         // Assert
         assertFalse(isEligible, "Client should not be eligible when not found");
-        verify(neurotechClientRepository, times(1)).findById("999");
+        verify(clientService, times(1)).get(new UUID(0, 999));
     }
 
     @Test
@@ -92,6 +113,7 @@ class CreditServiceImplTest {
         assertEquals(Credit.CreditType.FIXED_INTEREST, credit.getType());
         assertEquals(Credit.FIXED_INTEREST_RATE, credit.getInterestRate());
         assertEquals(client, credit.getClient());
+        assertEquals(1.0, registry.get("neurotech.credit.granted").tags("type", "FIXED_INTEREST").counter().count());
     }
 
     @Test
@@ -124,5 +146,150 @@ class CreditServiceImplTest {
         });
 
         assertEquals("Cliente não se qualifica para nenhum crédito.", exception.getMessage());
+        assertEquals(1.0, registry.get("neurotech.credit.rejected").counter().count());
+    }
+
+    @Test
+    void shouldCreateClientWithCreditInASingleSave() {
+        NeurotechClient client = new NeurotechClient();
+        client.setAge(20);
+        client.setIncome(2500.0);
+        when(neurotechClientRepository.save(client)).thenAnswer(invocation -> {
+            client.setId(new UUID(0, 1));
+            return client;
+        });
+
+        // Act
+        UUID id = creditService.createClientWithCredit(client);
+
+        // Assert
+        assertEquals(new UUID(0, 1), id);
+        assertEquals(1, client.getCredits().size());
+        assertEquals(Credit.CreditType.FIXED_INTEREST, client.getCredits().get(0).getType());
+        assertEquals(client, client.getCredits().get(0).getClient());
+        verify(neurotechClientRepository, times(1)).save(client);
+    }
+
+    @Test
+    void shouldNotSaveClientWithoutCreditEligibility() {
+        NeurotechClient client = new NeurotechClient();
+        client.setAge(17);
+        client.setIncome(1000.0);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> creditService.createClientWithCredit(client));
+        assertTrue(client.getCredits().isEmpty());
+        verify(neurotechClientRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldCheckCreditForManyClientsWithChunkedInQueries() {
+        // Mock client data
+        var ids = new ArrayList<UUID>();
+        var clients = new ArrayList<NeurotechClient>();
+        for (int i = 0; i < 2500; i++) {
+            NeurotechClient client = new NeurotechClient();
+            client.setId(new UUID(0, i));
+            client.setIncome(i % 2 == 0 ? 10000.0 : 3000.0);
+            client.setAge(30);
+            ids.add(client.getId());
+            clients.add(client);
+        }
+        var missing = new UUID(1, 0);
+        ids.add(missing);
+
+        when(neurotechClientRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            Iterable<UUID> chunk = invocation.getArgument(0);
+            var found = new ArrayList<NeurotechClient>();
+            chunk.forEach(id -> clients.stream().filter(c -> c.getId().equals(id)).forEach(found::add));
+            return found;
+        });
+
+        // Act
+        var result = creditService.checkCredit(ids, List.of(VehicleModel.HATCH, VehicleModel.SUV));
+
+        // Assert
+        assertEquals(2500, result.size());
+        assertFalse(result.containsKey(missing));
+        assertTrue(result.get(new UUID(0, 0)).get(VehicleModel.HATCH));
+        assertTrue(result.get(new UUID(0, 0)).get(VehicleModel.SUV));
+        assertFalse(result.get(new UUID(0, 1)).get(VehicleModel.HATCH));
+        assertFalse(result.get(new UUID(0, 1)).get(VehicleModel.SUV));
+        verify(neurotechClientRepository, times(3)).findAllById(anyIterable());
+        verify(neurotechClientRepository, never()).findById(any());
+    }
+
+    @Test
+    void shouldCheckOnlyRequestedModels() {
+        NeurotechClient client = new NeurotechClient();
+        client.setId(new UUID(0, 1));
+        client.setIncome(10000.0);
+        client.setAge(30);
+
+        when(neurotechClientRepository.findAllById(List.of(new UUID(0, 1)))).thenReturn(List.of(client));
+
+        // Act
+        var result = creditService.checkCredit(List.of(new UUID(0, 1), new UUID(0, 1)), List.of(VehicleModel.SUV));
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals(1, result.get(new UUID(0, 1)).size());
+        assertTrue(result.get(new UUID(0, 1)).get(VehicleModel.SUV));
+    }
+
+    @Test
+    void shouldRescoreOnlyCreditsThatChange() {
+        // juros fixos com a taxa antiga, juros fixos já atualizado e cliente que não se qualifica mais
+        var repriced = credit(new UUID(0, 1), 22, 6000.0, Credit.CreditType.FIXED_INTEREST, 4.5);
+        var current = credit(new UUID(0, 2), 30, 9000.0, Credit.CreditType.VARIABLE_INTEREST, 7.5);
+        var unqualified = credit(new UUID(0, 3), 40, 20000.0, Credit.CreditType.VARIABLE_INTEREST, 7.5);
+        var ids = List.of(new UUID(0, 1), new UUID(0, 2), new UUID(0, 3));
+        when(creditRepository.findByClientIds(ids)).thenReturn(List.of(repriced, current, unqualified));
+
+        // Act
+        var result = creditService.rescore(ids);
+
+        // Assert
+        assertEquals(3, result.credits());
+        assertEquals(1, result.updated());
+        assertEquals(1, result.unqualified());
+        assertEquals(List.of(new UUID(0, 1)), result.updatedClients());
+        assertEquals(Credit.FIXED_INTEREST_RATE, repriced.getInterestRate());
+        assertEquals(Credit.CreditType.VARIABLE_INTEREST, unqualified.getType());
+        assertEquals(7.5, unqualified.getInterestRate());
+        // o reprocessamento não é uma nova concessão nem uma recusa
+        assertEquals(0, registry.get("neurotech.credit.rejected").counter().count());
+    }
+
+    @Test
+    void shouldCountClientsWithoutAgeOrIncomeAsUnqualifiedOnRescore() {
+        var withoutAge = credit(new UUID(0, 1), 30, 9000.0, Credit.CreditType.VARIABLE_INTEREST, 7.5);
+        withoutAge.getClient().setAge(null);
+        var withoutIncome = credit(new UUID(0, 2), 30, 9000.0, Credit.CreditType.VARIABLE_INTEREST, 7.5);
+        withoutIncome.getClient().setIncome(null);
+        var ids = List.of(new UUID(0, 1), new UUID(0, 2));
+        when(creditRepository.findByClientIds(ids)).thenReturn(List.of(withoutAge, withoutIncome));
+
+        // Act
+        var result = creditService.rescore(ids);
+
+        // Assert
+        assertEquals(2, result.credits());
+        assertEquals(0, result.updated());
+        assertEquals(2, result.unqualified());
+        assertEquals(Credit.CreditType.VARIABLE_INTEREST, withoutAge.getType());
+        assertEquals(7.5, withoutIncome.getInterestRate());
+    }
+
+    private static Credit credit(UUID clientId, int age, double income, Credit.CreditType type, double rate) {
+        var client = new NeurotechClient();
+        client.setId(clientId);
+        client.setAge(age);
+        client.setIncome(income);
+        var credit = new Credit();
+        credit.setClient(client);
+        credit.setType(type);
+        credit.setInterestRate(rate);
+        return credit;
     }
 }
@@ -0,0 +1,177 @@
+package br.com.neurotech.challenge.services;
+
+import br.com.neurotech.challenge.dto.NeurotechClientDTO;
+import br.com.neurotech.challenge.entity.Credit;
+import br.com.neurotech.challenge.entity.NeurotechClient;
+import br.com.neurotech.challenge.entity.VehicleModel;
+import br.com.neurotech.challenge.repository.CreditRepository;
+import br.com.neurotech.challenge.repository.NeurotechClientRepository;
+import br.com.neurotech.challenge.service.ClientService;
+import br.com.neurotech.challenge.service.implementation.EligibilityIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "neurotech.eligibility-index.enabled=true"
+})
+class EligibilityIndexTest {
+
+    private static final int CLIENTS = 1500;
+    private static final int QUERIES = 300;
+
+    @Autowired
+    private EligibilityIndex index;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private NeurotechClientRepository clientRepository;
+
+    @Autowired
+    private CreditRepository creditRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final Random random = new Random(42);
+
+    @BeforeEach
+    void setUp() {
+        clientRepository.deleteAll();
+
+        var clients = new ArrayList<NeurotechClient>(CLIENTS);
+        for (int i = 0; i < CLIENTS; i++) {
+            var client = new NeurotechClient();
+            client.setName("Client " + i);
+            client.setAge(18 + random.nextInt(70));
+            client.setIncome((double) random.nextInt(25_000));
+            int credits = 1 + random.nextInt(2);
+            for (int c = 0; c < credits; c++) {
+                client.getCredits().add(credit(client));
+            }
+            clients.add(client);
+        }
+        clientService.saveAll(clients);
+    }
+
+    @Test
+    void shouldMatchSqlAfterInserts() {
+        assertTrue(index.isReady());
+        assertEquivalent();
+    }
+
+    @Test
+    void shouldMatchSqlAfterUpdatesAndDeletes() {
+        var ids = clientRepository.findAll().stream().map(NeurotechClient::getId).toList();
+
+        for (int i = 0; i < 200; i++) {
+            var client = clientRepository.findById(ids.get(random.nextInt(ids.size()))).orElse(null);
+            if (client == null) {
+                continue;
+            }
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    client.setAge(18 + random.nextInt(70));
+                    client.setIncome((double) random.nextInt(25_000));
+                    clientService.save(client);
+                }
+                case 1 -> creditRepository.save(credit(client));
+                default -> clientService.delete(client.getId());
+            }
+        }
+
+        assertEquivalent();
+    }
+
+    @Test
+    void shouldMatchSqlAcrossCompactions() {
+        // cada bloco é uma transação; o delta das partições passa do limite de compactação no meio do caminho
+        var clients = clientRepository.findAll();
+        for (int from = 0; from < clients.size(); from += 250) {
+            var chunk = clients.subList(from, Math.min(from + 250, clients.size()));
+            for (var client : chunk) {
+                client.setAge(18 + random.nextInt(70));
+                client.setIncome((double) random.nextInt(25_000));
+            }
+            clientService.saveAll(chunk);
+            assertEquivalent();
+        }
+    }
+
+    @Test
+    void shouldIgnoreRolledBackTransactions() {
+        var template = new TransactionTemplate(transactionManager);
+        template.executeWithoutResult(status -> {
+            var client = new NeurotechClient();
+            client.setName("Rolled back");
+            client.setAge(30);
+            client.setIncome(10_000.0);
+            client.getCredits().add(credit(client));
+            clientRepository.saveAndFlush(client);
+            status.setRollbackOnly();
+        });
+
+        assertTrue(index.find(Credit.CreditType.FIXED_INTEREST, 0, Double.MAX_VALUE, 0, 200).stream()
+                .noneMatch(client -> client.name().equals("Rolled back")));
+        assertTrue(index.find(Credit.CreditType.VARIABLE_INTEREST, 0, Double.MAX_VALUE, 0, 200).stream()
+                .noneMatch(client -> client.name().equals("Rolled back")));
+        assertTrue(index.find(Credit.CreditType.PAYROLL, 0, Double.MAX_VALUE, 0, 200).stream()
+                .noneMatch(client -> client.name().equals("Rolled back")));
+    }
+
+    @Test
+    void shouldServeHatchListingFromIndex() {
+        var expected = clientRepository.findEligibleClients(
+                Credit.HATCH_INCOME_MIN, Credit.HATCH_INCOME_MAX, 23, 49, Credit.CreditType.FIXED_INTEREST);
+        var actual = clientService.getEligibleClients(VehicleModel.HATCH, 23, 49, Credit.CreditType.FIXED_INTEREST);
+
+        assertFalse(expected.isEmpty());
+        assertEquals(new HashSet<>(expected), new HashSet<>(actual));
+        assertEquals(expected.size(), actual.size());
+    }
+
+    private void assertEquivalent() {
+        for (int q = 0; q < QUERIES; q++) {
+            var type = Credit.CreditType.values()[random.nextInt(Credit.CreditType.values().length)];
+            double minIncome = random.nextInt(20_000);
+            double maxIncome = minIncome + random.nextInt(15_000);
+            int minAge = random.nextInt(90);
+            int maxAge = minAge + random.nextInt(40);
+
+            var expected = ids(clientRepository.findEligibleClientsAfter(
+                    minIncome, maxIncome, minAge, maxAge, type, new UUID(0, 0), Limit.unlimited()));
+
+            var found = index.find(type, minIncome, maxIncome, minAge, maxAge);
+
+            assertEquals(expected, ids(found),
+                    "type=" + type + " income=[" + minIncome + "," + maxIncome + "] age=[" + minAge + "," + maxAge + "]");
+        }
+    }
+
+    private Credit credit(NeurotechClient client) {
+        var credit = new Credit();
+        credit.setType(Credit.CreditType.values()[random.nextInt(Credit.CreditType.values().length)]);
+        credit.setInterestRate(Credit.FIXED_INTEREST_RATE);
+        credit.setClient(client);
+        return credit;
+    }
+
+    private static List<UUID> ids(List<NeurotechClientDTO> clients) {
+        return clients.stream().map(NeurotechClientDTO::id).sorted().toList();
+    }
+}